@@ -6,10 +6,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import dto.ManualConfigDTO;
+import service.EngineManager;
 import service.SessionManager;
 import dto.EnigmaConfigDTO;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.TreeMap;
 import static utils.ConfigurationUtils.decodeRoman;
 
 @RestController
@@ -17,9 +20,11 @@ import static utils.ConfigurationUtils.decodeRoman;
 public class ConfigurationController {
 
     private final SessionManager sessionManager;
+    private final EngineManager engineManager;
 
-    public ConfigurationController(SessionManager sessionManager) {
+    public ConfigurationController(SessionManager sessionManager, EngineManager engineManager) {
         this.sessionManager = sessionManager;
+        this.engineManager = engineManager;
     }
 
     // GET /enigma/config - Returns machine status
@@ -151,4 +156,19 @@ public class ConfigurationController {
                     .body(Map.of("error", e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    // Returns the hit/miss statistics of the parsed-code cache of every machine
+    @GetMapping(value = "/cache", produces = "application/json")
+    public Map<String, Object> getCodeCacheStats() {
+        Map<String, Object> statsByMachine = new TreeMap<>();
+        engineManager.getCodeCaches().forEach((machineName, cache) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("hits", cache.getHits());
+            stats.put("misses", cache.getMisses());
+            stats.put("hitRate", cache.getHitRate());
+            stats.put("entries", cache.size());
+            statsByMachine.put(machineName, stats);
+        });
+        return statsByMachine;
+    }
+}
@@ -0,0 +1,166 @@
+package controllers;
+
+import dto.DecryptionJobDTO;
+import logic.decryption.DecryptionCandidate;
+import logic.decryption.ScoredCandidate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import service.DecryptionJob;
+import service.DecryptionJobService;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Submits and monitors code-breaking jobs. The searches run on DecryptionJobService's own executor,
+ * so these endpoints only read job state and never wait for a search.
+ * Base URL: /enigma/decrypt
+ */
+@RestController
+@RequestMapping("/enigma/decrypt")
+public class DecryptionController {
+
+    private final DecryptionJobService jobService;
+
+    public DecryptionController(DecryptionJobService jobService) {
+        this.jobService = jobService;
+    }
+
+    // Submits a job (crib search when a crib is given, dictionary search when a dictionary is given,
+    // otherwise a scored search keeping the topK best codes) and returns its ID at once
+    @PostMapping(produces = "application/json")
+    public ResponseEntity<Object> submitJob(@RequestBody DecryptionJobDTO request) {
+        try {
+            DecryptionJob job = jobService.submit(request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toStatus(job));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Too many decryption jobs, try again later"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Returns the state, progress and throughput of a job
+    @GetMapping(value = "/{jobId}", produces = "application/json")
+    public ResponseEntity<Object> getJobStatus(@PathVariable("jobId") String jobId) {
+        DecryptionJob job = jobService.getJob(jobId);
+        if (job == null) {
+            return unknownJob(jobId);
+        }
+        return ResponseEntity.ok(toStatus(job));
+    }
+
+    // Returns the candidates found so far
+    @GetMapping(value = "/{jobId}/candidates", produces = "application/json")
+    public ResponseEntity<Object> getCandidates(@PathVariable("jobId") String jobId) {
+        DecryptionJob job = jobService.getJob(jobId);
+        if (job == null) {
+            return unknownJob(jobId);
+        }
+        List<Map<String, Object>> candidates = job.getCandidates().stream().map(this::toCandidate).toList();
+        return ResponseEntity.ok(candidates);
+    }
+
+    // Streams the candidates as Server-Sent Events ("candidate" events, then one "done" event with the final status)
+    @GetMapping(value = "/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCandidates(@PathVariable("jobId") String jobId) {
+        DecryptionJob job = jobService.getJob(jobId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        SseEmitter emitter = new SseEmitter(0L); // No timeout: the stream ends with the job
+        DecryptionJob.Listener listener = new DecryptionJob.Listener() {
+            @Override
+            public void onCandidate(DecryptionJob source, DecryptionCandidate candidate) {
+                send(source, this, emitter, "candidate", toCandidate(candidate));
+            }
+
+            @Override
+            public void onFinished(DecryptionJob source) {
+                if (send(source, this, emitter, "done", toStatus(source))) {
+                    emitter.complete();
+                }
+            }
+        };
+        emitter.onCompletion(() -> job.unsubscribe(listener));
+        emitter.onError(error -> job.unsubscribe(listener));
+        job.subscribe(listener);
+        return ResponseEntity.ok(emitter);
+    }
+
+    // Cancels a job
+    @DeleteMapping(value = "/{jobId}", produces = "application/json")
+    public ResponseEntity<Object> cancelJob(@PathVariable("jobId") String jobId) {
+        if (!jobService.cancel(jobId)) {
+            return unknownJob(jobId);
+        }
+        return ResponseEntity.ok(toStatus(jobService.getJob(jobId)));
+    }
+
+    // Sends one event; a client that went away is unsubscribed so the search is not slowed down by it
+    private boolean send(DecryptionJob job, DecryptionJob.Listener listener, SseEmitter emitter,
+                         String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            job.unsubscribe(listener);
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private ResponseEntity<Object> unknownJob(String jobId) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", "Unknown jobId: " + jobId));
+    }
+
+    private Map<String, Object> toStatus(DecryptionJob job) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("jobId", job.getId());
+        status.put("machineName", job.getMachineName());
+        status.put("type", job.getType());
+        status.put("state", job.getState());
+        status.put("configurationsChecked", job.getConfigurationsChecked());
+        status.put("configurationsTotal", job.getSpaceSize());
+        status.put("configurationsPerSecond", Math.round(job.getConfigurationsPerSecond()));
+        status.put("elapsedMillis", job.getElapsedMillis());
+        status.put("budgetMillis", job.getBudgetMillis());
+        status.put("budgetExhausted", job.isBudgetExhausted());
+        status.put("candidatesFound", job.getCandidatesCount());
+        List<ScoredCandidate> top = job.getTop();
+        if (!top.isEmpty()) {
+            status.put("top", top.stream().map(this::toScoredCandidate).toList());
+        }
+        if (job.getError() != null) {
+            status.put("error", job.getError());
+        }
+        return status;
+    }
+
+    private Map<String, Object> toScoredCandidate(ScoredCandidate scored) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("score", scored.getScore());
+        result.putAll(toCandidate(scored.getCandidate()));
+        return result;
+    }
+
+    private Map<String, Object> toCandidate(DecryptionCandidate candidate) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("code", candidate.getCode());
+        result.put("rotors", candidate.getRotorIDs());
+        result.put("positions", candidate.getPositions().stream().map(String::valueOf).toList());
+        result.put("reflector", candidate.getReflectorId());
+        result.put("plaintext", candidate.getPlaintext());
+        return result;
+    }
+}
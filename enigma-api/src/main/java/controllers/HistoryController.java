@@ -3,6 +3,7 @@ package controllers;
 import dal.models.ProcessingEntity;
 import dal.repositories.ProcessingRepository;
 import logic.engine.EnigmaEngine;
+import logic.jfr.HistoryQueryEvent;
 import logic.loader.dto.MachineHistoryRecord;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -51,12 +52,19 @@ public class HistoryController {
             }
 
             // Fetch history list from the engine instance
-            return ResponseEntity.ok(engine.getHistory() != null ? engine.getHistory() : Collections.emptyList());
+            HistoryQueryEvent event = new HistoryQueryEvent(HistoryQueryEvent.SESSION, sessionID);
+            event.begin();
+            List<MachineHistoryRecord> history = engine.getHistory() != null ? engine.getHistory() : Collections.emptyList();
+            event.records = history.size();
+            event.commit();
+            return ResponseEntity.ok(history);
         }
 
         // Case B: Machine History (Database)
         if (machineName != null) {
             // Fetch records from DB and map them to the DTO format
+            HistoryQueryEvent event = new HistoryQueryEvent(HistoryQueryEvent.DATABASE, machineName);
+            event.begin();
             List<ProcessingEntity> dbRecords = processingRepository.findAllByMachine_Name(machineName);
 
             List<MachineHistoryRecord> history = dbRecords.stream()
@@ -67,6 +75,8 @@ public class HistoryController {
                             entity.getCode()
                     ))
                     .collect(Collectors.toList());
+            event.records = history.size();
+            event.commit();
 
             return ResponseEntity.ok(history);
         }
@@ -1,11 +1,18 @@
 package controllers;
 
+import logic.loader.dto.MachineDescriptor;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import service.EngineManager;
+import service.EnigmaMetrics;
+import service.MachineDescriptorCache;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Handles external HTTP requests related to loading and viewing machine configurations
@@ -16,29 +23,37 @@ import java.util.Set;
 public class LoaderController {
 
     private final EngineManager engineManager;
+    private final EnigmaMetrics metrics;
 
     // Constructor Injection
-    public LoaderController(EngineManager engineManager) {
+    public LoaderController(EngineManager engineManager, EnigmaMetrics metrics) {
 
         this.engineManager = engineManager;
+        this.metrics = metrics;
     }
 
     // Handles file upload requests
+    // Files are parsed, validated and converted in parallel, then registered one by one in upload order
     @PostMapping("/load")
     public String loadMachine(@RequestParam("file") List<MultipartFile> files) {
+        List<CompletableFuture<MachineDescriptor>> parsed = engineManager.parseDescriptorsAsync(files);
+
         StringBuilder result = new StringBuilder();
-        for (MultipartFile file : files) {
+        for (int i = 0; i < files.size(); i++) {
+            MultipartFile file = files.get(i);
             try {
-                // Pass the file input stream to the service layer
-                String loadedMachineName = engineManager.loadEngine(file.getInputStream(), file.getOriginalFilename());
+                MachineDescriptor descriptor = awaitDescriptor(parsed.get(i));
+                String loadedMachineName = engineManager.registerEngine(descriptor, file.getOriginalFilename());
                 result.append("File '").append(file.getOriginalFilename())
                         .append("' loaded successfully as machine: ").append(loadedMachineName).append("\n");
             } catch (IllegalArgumentException e) {
                 // Handling "Machine already exists" error
+                metrics.loaderFailed();
                 result.append("Error in file '").append(file.getOriginalFilename())
                         .append("': ").append(e.getMessage()).append("\n");
             } catch (Exception e) {
                 // General error
+                metrics.loaderFailed();
                 result.append("Error loading file '").append(file.getOriginalFilename())
                         .append("': ").append(e.getMessage()).append("\n");
             }
@@ -46,9 +61,33 @@ public class LoaderController {
         return result.toString();
     }
 
+    // Waits for a parse result and rethrows the original loading error
+    private MachineDescriptor awaitDescriptor(CompletableFuture<MachineDescriptor> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception exception) {
+                throw exception;
+            }
+            throw e;
+        }
+    }
+
     // Returns a list of all currently loaded machine names
     @GetMapping("/machines")
     public Set<String> getLoadedMachines() {
         return engineManager.getLoadedMachineNames();
     }
+
+    // Returns the hit/miss statistics of the uploaded-XML descriptor cache
+    @GetMapping("/load/cache")
+    public Map<String, Object> getLoadCacheStats() {
+        MachineDescriptorCache cache = engineManager.getDescriptorCache();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", cache.getHits());
+        stats.put("misses", cache.getMisses());
+        stats.put("hitRate", cache.getHitRate());
+        stats.put("entries", cache.size());
+        return stats;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package controllers;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import service.EnigmaMetrics;
+import service.EngineManager;
+import service.LatencyHistogram;
+import service.SessionManager;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * GET /metrics - the application metrics in the Prometheus text exposition format.
+ * Latencies are histograms in seconds (buckets at every power of two from 2 microseconds),
+ * plus p50/p90/p99/p99.9 gauges read from the finer HDR-style buckets.
+ */
+@RestController
+public class MetricsController {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final EnigmaMetrics metrics;
+    private final SessionManager sessionManager;
+    private final EngineManager engineManager;
+
+    public MetricsController(EnigmaMetrics metrics, SessionManager sessionManager, EngineManager engineManager) {
+        this.metrics = metrics;
+        this.sessionManager = sessionManager;
+        this.engineManager = engineManager;
+    }
+
+    @GetMapping(value = "/metrics", produces = "text/plain; version=0.0.4; charset=utf-8")
+    public String getMetrics() {
+        StringBuilder out = new StringBuilder(8192);
+
+        counterByMachine(out, "enigma_process_messages_total", "Messages processed by session engines",
+                metrics.getProcessedMessages());
+        counterByMachine(out, "enigma_process_characters_total", "Characters processed by session engines",
+                metrics.getProcessedCharacters());
+
+        gauge(out, "enigma_machines_loaded", "Machines loaded", engineManager.getLoadedMachineNames().size());
+        gauge(out, "enigma_sessions_live", "Sessions currently open", sessionManager.getSessionCount());
+        counter(out, "enigma_sessions_created_total", "Sessions created", metrics.getSessionsCreated());
+        counter(out, "enigma_sessions_deleted_total", "Sessions deleted", metrics.getSessionsDeleted());
+        counter(out, "enigma_loader_failures_total", "Uploaded machine files that failed to load",
+                metrics.getLoaderFailures());
+        counter(out, "enigma_db_writes_total", "Processing record writes to the database",
+                metrics.getDatabaseWrites());
+        gauge(out, "enigma_db_writes_in_flight", "Processing record writes waiting on the database",
+                metrics.getDatabaseWritesInFlight());
+
+        histograms(out, "enigma_engine_process_duration_seconds", "Time spent in EnigmaEngine.process",
+                "machine", metrics.getProcessLatency());
+        histograms(out, "enigma_http_request_duration_seconds", "Controller call latency by handler method",
+                "handler", metrics.getRequestLatency());
+        return out.toString();
+    }
+
+    private static void counter(StringBuilder out, String name, String help, long value) {
+        header(out, name, help, "counter");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, long value) {
+        header(out, name, help, "gauge");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void counterByMachine(StringBuilder out, String name, String help, Map<String, LongAdder> values) {
+        header(out, name, help, "counter");
+        new TreeMap<>(values).forEach((machine, value) ->
+                out.append(name).append("{machine=\"").append(escape(machine)).append("\"} ")
+                        .append(value.sum()).append('\n'));
+    }
+
+    private static void histograms(StringBuilder out, String name, String help, String label,
+                                   Map<String, LatencyHistogram> histograms) {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        histograms.forEach((key, histogram) -> snapshots.put(key, histogram.snapshot()));
+
+        header(out, name, help, "histogram");
+        snapshots.forEach((key, snapshot) -> {
+            String labels = label + "=\"" + escape(key) + "\"";
+            for (int i = 0; i < snapshot.getPowerBoundaries(); i++) {
+                out.append(name).append("_bucket{").append(labels).append(",le=\"")
+                        .append(seconds(snapshot.powerBoundaryNanos(i))).append("\"} ")
+                        .append(snapshot.countBelowPowerBoundary(i)).append('\n');
+            }
+            out.append(name).append("_bucket{").append(labels).append(",le=\"+Inf\"} ")
+                    .append(snapshot.getCount()).append('\n');
+            out.append(name).append("_sum{").append(labels).append("} ")
+                    .append(seconds(snapshot.getTotalNanos())).append('\n');
+            out.append(name).append("_count{").append(labels).append("} ")
+                    .append(snapshot.getCount()).append('\n');
+        });
+
+        String quantileName = name.replace("_seconds", "_quantile_seconds");
+        header(out, quantileName, help + " (quantiles, 12.5% precision)", "gauge");
+        snapshots.forEach((key, snapshot) -> {
+            for (double quantile : QUANTILES) {
+                out.append(quantileName).append('{').append(label).append("=\"").append(escape(key))
+                        .append("\",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(snapshot.quantileNanos(quantile))).append('\n');
+            }
+        });
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
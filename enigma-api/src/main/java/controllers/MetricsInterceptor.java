@@ -0,0 +1,38 @@
+package controllers;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import service.EnigmaMetrics;
+
+/**
+ * Times every controller call into the latency histogram of its handler method
+ * (e.g. "ProcessController.processText"), including calls that fail.
+ */
+@Component
+public class MetricsInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = MetricsInterceptor.class.getName() + ".start";
+
+    private final EnigmaMetrics metrics;
+
+    public MetricsInterceptor(EnigmaMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (handler instanceof HandlerMethod method && request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            metrics.recordRequest(method.getBeanType().getSimpleName() + "." + method.getMethod().getName(),
+                    System.nanoTime() - start);
+        }
+    }
+}
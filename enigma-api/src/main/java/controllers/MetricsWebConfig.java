@@ -0,0 +1,21 @@
+package controllers;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Registers the request timing for every controller
+@Configuration
+public class MetricsWebConfig implements WebMvcConfigurer {
+
+    private final MetricsInterceptor metricsInterceptor;
+
+    public MetricsWebConfig(MetricsInterceptor metricsInterceptor) {
+        this.metricsInterceptor = metricsInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(metricsInterceptor);
+    }
+}
@@ -6,9 +6,12 @@ import dal.repositories.MachineRepository;
 import dal.repositories.ProcessingRepository;
 import logic.engine.EnigmaEngine;
 import logic.engine.MachineSpecs;
+import logic.jfr.DatabaseSaveEvent;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import service.EngineManager;
+import service.EnigmaMetrics;
 import service.SessionManager;
 import java.util.Map;
 import java.util.UUID;
@@ -18,15 +21,21 @@ import java.util.UUID;
 public class ProcessController {
 
     private final SessionManager sessionManager;
+    private final EngineManager engineManager;
     private final ProcessingRepository processingRepository;
     private final MachineRepository machineRepository;
+    private final EnigmaMetrics metrics;
 
     public ProcessController(SessionManager sessionManager,
+                             EngineManager engineManager,
                              ProcessingRepository processingRepository,
-                             MachineRepository machineRepository) {
+                             MachineRepository machineRepository,
+                             EnigmaMetrics metrics) {
         this.sessionManager = sessionManager;
+        this.engineManager = engineManager;
         this.processingRepository = processingRepository;
         this.machineRepository = machineRepository;
+        this.metrics = metrics;
     }
 
     /**
@@ -56,7 +65,30 @@ public class ProcessController {
             MachineSpecs specs = engine.getMachineSpecs();
 
             String machineName = engine.getMachineName();
+            metrics.recordProcess(machineName, processedText.length(), duration);
 
+            saveProcessingRecord(machineName, sessionId, specs, inputText, processedText, duration);
+
+            // Return the result as JSON
+            return ResponseEntity.ok(Map.of(
+                    "output", processedText,
+                    "currentRotorsPositionCompact", specs.getCurrentCodeCompact()
+            ));
+
+        } catch (Exception e) {
+            // Handle errors
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Machine lookup and record insert, timed as one database save
+    private void saveProcessingRecord(String machineName, String sessionId, MachineSpecs specs,
+                                      String inputText, String processedText, long duration) {
+        DatabaseSaveEvent saveEvent = new DatabaseSaveEvent(DatabaseSaveEvent.PROCESSING);
+        saveEvent.begin();
+        metrics.databaseWriteStarted();
+        try {
             MachineEntity machineEntity = machineRepository.findByName(machineName)
                     .orElseThrow(() -> new RuntimeException("Machine not found in DB"));
 
@@ -70,17 +102,34 @@ public class ProcessController {
                     duration
             );
             processingRepository.save(entity);
+        } finally {
+            metrics.databaseWriteFinished();
+        }
+        saveEvent.machine = machineName;
+        saveEvent.commit();
+    }
 
-            // Return the result as JSON
-            return ResponseEntity.ok(Map.of(
-                    "output", processedText,
-                    "currentRotorsPositionCompact", specs.getCurrentCodeCompact()
-            ));
+    /**
+     * POST /enigma/process/once
+     * Processes input text with a machine and a compact code (e.g. <3,2,1><A,B,C><I><A|B>) in a single call.
+     * No session is created and nothing is recorded
+     */
+    @PostMapping(value = "/once", produces = "application/json")
+    public ResponseEntity<Object> processOnce(
+            @RequestParam("machineName") String machineName,
+            @RequestParam("code") String code,
+            @RequestParam("input") String inputText) {
 
+        if (!engineManager.isMachineExists(machineName)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", "Unknown machine: " + machineName));
+        }
+
+        try {
+            return ResponseEntity.ok(Map.of("output", engineManager.processOnce(machineName, code, inputText)));
         } catch (Exception e) {
-            // Handle errors
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", e.getMessage()));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,138 @@
+package cluster.coordinator;
+
+import dto.ClusterJobDefinitionDTO;
+import dto.DecryptionJobDTO;
+import dto.RangeLeaseDTO;
+import dto.RangeResultDTO;
+import logic.decryption.distributed.RangeCoordinator;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HTTP side of the coordinator: job submission and status for clients, leases/heartbeats/results for workers.
+ * Base URL: /enigma/cluster
+ */
+@RestController
+@RequestMapping("/enigma/cluster")
+public class ClusterController {
+
+    private final ClusterCoordinatorService coordinator;
+
+    public ClusterController(ClusterCoordinatorService coordinator) {
+        this.coordinator = coordinator;
+    }
+
+    // Registers machines from XML files
+    @PostMapping("/machines")
+    public ResponseEntity<Object> loadMachines(@RequestParam("file") List<MultipartFile> files) {
+        try {
+            StringBuilder names = new StringBuilder();
+            for (MultipartFile file : files) {
+                names.append(coordinator.addMachine(file.getInputStream())).append("\n");
+            }
+            return ResponseEntity.ok(names.toString());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/machines")
+    public Set<String> getMachines() {
+        return coordinator.getMachineNames();
+    }
+
+    // Submits a distributed crib search; rangeSize is the number of configurations per lease (0 for the default)
+    @PostMapping(value = "/jobs", produces = "application/json")
+    public ResponseEntity<Object> submitJob(@RequestBody DecryptionJobDTO request,
+                                            @RequestParam(value = "rangeSize", defaultValue = "0") long rangeSize) {
+        try {
+            ClusterJob job = coordinator.submit(request, rangeSize);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toStatus(job));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/jobs/{jobId}", produces = "application/json")
+    public ResponseEntity<Object> getJobStatus(@PathVariable("jobId") String jobId) {
+        ClusterJob job = coordinator.getJob(jobId);
+        if (job == null) {
+            return unknownJob(jobId);
+        }
+        return ResponseEntity.ok(toStatus(job));
+    }
+
+    @DeleteMapping(value = "/jobs/{jobId}", produces = "application/json")
+    public ResponseEntity<Object> cancelJob(@PathVariable("jobId") String jobId) {
+        if (!coordinator.cancel(jobId)) {
+            return unknownJob(jobId);
+        }
+        return ResponseEntity.ok(toStatus(coordinator.getJob(jobId)));
+    }
+
+    // Worker: everything needed to run the job's ranges
+    @GetMapping(value = "/jobs/{jobId}/definition", produces = "application/json")
+    public ResponseEntity<ClusterJobDefinitionDTO> getDefinition(@PathVariable("jobId") String jobId) {
+        ClusterJob job = coordinator.getJob(jobId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(job.getDefinition());
+    }
+
+    // Worker: asks for the next range; 204 when there is nothing to do
+    @PostMapping(value = "/leases", produces = "application/json")
+    public ResponseEntity<RangeLeaseDTO> lease(@RequestParam("workerId") String workerId) {
+        RangeLeaseDTO lease = coordinator.lease(workerId);
+        if (lease == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(lease);
+    }
+
+    // Worker: still working on the lease; "keep" is false when the worker should stop it
+    @PostMapping(value = "/jobs/{jobId}/leases/{leaseId}/heartbeat", produces = "application/json")
+    public Map<String, Boolean> heartbeat(@PathVariable("jobId") String jobId, @PathVariable("leaseId") long leaseId,
+                                          @RequestParam("workerId") String workerId) {
+        return Map.of("keep", coordinator.heartbeat(jobId, leaseId, workerId));
+    }
+
+    // Worker: the range is searched
+    @PostMapping(value = "/jobs/{jobId}/leases/{leaseId}/result", produces = "application/json")
+    public ResponseEntity<Object> result(@PathVariable("jobId") String jobId, @PathVariable("leaseId") long leaseId,
+                                         @RequestBody RangeResultDTO result) {
+        if (!coordinator.complete(jobId, leaseId, result)) {
+            return unknownJob(jobId);
+        }
+        return ResponseEntity.ok(Map.of("status", "accepted"));
+    }
+
+    private ResponseEntity<Object> unknownJob(String jobId) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", "Unknown jobId: " + jobId));
+    }
+
+    private Map<String, Object> toStatus(ClusterJob job) {
+        RangeCoordinator ranges = job.getRanges();
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("jobId", job.getId());
+        status.put("machineName", job.getDefinition().getMachineName());
+        status.put("state", job.getState());
+        status.put("configurationsChecked", ranges.getCompletedCount());
+        status.put("configurationsTotal", ranges.getSize());
+        status.put("configurationsPerSecond", Math.round(job.getConfigurationsPerSecond()));
+        status.put("elapsedMillis", job.getElapsedMillis());
+        status.put("rangeSize", ranges.getRangeSize());
+        status.put("activeLeases", ranges.getActiveLeases());
+        status.put("workers", ranges.getKnownWorkers());
+        status.put("candidates", job.getCandidates());
+        return status;
+    }
+}
@@ -0,0 +1,211 @@
+package cluster.coordinator;
+
+import dto.ClusterJobDefinitionDTO;
+import dto.DecryptionJobDTO;
+import dto.RangeLeaseDTO;
+import dto.RangeResultDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import logic.decryption.SearchSupport;
+import logic.decryption.distributed.RangeCoordinator;
+import logic.decryption.distributed.RangeLease;
+import logic.decryption.space.ConfigurationCursor;
+import logic.decryption.space.ConfigurationSpace;
+import logic.loader.BinaryMachineConfigLoader;
+import logic.loader.StaxMachineConfigLoader;
+import logic.loader.catalog.MachineCatalogWriter;
+import logic.loader.dto.MachineDescriptor;
+import logic.machine.Machine;
+import logic.machine.MachineImpl;
+import logic.machine.components.Keyboard;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinator of distributed crib searches. Splits every job into configuration-index ranges (see RangeCoordinator)
+ * and leases them to the workers that ask for work, oldest job first. Workers send a heartbeat per lease;
+ * a timer takes back the leases whose heartbeats stopped so other workers redo those ranges.
+ * Machines are kept in memory (from the configured catalog or XML uploads); no database is used.
+ */
+@Service
+public class ClusterCoordinatorService {
+
+    private final Map<String, MachineDescriptor> machines = new ConcurrentHashMap<>();
+    private final Map<String, ClusterJob> jobs = new LinkedHashMap<>();   // Submission order, guarded by itself
+    private final ScheduledExecutorService reaper;
+
+    private final String catalogPath;
+    private final long defaultRangeSize;
+    private final long heartbeatTimeoutMillis;
+
+    public ClusterCoordinatorService(@Value("${enigma.catalog.path:}") String catalogPath,
+                                     @Value("${enigma.cluster.range-size:4194304}") long defaultRangeSize,
+                                     @Value("${enigma.cluster.heartbeat-timeout-millis:15000}") long heartbeatTimeoutMillis) {
+        this.catalogPath = catalogPath;
+        this.defaultRangeSize = defaultRangeSize;
+        this.heartbeatTimeoutMillis = heartbeatTimeoutMillis;
+        this.reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "enigma-cluster-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() throws Exception {
+        if (catalogPath != null && !catalogPath.isBlank()) {
+            for (MachineDescriptor descriptor : new BinaryMachineConfigLoader().loadDescriptors(catalogPath)) {
+                machines.put(descriptor.getName(), descriptor);
+            }
+        }
+        long period = Math.max(100, heartbeatTimeoutMillis / 2);
+        reaper.scheduleAtFixedRate(this::reclaimExpiredLeases, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reaper.shutdownNow();
+    }
+
+    // Registers a machine from an XML file and returns its name
+    public String addMachine(InputStream xml) throws Exception {
+        MachineDescriptor descriptor = new StaxMachineConfigLoader().loadDescriptor(xml);
+        machines.put(descriptor.getName(), descriptor);
+        return descriptor.getName();
+    }
+
+    public Set<String> getMachineNames() {
+        return machines.keySet();
+    }
+
+    // Creates a job; throws IllegalArgumentException for an unknown machine or a missing crib, and EnigmaException
+    // for anything a worker would reject (letters outside the keyboard, a crib that does not fit, bad plugs)
+    public ClusterJob submit(DecryptionJobDTO request, long rangeSize) throws IOException {
+        MachineDescriptor descriptor = machines.get(request.getMachineName());
+        if (descriptor == null) {
+            throw new IllegalArgumentException("Machine not found: " + request.getMachineName());
+        }
+        if (request.getCiphertext() == null || request.getCrib() == null || request.getCrib().isEmpty()) {
+            throw new IllegalArgumentException("A distributed search needs a ciphertext and a crib");
+        }
+        ConfigurationSpace space = ConfigurationSpace.of(descriptor, request.getRotors(), request.getReflector());
+        validate(descriptor, space, request);
+
+        ClusterJobDefinitionDTO definition = new ClusterJobDefinitionDTO();
+        definition.setJobId(UUID.randomUUID().toString());
+        definition.setMachineName(request.getMachineName());
+        definition.setMachineCatalog(new MachineCatalogWriter().toBytes(List.of(descriptor)));
+        definition.setCiphertext(request.getCiphertext());
+        definition.setCrib(request.getCrib());
+        definition.setCribOffset(request.getCribOffset());
+        definition.setRotors(request.getRotors());
+        definition.setReflector(request.getReflector());
+        definition.setPlugs(request.getPlugs() == null ? "" : request.getPlugs());
+
+        ClusterJob job = new ClusterJob(definition,
+                new RangeCoordinator(space.size(), rangeSize > 0 ? rangeSize : defaultRangeSize));
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+        }
+        return job;
+    }
+
+    // Runs the checks every worker runs before searching, so a bad job is refused here instead of failing on each lease
+    private void validate(MachineDescriptor descriptor, ConfigurationSpace space, DecryptionJobDTO request) {
+        Machine machine = new MachineImpl(descriptor);
+        Keyboard keyboard = machine.getKeyboard();
+        SearchSupport.checkCrib(SearchSupport.toLetterIndices(keyboard, request.getCiphertext()),
+                SearchSupport.toIndices(keyboard, request.getCrib()), request.getCribOffset());
+        ConfigurationCursor first = space.cursor();
+        first.moveTo(0);
+        SearchSupport.configure(machine, first.getRotorIds(), first.getReflectorId(), request.getPlugs());
+    }
+
+    public ClusterJob getJob(String jobId) {
+        synchronized (jobs) {
+            return jobs.get(jobId);
+        }
+    }
+
+    // Next range for a worker (from the oldest running job that has one), or null when there is no work
+    public RangeLeaseDTO lease(String workerId) {
+        for (ClusterJob job : runningJobs()) {
+            RangeLease lease = job.getRanges().lease(workerId);
+            if (lease != null) {
+                return new RangeLeaseDTO(job.getId(), lease.getId(), lease.getStart(), lease.getEnd());
+            }
+        }
+        return null;
+    }
+
+    // False tells the worker to drop the lease (job cancelled, or the lease was reclaimed)
+    public boolean heartbeat(String jobId, long leaseId, String workerId) {
+        ClusterJob job = getJob(jobId);
+        return job != null && job.getState() == ClusterJob.State.RUNNING
+                && job.getRanges().heartbeat(workerId, leaseId);
+    }
+
+    // Stores a worker's result for a range; false for an unknown job
+    public boolean complete(String jobId, long leaseId, RangeResultDTO result) {
+        ClusterJob job = getJob(jobId);
+        if (job == null) {
+            return false;
+        }
+        if (job.getState() == ClusterJob.State.CANCELLED) {
+            return true;
+        }
+        job.getRanges().complete(leaseId, result.getStart(), result.getEnd());
+        Map<String, String> found = new HashMap<>();
+        if (result.getCandidates() != null) {
+            for (RangeResultDTO.CandidateResult candidate : result.getCandidates()) {
+                found.put(candidate.code, candidate.plaintext);
+            }
+        }
+        job.addResult(found, result.getElapsedNanos());
+        return true;
+    }
+
+    public boolean cancel(String jobId) {
+        ClusterJob job = getJob(jobId);
+        if (job == null) {
+            return false;
+        }
+        job.cancel();
+        return true;
+    }
+
+    private List<ClusterJob> runningJobs() {
+        synchronized (jobs) {
+            List<ClusterJob> running = new ArrayList<>();
+            for (ClusterJob job : jobs.values()) {
+                if (job.getState() == ClusterJob.State.RUNNING) {
+                    running.add(job);
+                }
+            }
+            return running;
+        }
+    }
+
+    private void reclaimExpiredLeases() {
+        for (ClusterJob job : runningJobs()) {
+            for (RangeLease lease : job.getRanges().reclaimExpired(heartbeatTimeoutMillis)) {
+                System.out.println("Warning: Lease of worker " + lease.getWorkerId() + " expired, range ["
+                        + lease.getStart() + ", " + lease.getEnd() + ") of job " + job.getId() + " will be reassigned");
+            }
+        }
+    }
+}
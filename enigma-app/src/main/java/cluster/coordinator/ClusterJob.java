@@ -0,0 +1,82 @@
+package cluster.coordinator;
+
+import dto.ClusterJobDefinitionDTO;
+import logic.decryption.distributed.RangeCoordinator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One distributed crib search: what the workers need to run it, the range bookkeeping and the results so far.
+ */
+public class ClusterJob {
+
+    public enum State { RUNNING, DONE, CANCELLED }
+
+    private final ClusterJobDefinitionDTO definition;
+    private final RangeCoordinator ranges;
+    private final long startMillis = System.currentTimeMillis();
+
+    private final Map<String, String> candidates = new LinkedHashMap<>();    // code -> plaintext, guarded by this
+    private final LongAdder workerNanos = new LongAdder();                   // Search time summed over the workers
+    private volatile State state = State.RUNNING;
+    private volatile long endMillis;
+
+    public ClusterJob(ClusterJobDefinitionDTO definition, RangeCoordinator ranges) {
+        this.definition = definition;
+        this.ranges = ranges;
+    }
+
+    // Records the result of one range; the same candidate reported twice (a re-searched range) is kept once
+    synchronized void addResult(Map<String, String> found, long elapsedNanos) {
+        candidates.putAll(found);
+        workerNanos.add(elapsedNanos);
+        if (state == State.RUNNING && ranges.isFinished()) {
+            state = State.DONE;
+            endMillis = System.currentTimeMillis();
+        }
+    }
+
+    synchronized void cancel() {
+        if (state == State.RUNNING) {
+            state = State.CANCELLED;
+            endMillis = System.currentTimeMillis();
+            ranges.clear();
+        }
+    }
+
+    public synchronized Map<String, String> getCandidates() {
+        return new LinkedHashMap<>(candidates);
+    }
+
+    public String getId() {
+        return definition.getJobId();
+    }
+
+    public ClusterJobDefinitionDTO getDefinition() {
+        return definition;
+    }
+
+    public RangeCoordinator getRanges() {
+        return ranges;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getElapsedMillis() {
+        return (endMillis != 0 ? endMillis : System.currentTimeMillis()) - startMillis;
+    }
+
+    public long getWorkerNanos() {
+        return workerNanos.sum();
+    }
+
+    // Cluster throughput: configurations finished per wall-clock second
+    public double getConfigurationsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed == 0 ? 0 : ranges.getCompletedCount() * 1000.0 / elapsed;
+    }
+}
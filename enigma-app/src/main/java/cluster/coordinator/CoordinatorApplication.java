@@ -0,0 +1,17 @@
+package cluster.coordinator;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+
+/**
+ * enigma-app in the coordinator role (--enigma.role=coordinator): only the /enigma/cluster endpoints,
+ * without the database, so a coordinator and its workers can run anywhere.
+ */
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+public class CoordinatorApplication {
+    public static void run(String[] args) {
+        SpringApplication.run(CoordinatorApplication.class, args);
+    }
+}
@@ -0,0 +1,205 @@
+package cluster.worker;
+
+import dto.ClusterJobDefinitionDTO;
+import dto.RangeLeaseDTO;
+import dto.RangeResultDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import logic.decryption.CribBruteForceBreaker;
+import logic.decryption.CribSearchRequest;
+import logic.decryption.CribSearchResult;
+import logic.decryption.DecryptionCandidate;
+import logic.loader.BinaryMachineConfigLoader;
+import logic.loader.dto.MachineDescriptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pulls configuration-index ranges from the coordinator, searches them with a local CribBruteForceBreaker
+ * (all cores by default) and posts the results back. While a range is being searched a heartbeat is sent
+ * regularly; if the coordinator answers that the lease is no longer ours, the search of that range stops.
+ */
+@Component
+public class SearchWorker {
+
+    // Job definitions kept locally (the machine is rebuilt only once per job)
+    private static final int MAX_CACHED_JOBS = 16;
+
+    private final RestClient coordinator;
+    private final String workerId;
+    private final int threads;
+    private final long heartbeatMillis;
+    private final long pollMillis;
+
+    private final Map<String, WorkerJob> jobs = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, WorkerJob> eldest) {
+            return size() > MAX_CACHED_JOBS;
+        }
+    };
+    private final ScheduledExecutorService heartbeats;
+    private Thread loop;
+    private volatile boolean running = true;
+
+    public SearchWorker(@Value("${enigma.coordinator.url}") String coordinatorUrl,
+                        @Value("${enigma.worker.id:}") String workerId,
+                        @Value("${enigma.worker.threads:0}") int threads,
+                        @Value("${enigma.worker.heartbeat-millis:3000}") long heartbeatMillis,
+                        @Value("${enigma.worker.poll-millis:1000}") long pollMillis) {
+        this.coordinator = RestClient.create(coordinatorUrl);
+        this.workerId = workerId.isBlank() ? ProcessHandle.current().pid() + "-" + UUID.randomUUID() : workerId;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.heartbeatMillis = heartbeatMillis;
+        this.pollMillis = pollMillis;
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "enigma-worker-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        loop = new Thread(this::run, "enigma-worker");
+        loop.start();
+        System.out.println("Worker " + workerId + " started with " + threads + " search threads");
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        loop.interrupt();
+        loop.join(TimeUnit.SECONDS.toMillis(10));
+        heartbeats.shutdownNow();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                RangeLeaseDTO lease = coordinator.post()
+                        .uri("/enigma/cluster/leases?workerId={workerId}", workerId)
+                        .retrieve()
+                        .body(RangeLeaseDTO.class);
+                if (lease == null) {
+                    Thread.sleep(pollMillis);
+                    continue;
+                }
+                searchRange(job(lease.getJobId()), lease);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RestClientException e) {
+                System.out.println("Warning: Coordinator request failed: " + e.getMessage());
+                if (!sleep(pollMillis)) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                // A lease that cannot be searched (bad job definition, machine error) must not end the worker;
+                // its heartbeat has stopped, so the coordinator reclaims the range
+                System.out.println("Warning: Search of a leased range failed: " + e);
+                if (!sleep(pollMillis)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Searches one range with heartbeats running on the side, then reports it unless it was taken away
+    private void searchRange(WorkerJob job, RangeLeaseDTO lease) throws InterruptedException {
+        CribBruteForceBreaker breaker = new CribBruteForceBreaker(job.descriptor, threads);
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleAtFixedRate(
+                () -> sendHeartbeat(lease, breaker), heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        CribSearchResult result;
+        try {
+            result = breaker.search(job.request, null, lease.getStart(), lease.getEnd());
+        } finally {
+            heartbeat.cancel(false);
+        }
+        if (result.isCancelled()) {
+            return;
+        }
+
+        RangeResultDTO body = new RangeResultDTO();
+        body.setWorkerId(workerId);
+        body.setStart(lease.getStart());
+        body.setEnd(lease.getEnd());
+        body.setConfigurationsChecked(result.getConfigurationsChecked());
+        body.setElapsedNanos(result.getElapsedNanos());
+        List<RangeResultDTO.CandidateResult> candidates = new ArrayList<>();
+        for (DecryptionCandidate candidate : result.getCandidates()) {
+            RangeResultDTO.CandidateResult found = new RangeResultDTO.CandidateResult();
+            found.code = candidate.getCode();
+            found.plaintext = candidate.getPlaintext();
+            candidates.add(found);
+        }
+        body.setCandidates(candidates);
+        coordinator.post()
+                .uri("/enigma/cluster/jobs/{jobId}/leases/{leaseId}/result", lease.getJobId(), lease.getLeaseId())
+                .body(body)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    private void sendHeartbeat(RangeLeaseDTO lease, CribBruteForceBreaker breaker) {
+        try {
+            Map<?, ?> reply = coordinator.post()
+                    .uri("/enigma/cluster/jobs/{jobId}/leases/{leaseId}/heartbeat?workerId={workerId}",
+                            lease.getJobId(), lease.getLeaseId(), workerId)
+                    .retrieve()
+                    .body(Map.class);
+            if (reply != null && Boolean.FALSE.equals(reply.get("keep"))) {
+                breaker.cancel();
+            }
+        } catch (RestClientException e) {
+            // Keep searching: the coordinator may be back before it gives the range to someone else
+            System.out.println("Warning: Heartbeat failed: " + e.getMessage());
+        }
+    }
+
+    private synchronized WorkerJob job(String jobId) {
+        WorkerJob job = jobs.get(jobId);
+        if (job == null) {
+            ClusterJobDefinitionDTO definition = coordinator.get()
+                    .uri("/enigma/cluster/jobs/{jobId}/definition", jobId)
+                    .retrieve()
+                    .body(ClusterJobDefinitionDTO.class);
+            job = new WorkerJob(definition);
+            jobs.put(jobId, job);
+        }
+        return job;
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // A job as the worker runs it: the machine rebuilt from the shipped catalog and the search request
+    private static class WorkerJob {
+        private final MachineDescriptor descriptor;
+        private final CribSearchRequest request;
+
+        private WorkerJob(ClusterJobDefinitionDTO definition) {
+            this.descriptor = new BinaryMachineConfigLoader().loadDescriptors(definition.getMachineCatalog()).get(0);
+            this.request = new CribSearchRequest(definition.getCiphertext(), definition.getCrib(),
+                    definition.getCribOffset(), definition.getRotors(), definition.getReflector(), definition.getPlugs());
+        }
+    }
+}
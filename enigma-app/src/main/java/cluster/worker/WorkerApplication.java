@@ -0,0 +1,20 @@
+package cluster.worker;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * enigma-app in the worker role (--enigma.role=worker --enigma.coordinator.url=...): no web server and no
+ * database, just a SearchWorker pulling ranges from the coordinator. Several workers can run on one machine.
+ */
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+public class WorkerApplication {
+    public static void run(String[] args) {
+        new SpringApplicationBuilder(WorkerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+}
@@ -0,0 +1,124 @@
+package tools;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Offline summary of the Enigma events (logic.jfr) in a JFR recording: count and duration percentiles per event
+ * and kind (load phase, saved entity, history source), and for processing the split between encryption and the
+ * engine overhead around it. Uses only the JDK, so it also runs straight from source:
+ *   java enigma-app/src/main/java/tools/JfrSummary.java enigma.jfr
+ */
+public class JfrSummary {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.out.println("Usage: JfrSummary <recording.jfr>");
+            return;
+        }
+
+        Map<String, Durations> durations = new TreeMap<>();
+        Map<String, ProcessTotals> processing = new TreeMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(Path.of(args[0]))) {
+            String type = event.getEventType().getName();
+            if (!type.startsWith("enigma.")) {
+                continue;
+            }
+            long nanos = event.getDuration().toNanos();
+            durations.computeIfAbsent(groupOf(event, type), key -> new Durations()).add(nanos);
+            if (type.equals("enigma.Process")) {
+                processing.computeIfAbsent(String.valueOf(event.getString("machine")), key -> new ProcessTotals())
+                        .add(event, nanos);
+            }
+        }
+
+        if (durations.isEmpty()) {
+            System.out.println("No Enigma events in " + args[0] + " (was the recording started with enigma.jfc?)");
+            return;
+        }
+        System.out.printf("%-40s %8s %11s %10s %10s %10s %10s%n",
+                "Event", "Count", "Total ms", "Avg ms", "p50 ms", "p99 ms", "Max ms");
+        durations.forEach((group, values) -> values.print(group));
+
+        if (!processing.isEmpty()) {
+            System.out.println();
+            System.out.printf("%-24s %8s %12s %12s %14s %12s%n",
+                    "Process by machine", "Calls", "Characters", "Encrypt ns/ch", "Encrypt share", "Cached share");
+            processing.forEach((machine, totals) -> totals.print(machine));
+        }
+    }
+
+    // Event type plus the field that tells its kinds apart
+    private static String groupOf(RecordedEvent event, String type) {
+        return switch (type) {
+            case "enigma.MachineLoadPhase" -> type + " " + event.getString("phase");
+            case "enigma.DatabaseSave" -> type + " " + event.getString("entity");
+            case "enigma.HistoryQuery" -> type + " " + event.getString("source");
+            default -> type;
+        };
+    }
+
+    private static class Durations {
+        private long[] nanos = new long[256];
+        private int count;
+
+        private void add(long value) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+        }
+
+        private void print(String group) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            long total = 0;
+            for (long value : sorted) {
+                total += value;
+            }
+            System.out.printf("%-40s %8d %11.2f %10.3f %10.3f %10.3f %10.3f%n", group, count, millis(total),
+                    millis(total) / count, millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(sorted[count - 1]));
+        }
+    }
+
+    private static class ProcessTotals {
+        private long calls;
+        private long characters;
+        private long totalNanos;
+        private long encryptionNanos;
+        private long cachedCalls;
+
+        private void add(RecordedEvent event, long nanos) {
+            calls++;
+            characters += event.getInt("characters");
+            totalNanos += nanos;
+            encryptionNanos += event.getLong("encryptionTime");
+            if (event.getBoolean("cachedKeystream")) {
+                cachedCalls++;
+            }
+        }
+
+        private void print(String machine) {
+            System.out.printf("%-24s %8d %12d %12.1f %13.1f%% %11.1f%%%n", machine, calls, characters,
+                    characters == 0 ? 0.0 : (double) encryptionNanos / characters,
+                    totalNanos == 0 ? 0.0 : 100.0 * encryptionNanos / totalNanos, 100.0 * cachedCalls / calls);
+        }
+    }
+
+    // Nearest-rank percentile of sorted values
+    private static long percentile(long[] sorted, double fraction) {
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
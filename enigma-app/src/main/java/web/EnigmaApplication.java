@@ -1,5 +1,7 @@
 package web;
 
+import cluster.coordinator.CoordinatorApplication;
+import cluster.worker.WorkerApplication;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
@@ -10,6 +12,20 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 @EntityScan(basePackages = "dal.models")
 public class EnigmaApplication {
     public static void main(String[] args) {
-        SpringApplication.run(EnigmaApplication.class, args);
+        // --enigma.role=coordinator|worker starts a distributed-search node instead of the regular server
+        switch (role(args)) {
+            case "coordinator" -> CoordinatorApplication.run(args);
+            case "worker" -> WorkerApplication.run(args);
+            default -> SpringApplication.run(EnigmaApplication.class, args);
+        }
     }
-}
\ No newline at end of file
+
+    private static String role(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--enigma.role=")) {
+                return arg.substring("--enigma.role=".length());
+            }
+        }
+        return System.getProperty("enigma.role", "standalone");
+    }
+}
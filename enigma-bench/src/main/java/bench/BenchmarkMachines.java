@@ -0,0 +1,77 @@
+package bench;
+
+import logic.loader.XmlMachineConfigLoader;
+import logic.machine.Machine;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shared setup for the benchmarks: the bundled machine XMLs (from the enigma-loader resources)
+ * and a fixed, reproducible code and message for each of them.
+ */
+final class BenchmarkMachines {
+
+    // 6-letter and 26-letter alphabets
+    static final String SMALL = "ex3/ex3-sanity-small.xml";
+    static final String PAPER_ENIGMA = "ex3/ex3-sanity-paper-enigma.xml";
+
+    private BenchmarkMachines() {
+    }
+
+    static byte[] readResource(String resource) throws IOException {
+        try (InputStream in = BenchmarkMachines.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Benchmark resource not found: " + resource);
+            }
+            return in.readAllBytes();
+        }
+    }
+
+    // A machine from a bundled XML, configured with the first rotors in order, all at the first letter, the first
+    // reflector and one plug
+    static Machine configuredMachine(String resource) throws Exception {
+        Machine machine = new XmlMachineConfigLoader().load(new ByteArrayInputStream(readResource(resource)));
+        machine.setConfiguration(rotorIds(machine), startPositions(machine), firstReflector(machine), plugs(machine));
+        return machine;
+    }
+
+    static List<Integer> rotorIds(Machine machine) {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 1; id <= machine.getRotorsCount(); id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    static List<Character> startPositions(Machine machine) {
+        List<Character> positions = new ArrayList<>();
+        for (int i = 0; i < machine.getRotorsCount(); i++) {
+            positions.add(machine.getKeyboard().toChar(0));
+        }
+        return positions;
+    }
+
+    static String firstReflector(Machine machine) {
+        return machine.getAllAvailableReflectors().containsKey("I") ? "I" : machine.getAllAvailableReflectors().keySet().iterator().next();
+    }
+
+    static String plugs(Machine machine) {
+        return "" + machine.getKeyboard().toChar(0) + machine.getKeyboard().toChar(machine.getKeyboard().size() - 1);
+    }
+
+    // Random letters of the machine's alphabet (fixed seed, so every run encrypts the same text)
+    static String message(Machine machine, int length) {
+        String alphabet = machine.getKeyboard().asString();
+        Random random = new Random(42);
+        StringBuilder message = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            message.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return message.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package bench;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of benchmarks.jar: java -jar enigma-bench/target/benchmarks.jar [JMH options] [benchmark regex].
+ * Passes everything to JMH and, unless a result file is given (-rff), writes the results as JSON to
+ * jmh-results/result-<timestamp>.json so that runs can be compared.
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        List<String> jmhArgs = new ArrayList<>(Arrays.asList(args));
+        if (!jmhArgs.contains("-rff")) {
+            File directory = new File("jmh-results");
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                System.out.println("Warning: Could not create " + directory.getAbsolutePath());
+            }
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            jmhArgs.addAll(0, List.of("-rff", new File(directory, "result-" + timestamp + ".json").getPath()));
+        }
+        if (!jmhArgs.contains("-rf")) {
+            jmhArgs.addAll(0, List.of("-rf", "json"));
+        }
+        org.openjdk.jmh.Main.main(jmhArgs.toArray(new String[0]));
+    }
+}
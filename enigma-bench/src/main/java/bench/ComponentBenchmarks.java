@@ -0,0 +1,75 @@
+package bench;
+
+import logic.machine.Machine;
+import logic.machine.components.Keyboard;
+import logic.machine.components.Plugboard;
+import logic.machine.components.Rotor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single operations of the machine components: one rotor pass in each direction, a keyboard lookup and a plugboard swap.
+ * Every call takes the next input in a cycle so the JIT cannot fold the lookup into a constant.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComponentBenchmarks {
+
+    @Param({BenchmarkMachines.SMALL, BenchmarkMachines.PAPER_ENIGMA})
+    public String machineXml;
+
+    private Rotor rotor;
+    private Keyboard keyboard;
+    private Plugboard plugboard;
+    private char[] letters;
+    private int next;
+
+    @Setup
+    public void setup() throws Exception {
+        Machine machine = BenchmarkMachines.configuredMachine(machineXml);
+        rotor = machine.getAllAvailableRotors().get(1);
+        keyboard = machine.getKeyboard();
+        plugboard = machine.getPlugboard();
+        letters = keyboard.asString().toCharArray();
+    }
+
+    private int nextIndex() {
+        next = next + 1 == letters.length ? 0 : next + 1;
+        return next;
+    }
+
+    @Benchmark
+    public int rotorMapForward() {
+        return rotor.mapForward(nextIndex());
+    }
+
+    @Benchmark
+    public int rotorMapBackward() {
+        return rotor.mapBackward(nextIndex());
+    }
+
+    @Benchmark
+    public int keyboardToIndex() {
+        return keyboard.toIndex(letters[nextIndex()]);
+    }
+
+    @Benchmark
+    public char plugboardConvert() {
+        return plugboard.convert(letters[nextIndex()]);
+    }
+}
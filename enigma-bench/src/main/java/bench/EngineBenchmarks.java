@@ -0,0 +1,77 @@
+package bench;
+
+import logic.engine.EnigmaEngine;
+import logic.machine.Machine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.EngineManager;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The engine layer: EnigmaEngineImpl.process (validation, processing and the history record it appends)
+ * and EngineManager.createEngineInstance (the serialization clone behind every new session).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EngineBenchmarks {
+
+    private static final int MESSAGE_LENGTH = 256;
+
+    @Param({BenchmarkMachines.SMALL, BenchmarkMachines.PAPER_ENIGMA})
+    public String machineXml;
+
+    private EngineManager engineManager;
+    private String machineName;
+    private String message;
+    private String rotorIds;
+    private String positions;
+    private String plugs;
+    private EnigmaEngine engine;
+
+    @Setup(Level.Trial)
+    public void setupManager() throws Exception {
+        // No database here: registering the machine only prints a warning that it was not saved
+        engineManager = new EngineManager(null, "", 0, 0, 0);
+        machineName = engineManager.loadEngine(
+                new ByteArrayInputStream(BenchmarkMachines.readResource(machineXml)), machineXml);
+
+        Machine machine = BenchmarkMachines.configuredMachine(machineXml);
+        message = BenchmarkMachines.message(machine, MESSAGE_LENGTH);
+        rotorIds = String.join(",", BenchmarkMachines.rotorIds(machine).stream().map(String::valueOf).toList());
+        positions = BenchmarkMachines.startPositions(machine).stream().map(String::valueOf).reduce("", String::concat);
+        plugs = BenchmarkMachines.plugs(machine);
+    }
+
+    // A fresh session engine per iteration, so the history does not grow across the whole run
+    @Setup(Level.Iteration)
+    public void setupEngine() throws Exception {
+        engine = engineManager.createEngineInstance(machineName);
+        engine.setManualCode(rotorIds, positions, 1, plugs);
+    }
+
+    @Benchmark
+    public String engineProcess() {
+        return engine.process(message);
+    }
+
+    @Benchmark
+    public EnigmaEngine createEngineInstance() {
+        return engineManager.createEngineInstance(machineName);
+    }
+}
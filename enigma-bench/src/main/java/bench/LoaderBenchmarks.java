@@ -0,0 +1,53 @@
+package bench;
+
+import logic.loader.StaxMachineConfigLoader;
+import logic.loader.XmlMachineConfigLoader;
+import logic.machine.Machine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading each bundled machine XML from memory (no disk I/O), with the JAXB loader and with the streaming loader.
+ * The ex1 files are not listed: they have no rotors-count and are rejected by the current loaders.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LoaderBenchmarks {
+
+    @Param({"ex2/ex2-sanity-small.xml", "ex2/ex2-sanity-paper-enigma.xml",
+            BenchmarkMachines.SMALL, BenchmarkMachines.PAPER_ENIGMA})
+    public String machineXml;
+
+    private byte[] xml;
+
+    @Setup
+    public void setup() throws Exception {
+        xml = BenchmarkMachines.readResource(machineXml);
+    }
+
+    @Benchmark
+    public Machine xmlLoad() throws Exception {
+        return new XmlMachineConfigLoader().load(new ByteArrayInputStream(xml));
+    }
+
+    @Benchmark
+    public Machine staxLoad() throws Exception {
+        return new StaxMachineConfigLoader().load(new ByteArrayInputStream(xml));
+    }
+}
@@ -0,0 +1,49 @@
+package bench;
+
+import logic.machine.Machine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MachineImpl.process over messages of several lengths, on a small and a full 26-letter alphabet.
+ * The rotors keep moving from call to call, like a session that keeps encrypting.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MachineBenchmarks {
+
+    @Param({BenchmarkMachines.SMALL, BenchmarkMachines.PAPER_ENIGMA})
+    public String machineXml;
+
+    @Param({"16", "256", "4096"})
+    public int messageLength;
+
+    private Machine machine;
+    private String message;
+
+    @Setup
+    public void setup() throws Exception {
+        machine = BenchmarkMachines.configuredMachine(machineXml);
+        message = BenchmarkMachines.message(machine, messageLength);
+    }
+
+    @Benchmark
+    public String machineProcess() {
+        return machine.process(message);
+    }
+}
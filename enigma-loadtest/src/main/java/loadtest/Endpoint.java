@@ -0,0 +1,21 @@
+package loadtest;
+
+// The API calls a load-test client makes, reported separately
+public enum Endpoint {
+    CREATE_SESSION("POST /enigma/session"),
+    CONFIG_AUTOMATIC("PUT /enigma/config/automatic"),
+    CONFIG_MANUAL("PUT /enigma/config/manual"),
+    PROCESS("POST /enigma/process"),
+    HISTORY("GET /enigma/history"),
+    DELETE_SESSION("DELETE /enigma/session");
+
+    private final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
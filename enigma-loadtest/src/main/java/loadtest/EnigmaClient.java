@@ -0,0 +1,135 @@
+package loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Blocking HTTP calls to the Enigma REST API. Every call is timed and recorded in the caller's LatencyRecorder;
+ * a call fails (returns null) on a transport error or a 4xx/5xx status. Shared by all clients (HttpClient is thread-safe).
+ */
+public class EnigmaClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public EnigmaClient(HttpClient http, String baseUrl) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+    }
+
+    // Uploads the machine XML (unless the server already has that machine) before the run starts
+    public void loadMachine(MachineProfile machine) throws IOException, InterruptedException {
+        if (getMachineNames().contains('"' + machine.getName() + '"')) {
+            return;
+        }
+        String boundary = "enigma-" + UUID.randomUUID();
+        byte[] head = ("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\""
+                + machine.getFileName() + "\"\r\nContent-Type: application/xml\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] body = new byte[head.length + machine.getXml().length + tail.length];
+        System.arraycopy(head, 0, body, 0, head.length);
+        System.arraycopy(machine.getXml(), 0, body, head.length, machine.getXml().length);
+        System.arraycopy(tail, 0, body, head.length + machine.getXml().length, tail.length);
+
+        HttpResponse<String> response = http.send(request("/enigma/load")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)).build(), HttpResponse.BodyHandlers.ofString());
+        if (!getMachineNames().contains('"' + machine.getName() + '"')) {
+            throw new IOException("Could not load machine " + machine.getName() + ": " + response.body().trim());
+        }
+    }
+
+    private String getMachineNames() throws IOException, InterruptedException {
+        return http.send(request("/enigma/machines").GET().build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    // The new session ID, or null
+    public String createSession(String machineName, LatencyRecorder recorder) {
+        String body = json(Map.of("machine", machineName));
+        String response = send(Endpoint.CREATE_SESSION, request("/enigma/session")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)), recorder);
+        if (response == null) {
+            return null;
+        }
+        try {
+            return mapper.readTree(response).path("sessionID").asText(null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public boolean setAutomaticCode(String sessionId, LatencyRecorder recorder) {
+        return send(Endpoint.CONFIG_AUTOMATIC, request("/enigma/config/automatic?sessionID=" + encode(sessionId))
+                .PUT(HttpRequest.BodyPublishers.noBody()), recorder) != null;
+    }
+
+    // The manual code as the ManualConfigDTO JSON the controller expects
+    public boolean setManualCode(Map<String, Object> manualConfig, LatencyRecorder recorder) {
+        return send(Endpoint.CONFIG_MANUAL, request("/enigma/config/manual")
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json(manualConfig))), recorder) != null;
+    }
+
+    public boolean process(String sessionId, String input, LatencyRecorder recorder) {
+        String form = "sessionId=" + encode(sessionId) + "&input=" + encode(input);
+        return send(Endpoint.PROCESS, request("/enigma/process")
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)), recorder) != null;
+    }
+
+    public boolean getHistory(String sessionId, LatencyRecorder recorder) {
+        return send(Endpoint.HISTORY, request("/enigma/history?sessionID=" + encode(sessionId)).GET(), recorder) != null;
+    }
+
+    public boolean deleteSession(String sessionId, LatencyRecorder recorder) {
+        return send(Endpoint.DELETE_SESSION, request("/enigma/session?sessionID=" + encode(sessionId)).DELETE(),
+                recorder) != null;
+    }
+
+    // Sends, times and records one call. The response body, or null on failure
+    private String send(Endpoint endpoint, HttpRequest.Builder request, LatencyRecorder recorder) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            boolean success = response.statusCode() < 400;
+            recorder.record(endpoint, System.nanoTime() - start, success);
+            return success ? response.body() : null;
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private String json(Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,76 @@
+package loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Latencies and errors of one client, per endpoint. Every client owns its recorder, so recording needs no locking
+ * (and never pins a virtual thread); the recorders are merged once the run is over.
+ * Every sample is kept (8 bytes per request), so the percentiles are exact.
+ */
+public class LatencyRecorder {
+
+    private final Map<Endpoint, Samples> samplesByEndpoint = new EnumMap<>(Endpoint.class);
+    private volatile boolean recording;
+
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    public void record(Endpoint endpoint, long nanos, boolean success) {
+        if (!recording) {
+            return; // Warm-up
+        }
+        Samples samples = samplesByEndpoint.computeIfAbsent(endpoint, e -> new Samples());
+        samples.add(nanos);
+        if (!success) {
+            samples.errors++;
+        }
+    }
+
+    // Adds this recorder's samples to the merged one
+    public void mergeInto(LatencyRecorder merged) {
+        samplesByEndpoint.forEach((endpoint, samples) -> {
+            Samples target = merged.samplesByEndpoint.computeIfAbsent(endpoint, e -> new Samples());
+            for (int i = 0; i < samples.count; i++) {
+                target.add(samples.nanos[i]);
+            }
+            target.errors += samples.errors;
+        });
+    }
+
+    // Requests, errors and latency percentiles (in nanoseconds) of an endpoint, or null if it was never called
+    public EndpointStats stats(Endpoint endpoint) {
+        Samples samples = samplesByEndpoint.get(endpoint);
+        if (samples == null || samples.count == 0) {
+            return null;
+        }
+        long[] sorted = Arrays.copyOf(samples.nanos, samples.count);
+        Arrays.sort(sorted);
+        return new EndpointStats(sorted.length, samples.errors, percentile(sorted, 0.50), percentile(sorted, 0.95),
+                percentile(sorted, 0.99), percentile(sorted, 0.999), sorted[sorted.length - 1]);
+    }
+
+    // Nearest-rank percentile of sorted samples
+    private static long percentile(long[] sorted, double fraction) {
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static class Samples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private long errors;
+
+        private void add(long value) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+        }
+    }
+
+    public record EndpointStats(long requests, long errors, long p50, long p95, long p99, long p999, long max) {
+    }
+}
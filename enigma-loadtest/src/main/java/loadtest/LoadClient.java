@@ -0,0 +1,122 @@
+package loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One simulated user, run on its own virtual thread until the run is stopped. Repeats a session lifecycle:
+ * create a session, configure it (manual or automatic code), process several messages, read its history, delete it.
+ * Clients are closed-loop (the next request is sent when the previous one returns).
+ */
+public class LoadClient implements Runnable {
+
+    // Delay after a failed session creation, doubled for every further failure in a row
+    private static final long MIN_BACKOFF_MILLIS = 10;
+    private static final long MAX_BACKOFF_MILLIS = 1000;
+
+    private final EnigmaClient client;
+    private final MachineProfile machine;
+    private final LoadTestOptions options;
+    private final AtomicBoolean stopped;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    public LoadClient(EnigmaClient client, MachineProfile machine, LoadTestOptions options, AtomicBoolean stopped) {
+        this.client = client;
+        this.machine = machine;
+        this.options = options;
+        this.stopped = stopped;
+    }
+
+    public LatencyRecorder getRecorder() {
+        return recorder;
+    }
+
+    @Override
+    public void run() {
+        long backoffMillis = 0;
+        while (!stopped.get()) {
+            String sessionId = client.createSession(machine.getName(), recorder);
+            if (sessionId == null) {
+                // The failure is already recorded; wait before retrying so a down server is not hammered in a loop
+                backoffMillis = Math.min(MAX_BACKOFF_MILLIS, Math.max(MIN_BACKOFF_MILLIS, backoffMillis * 2));
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                continue;
+            }
+            backoffMillis = 0;
+            runSession(sessionId);
+            client.deleteSession(sessionId, recorder); // Also after a stop, so no session is left behind
+        }
+    }
+
+    private void runSession(String sessionId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean configured = random.nextDouble() < options.getManualRatio()
+                ? client.setManualCode(randomManualConfig(sessionId, random), recorder)
+                : client.setAutomaticCode(sessionId, recorder);
+        if (!configured) {
+            return;
+        }
+        for (int i = 0; i < options.getProcessesPerSession() && !stopped.get(); i++) {
+            int[] sizes = options.getPayloadSizes();
+            client.process(sessionId, randomMessage(sizes[random.nextInt(sizes.length)], random), recorder);
+        }
+        if (!stopped.get()) {
+            client.getHistory(sessionId, recorder);
+        }
+    }
+
+    // Random distinct rotors (left to right), positions, reflector and up to 3 plugs, as a ManualConfigDTO
+    private Map<String, Object> randomManualConfig(String sessionId, ThreadLocalRandom random) {
+        String alphabet = machine.getAlphabet();
+        int[] rotorIds = machine.getRotorIds().clone();
+        List<Map<String, Object>> rotors = new ArrayList<>();
+        for (int i = 0; i < machine.getRotorsCount(); i++) {
+            int pick = i + random.nextInt(rotorIds.length - i);
+            int id = rotorIds[pick];
+            rotorIds[pick] = rotorIds[i];
+            rotorIds[i] = id;
+            rotors.add(Map.of("rotorNumber", id,
+                    "rotorPosition", String.valueOf(alphabet.charAt(random.nextInt(alphabet.length())))));
+        }
+
+        // Shuffled alphabet, consecutive pairs become plugs
+        char[] letters = alphabet.toCharArray();
+        for (int i = letters.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            char swap = letters[i];
+            letters[i] = letters[j];
+            letters[j] = swap;
+        }
+        List<Map<String, Object>> plugs = new ArrayList<>();
+        int plugCount = random.nextInt(Math.min(3, letters.length / 2) + 1);
+        for (int i = 0; i < plugCount; i++) {
+            plugs.add(Map.of("plug1", String.valueOf(letters[2 * i]), "plug2", String.valueOf(letters[2 * i + 1])));
+        }
+
+        String[] reflectors = machine.getReflectorIds();
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("sessionID", sessionId);
+        config.put("rotors", rotors);
+        config.put("reflector", reflectors[random.nextInt(reflectors.length)]);
+        config.put("plugs", plugs);
+        return config;
+    }
+
+    private String randomMessage(int length, ThreadLocalRandom random) {
+        String alphabet = machine.getAlphabet();
+        StringBuilder message = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            message.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return message.toString();
+    }
+}
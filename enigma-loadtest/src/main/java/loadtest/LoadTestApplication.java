@@ -0,0 +1,15 @@
+package loadtest;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * The same controllers, services and repositories as web.EnigmaApplication, started in-process by the load test.
+ * The database is H2 in memory (see application.properties), so no Postgres is needed.
+ */
+@SpringBootApplication(scanBasePackages = {"controllers", "service", "dal"})
+@EnableJpaRepositories(basePackages = "dal.repositories")
+@EntityScan(basePackages = "dal.models")
+public class LoadTestApplication {
+}
@@ -0,0 +1,81 @@
+package loadtest;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * End-to-end load test of the REST API: java -jar enigma-loadtest/target/enigma-loadtest.jar [options]
+ * (see LoadTestOptions). Starts the server in-process on H2 (or uses --target), loads the machine,
+ * runs the clients for the warm-up and the measured duration and prints throughput and latency per endpoint.
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        ConfigurableApplicationContext server = null;
+        String baseUrl = options.getTarget();
+        if (baseUrl == null) {
+            server = SpringApplication.run(LoadTestApplication.class, options.getServerArgs());
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) server).getWebServer().getPort();
+        }
+
+        try {
+            LoadTestReport report = run(options, baseUrl);
+            report.print(System.out);
+            if (options.getReport() != null) {
+                report.writeJson(new File(options.getReport()));
+                System.out.println("Report written to " + options.getReport());
+            }
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static LoadTestReport run(LoadTestOptions options, String baseUrl) throws Exception {
+        MachineProfile machine = MachineProfile.load(options.getMachine());
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        EnigmaClient client = new EnigmaClient(http, baseUrl);
+        client.loadMachine(machine);
+        System.out.println("Load test against " + baseUrl + " with machine " + machine.getName()
+                + ": " + options.getConcurrency() + " clients, warm-up " + options.getWarmup()
+                + ", duration " + options.getDuration());
+
+        AtomicBoolean stopped = new AtomicBoolean();
+        List<LoadClient> clients = new ArrayList<>(options.getConcurrency());
+        long measuredNanos;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.getConcurrency(); i++) {
+                LoadClient loadClient = new LoadClient(client, machine, options, stopped);
+                clients.add(loadClient);
+                executor.execute(loadClient);
+            }
+
+            Thread.sleep(options.getWarmup().toMillis());
+            clients.forEach(c -> c.getRecorder().setRecording(true));
+            long start = System.nanoTime();
+            Thread.sleep(options.getDuration().toMillis());
+            clients.forEach(c -> c.getRecorder().setRecording(false));
+            measuredNanos = System.nanoTime() - start;
+            stopped.set(true);
+        } // Waits for every client to finish its current session
+
+        return new LoadTestReport(clients, Duration.ofNanos(measuredNanos), options);
+    }
+}
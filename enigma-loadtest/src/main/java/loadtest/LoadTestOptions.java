@@ -0,0 +1,131 @@
+package loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line of the load test. Options are --name=value; every other argument is passed to the embedded server
+ * (e.g. --server.tomcat.threads.max=400 or --spring.threads.virtual.enabled=true).
+ *
+ * --duration=60s            measured run time (ms, s or m)
+ * --warmup=10s              run time before measuring, not counted in the report
+ * --concurrency=64          concurrent clients, one virtual thread each
+ * --payload-sizes=16,256    letters per process request, picked at random for every request
+ * --processes-per-session=8 process requests per session before its history is read and it is deleted
+ * --manual-ratio=0.5        share of sessions configured with a manual code (the rest use automatic)
+ * --machine=ex3/ex3-sanity-paper-enigma.xml  machine XML to load (bundled resource or file path)
+ * --target=http://host:8080 use a running server instead of starting one
+ * --report=result.json      also write the report as JSON
+ */
+public class LoadTestOptions {
+
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(10);
+    private int concurrency = 64;
+    private int[] payloadSizes = {16, 256, 1024};
+    private int processesPerSession = 8;
+    private double manualRatio = 0.5;
+    private String machine = "ex3/ex3-sanity-paper-enigma.xml";
+    private String target;
+    private String report;
+    private final List<String> serverArgs = new ArrayList<>();
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            String name = equals == -1 ? arg : arg.substring(0, equals);
+            String value = equals == -1 ? "" : arg.substring(equals + 1);
+            try {
+                switch (name) {
+                    case "--duration" -> options.duration = parseDuration(value);
+                    case "--warmup" -> options.warmup = parseDuration(value);
+                    case "--concurrency" -> options.concurrency = positive(name, Integer.parseInt(value));
+                    case "--payload-sizes" -> options.payloadSizes = parseSizes(value);
+                    case "--processes-per-session" -> options.processesPerSession = Integer.parseInt(value);
+                    case "--manual-ratio" -> options.manualRatio = Double.parseDouble(value);
+                    case "--machine" -> options.machine = value;
+                    case "--target" -> options.target = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    case "--report" -> options.report = value;
+                    default -> options.serverArgs.add(arg);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for " + name + ": " + value);
+            }
+        }
+        return options;
+    }
+
+    // "500ms", "30s", "5m" or plain seconds
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    private static int[] parseSizes(String value) {
+        String[] parts = value.split(",");
+        int[] sizes = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            sizes[i] = positive("--payload-sizes", Integer.parseInt(parts[i].trim()));
+        }
+        return sizes;
+    }
+
+    private static int positive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive: " + value);
+        }
+        return value;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int[] getPayloadSizes() {
+        return payloadSizes;
+    }
+
+    public int getProcessesPerSession() {
+        return processesPerSession;
+    }
+
+    public double getManualRatio() {
+        return manualRatio;
+    }
+
+    public String getMachine() {
+        return machine;
+    }
+
+    // Base URL of a running server, or null to start one
+    public String getTarget() {
+        return target;
+    }
+
+    // Path of the JSON report, or null
+    public String getReport() {
+        return report;
+    }
+
+    public String[] getServerArgs() {
+        return serverArgs.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,91 @@
+package loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles per endpoint (and over all requests) of a finished run,
+ * printed as a table and optionally written as JSON.
+ */
+public class LoadTestReport {
+
+    private final LatencyRecorder merged;
+    private final Duration duration;
+    private final LoadTestOptions options;
+
+    public LoadTestReport(Iterable<LoadClient> clients, Duration duration, LoadTestOptions options) {
+        this.merged = new LatencyRecorder();
+        this.duration = duration;
+        this.options = options;
+        for (LoadClient client : clients) {
+            client.getRecorder().mergeInto(merged);
+        }
+    }
+
+    public void print(PrintStream out) {
+        out.printf("Concurrency %d, payload sizes %s, %d processes per session, measured for %s%n",
+                options.getConcurrency(), Arrays.toString(options.getPayloadSizes()),
+                options.getProcessesPerSession(), duration);
+        out.printf("%-30s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        long requests = 0;
+        long errors = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            LatencyRecorder.EndpointStats stats = merged.stats(endpoint);
+            if (stats == null) {
+                continue;
+            }
+            requests += stats.requests();
+            errors += stats.errors();
+            out.printf("%-30s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", endpoint.getLabel(),
+                    stats.requests(), stats.errors(), perSecond(stats.requests()), millis(stats.p50()),
+                    millis(stats.p95()), millis(stats.p99()), millis(stats.p999()), millis(stats.max()));
+        }
+        out.printf("%-30s %10d %8d %10.1f%n", "Total", requests, errors, perSecond(requests));
+    }
+
+    public void writeJson(File file) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("concurrency", options.getConcurrency());
+        report.put("payloadSizes", options.getPayloadSizes());
+        report.put("processesPerSession", options.getProcessesPerSession());
+        report.put("manualRatio", options.getManualRatio());
+        report.put("durationSeconds", duration.toMillis() / 1000.0);
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            LatencyRecorder.EndpointStats stats = merged.stats(endpoint);
+            if (stats == null) {
+                continue;
+            }
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("requests", stats.requests());
+            values.put("errors", stats.errors());
+            values.put("throughputPerSecond", perSecond(stats.requests()));
+            values.put("p50Millis", millis(stats.p50()));
+            values.put("p95Millis", millis(stats.p95()));
+            values.put("p99Millis", millis(stats.p99()));
+            values.put("p999Millis", millis(stats.p999()));
+            values.put("maxMillis", millis(stats.max()));
+            endpoints.put(endpoint.getLabel(), values);
+        }
+        report.put("endpoints", endpoints);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+    }
+
+    private double perSecond(long requests) {
+        return requests * 1000.0 / Math.max(1, duration.toMillis());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
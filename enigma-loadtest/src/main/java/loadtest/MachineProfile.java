@@ -0,0 +1,86 @@
+package loadtest;
+
+import logic.loader.XmlMachineConfigLoader;
+import logic.loader.dto.MachineDescriptor;
+import logic.loader.dto.ReflectorDescriptor;
+import logic.loader.dto.RotorDescriptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The machine under load: its XML (uploaded to the server) and what the clients need to build valid requests
+ * (alphabet, rotor and reflector IDs), read locally with the same loader the server uses.
+ */
+public class MachineProfile {
+
+    private final String fileName;
+    private final byte[] xml;
+    private final String name;
+    private final String alphabet;
+    private final int rotorsCount;
+    private final int[] rotorIds;
+    private final String[] reflectorIds;
+
+    private MachineProfile(String fileName, byte[] xml, MachineDescriptor descriptor) {
+        this.fileName = fileName;
+        this.xml = xml;
+        this.name = descriptor.getName() == null || descriptor.getName().isBlank()
+                ? fileName.replace(".xml", "") : descriptor.getName();
+        this.alphabet = descriptor.getAlphabet();
+        this.rotorsCount = descriptor.getRotorsCount();
+        this.rotorIds = descriptor.getRotors().stream().mapToInt(RotorDescriptor::getId).toArray();
+        List<ReflectorDescriptor> reflectors = descriptor.getReflectors();
+        this.reflectorIds = reflectors.stream().map(ReflectorDescriptor::getId).toArray(String[]::new);
+    }
+
+    // A file path, or else a machine XML bundled with the loader (e.g. ex3/ex3-sanity-paper-enigma.xml)
+    public static MachineProfile load(String location) throws Exception {
+        Path path = Path.of(location);
+        byte[] xml;
+        if (Files.isRegularFile(path)) {
+            xml = Files.readAllBytes(path);
+        } else {
+            try (InputStream in = MachineProfile.class.getClassLoader().getResourceAsStream(location)) {
+                if (in == null) {
+                    throw new IOException("Machine XML not found: " + location);
+                }
+                xml = in.readAllBytes();
+            }
+        }
+        MachineDescriptor descriptor = new XmlMachineConfigLoader().loadDescriptor(new ByteArrayInputStream(xml));
+        return new MachineProfile(path.getFileName().toString(), xml, descriptor);
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public byte[] getXml() {
+        return xml;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAlphabet() {
+        return alphabet;
+    }
+
+    public int getRotorsCount() {
+        return rotorsCount;
+    }
+
+    public int[] getRotorIds() {
+        return rotorIds;
+    }
+
+    public String[] getReflectorIds() {
+        return reflectorIds;
+    }
+}
@@ -0,0 +1,11 @@
+package logic.decryption;
+
+/**
+ * Receives decryption candidates as soon as a search finds them.
+ * Called from the search worker threads, so implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface CandidateListener {
+
+    void onCandidate(DecryptionCandidate candidate);
+}
@@ -0,0 +1,332 @@
+package logic.decryption;
+
+import logic.decryption.checkpoint.CheckpointStore;
+import logic.decryption.checkpoint.CompletedRanges;
+import logic.decryption.checkpoint.SearchCheckpoint;
+import logic.decryption.space.ConfigurationCursor;
+import logic.decryption.space.ConfigurationSpace;
+import logic.exceptions.EnigmaException;
+import logic.loader.dto.MachineDescriptor;
+import logic.loader.dto.ReflectorDescriptor;
+import logic.loader.dto.RotorDescriptor;
+import logic.machine.Machine;
+import logic.machine.MachineImpl;
+import logic.machine.components.Keyboard;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Known-plaintext (crib) attack by exhaustive search.
+ * Enumerates every starting position (and optionally every rotor order and reflector) of a machine,
+ * split into chunks that the worker threads pull from a shared counter.
+ * Every worker owns its own MachineImpl built from the descriptor and works on keyboard indices only,
+ * abandoning a configuration at the first crib letter that does not match.
+ * With a CheckpointStore the finished chunks and the candidates found are saved periodically, and a later search
+ * of the same job continues from the last checkpoint instead of starting over.
+ * A breaker runs one search: once cancelled (even before search is called) it stays cancelled.
+ */
+public class CribBruteForceBreaker {
+
+    // Number of configurations a worker claims at once
+    private static final int CHUNK_SIZE = 4096;
+
+    private final MachineDescriptor descriptor;
+    private final int threads;
+
+    private final LongAdder configurationsChecked = new LongAdder();
+    private volatile boolean cancelled;
+
+    public CribBruteForceBreaker(MachineDescriptor descriptor, int threads) {
+        this.descriptor = descriptor;
+        this.threads = Math.max(1, threads);
+    }
+
+    // Uses every available core
+    public CribBruteForceBreaker(MachineDescriptor descriptor) {
+        this(descriptor, Runtime.getRuntime().availableProcessors());
+    }
+
+    // Runs the search and blocks until it is finished or cancelled. Candidates are also pushed to the listener
+    // (from the worker threads) as soon as they are found; the listener may be null
+    public CribSearchResult search(CribSearchRequest request, CandidateListener listener) throws InterruptedException {
+        SearchPlan plan = new SearchPlan(request, null);
+        return run(plan, listener, null, 0, plan.space.size());
+    }
+
+    // Searches only the configuration indices [fromIndex, toIndex) of the request's ConfigurationSpace
+    // (e.g. one range handed out by a distributed coordinator)
+    public CribSearchResult search(CribSearchRequest request, CandidateListener listener, long fromIndex, long toIndex)
+            throws InterruptedException {
+        SearchPlan plan = new SearchPlan(request, null);
+        long size = plan.space.size();
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > size) {
+            long badIndex = fromIndex < 0 || fromIndex > toIndex ? fromIndex : toIndex;
+            throw new EnigmaException(EnigmaException.ErrorCode.DECRYPTION_INDEX_OUT_OF_RANGE, badIndex, size);
+        }
+        return run(plan, listener, null, fromIndex, toIndex);
+    }
+
+    // Same as search, but resumes from the store's checkpoint when it belongs to this job and keeps it up to date.
+    // Candidates restored from the checkpoint are reported first; getConfigurationsChecked only counts this run
+    public CribSearchResult search(CribSearchRequest request, CandidateListener listener, CheckpointStore store)
+            throws InterruptedException, IOException {
+        SearchPlan plan = new SearchPlan(request, null);
+        SearchCheckpoint saved = store.load(plan.fingerprint, plan.space.size());
+        if (saved != null) {
+            plan = new SearchPlan(request, saved);
+        }
+        CribSearchResult result = run(plan, listener, store, 0, plan.space.size());
+        store.save(plan.snapshot());
+        return result;
+    }
+
+    private CribSearchResult run(SearchPlan plan, CandidateListener listener, CheckpointStore store,
+                                 long fromIndex, long toIndex) throws InterruptedException {
+        configurationsChecked.reset();
+        long startTime = System.nanoTime();
+
+        List<DecryptionCandidate> candidates = Collections.synchronizedList(new ArrayList<>());
+        CandidateListener collector = candidate -> {
+            candidates.add(candidate);
+            if (listener != null) {
+                listener.onCandidate(candidate);
+            }
+        };
+
+        plan.restoreCandidates(collector);
+        if (!cancelled && plan.canMatch()) {
+            runWorkers(plan, collector, store, fromIndex, toIndex);
+        }
+
+        return new CribSearchResult(new ArrayList<>(candidates), configurationsChecked.sum(),
+                System.nanoTime() - startTime, cancelled);
+    }
+
+    // Stops a running search; workers finish their current chunk and exit
+    public void cancel() {
+        cancelled = true;
+    }
+
+    // Live progress of the running search
+    public long getConfigurationsChecked() {
+        return configurationsChecked.sum();
+    }
+
+    private void runWorkers(SearchPlan plan, CandidateListener collector, CheckpointStore store,
+                            long fromIndex, long toIndex) throws InterruptedException {
+        AtomicLong nextIndex = new AtomicLong(fromIndex);
+        List<Callable<Void>> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(() -> {
+                new Worker(plan, nextIndex, collector, store).run(toIndex);
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "enigma-breaker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (Future<Void> future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            cancelled = true;
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Everything the workers share: the search space, the message as keyboard indices and the finished work
+    private class SearchPlan {
+        private final ConfigurationSpace space;
+        private final String plugs;
+
+        private final String ciphertext;
+        private final int[] cipher;     // Whole message, -1 for characters that pass through the machine
+        private final int[] letters;    // Only the characters that step the machine; the crib offset counts these
+        private final int[] crib;
+        private final int cribOffset;
+
+        // Finished chunks and the indices of the candidates found (restored from a checkpoint when resuming)
+        private final long fingerprint;
+        private final CompletedRanges completed;
+        private final Set<Long> candidateIndices = new HashSet<>();
+
+        private SearchPlan(CribSearchRequest request, SearchCheckpoint checkpoint) {
+            Keyboard keyboard = new MachineImpl(descriptor).getKeyboard();
+            this.space = ConfigurationSpace.of(descriptor, request.getRotorIDs(), request.getReflectorId());
+            this.plugs = request.getPlugs() == null ? "" : request.getPlugs();
+
+            this.ciphertext = request.getCiphertext();
+            this.cipher = SearchSupport.toIndicesOrPassThrough(keyboard, ciphertext);
+            this.letters = SearchSupport.toLetterIndices(keyboard, ciphertext);
+            this.crib = SearchSupport.toIndices(keyboard, request.getCrib());
+            this.cribOffset = request.getCribOffset();
+            SearchSupport.checkCrib(letters, crib, cribOffset);
+
+            this.fingerprint = CheckpointStore.fingerprint(descriptor.getName(), descriptor.getAlphabet(),
+                    describeWiring(), descriptor.getRotorsCount(),
+                    ciphertext, request.getCrib(), cribOffset, request.getRotorIDs(), request.getReflectorId(), plugs);
+            if (checkpoint == null) {
+                this.completed = new CompletedRanges();
+            } else {
+                this.completed = CompletedRanges.fromArray(checkpoint.getCompletedRanges());
+                for (long index : checkpoint.getCandidateIndices()) {
+                    candidateIndices.add(index);
+                }
+            }
+        }
+
+        // Every rotor's id, notch and mapping and every reflector's id and pairs, so a checkpoint is never resumed
+        // on a machine that shares the name and alphabet but is wired differently
+        private String describeWiring() {
+            StringBuilder wiring = new StringBuilder();
+            for (RotorDescriptor rotor : descriptor.getRotors()) {
+                wiring.append('R').append(rotor.getId()).append(':').append(rotor.getNotchPosition())
+                        .append(Arrays.deepToString(rotor.getMapping()));
+            }
+            for (ReflectorDescriptor reflector : descriptor.getReflectors()) {
+                wiring.append('F').append(reflector.getId()).append(':');
+                for (int[] pair : reflector.getPairs()) {
+                    wiring.append(Arrays.toString(pair));
+                }
+            }
+            return wiring.toString();
+        }
+
+        // Rebuilds the candidates of a resumed search from their configuration indices
+        private void restoreCandidates(CandidateListener collector) {
+            Long[] indices;
+            synchronized (candidateIndices) {
+                indices = candidateIndices.stream().sorted().toArray(Long[]::new);
+            }
+            if (indices.length == 0) {
+                return;
+            }
+            Machine machine = new MachineImpl(descriptor);
+            ConfigurationCursor cursor = space.cursor();
+            for (long index : indices) {
+                cursor.moveTo(index);
+                SearchSupport.configure(machine, cursor.getRotorIds(), cursor.getReflectorId(), plugs);
+                String plaintext = SearchSupport.decrypt(machine, cursor.getPositions(), cipher, ciphertext);
+                collector.onCandidate(SearchSupport.createCandidate(machine, cursor.getRotorIds(),
+                        cursor.getPositions(), cursor.getReflectorId(), plaintext));
+            }
+        }
+
+        // Records a new candidate; false if it was already known (found again in a chunk redone after a resume)
+        private boolean addCandidate(long index) {
+            synchronized (candidateIndices) {
+                return candidateIndices.add(index);
+            }
+        }
+
+        private SearchCheckpoint snapshot() {
+            long[] ranges = completed.toArray();
+            long[] indices;
+            synchronized (candidateIndices) {
+                indices = candidateIndices.stream().mapToLong(Long::longValue).toArray();
+            }
+            return new SearchCheckpoint(fingerprint, space.size(), ranges, indices);
+        }
+
+        // An Enigma never encrypts a letter to itself, so a crib that does is impossible for every configuration
+        private boolean canMatch() {
+            for (int i = 0; i < crib.length; i++) {
+                if (crib[i] == letters[cribOffset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // One search thread with its own machine copy
+    private class Worker {
+        private final SearchPlan plan;
+        private final AtomicLong nextIndex;
+        private final CandidateListener collector;
+        private final CheckpointStore store;
+        private final Machine machine;
+        private final ConfigurationCursor cursor;
+
+        private Worker(SearchPlan plan, AtomicLong nextIndex, CandidateListener collector, CheckpointStore store) {
+            this.plan = plan;
+            this.nextIndex = nextIndex;
+            this.collector = collector;
+            this.store = store;
+            this.machine = new MachineImpl(descriptor);
+            this.cursor = plan.space.cursor();
+        }
+
+        private void run(long size) {
+            long start;
+            while (!cancelled && (start = nextIndex.getAndAdd(CHUNK_SIZE)) < size) {
+                long end = Math.min(start + CHUNK_SIZE, size);
+                if (plan.completed.covers(start, end)) {
+                    continue; // Finished before the last checkpoint
+                }
+                cursor.moveTo(start);
+
+                for (long index = start; index < end; index++) {
+                    if (cursor.takeSetupChanged()) {
+                        SearchSupport.configure(machine, cursor.getRotorIds(), cursor.getReflectorId(), plan.plugs);
+                    }
+                    if (matchesCrib() && plan.addCandidate(index)) {
+                        collector.onCandidate(createCandidate());
+                    }
+                    cursor.next();
+                }
+                configurationsChecked.add(end - start);
+                plan.completed.add(start, end);
+                if (store != null) {
+                    store.saveIfDue(plan::snapshot);
+                }
+            }
+        }
+
+        // Runs the machine from the current positions and gives up at the first crib mismatch
+        private boolean matchesCrib() {
+            machine.setRotorPositions(cursor.getPositions());
+            int[] letters = plan.letters;
+            for (int i = 0; i < plan.cribOffset; i++) {
+                machine.convertIndex(letters[i]);
+            }
+            int[] crib = plan.crib;
+            int offset = plan.cribOffset;
+            for (int i = 0; i < crib.length; i++) {
+                if (machine.convertIndex(letters[offset + i]) != crib[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private DecryptionCandidate createCandidate() {
+            int[] positions = cursor.getPositions();
+            String plaintext = SearchSupport.decrypt(machine, positions, plan.cipher, plan.ciphertext);
+            return SearchSupport.createCandidate(machine, cursor.getRotorIds(), positions,
+                    cursor.getReflectorId(), plaintext);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package logic.decryption;
+
+import java.util.List;
+
+/**
+ * What to search for: the ciphertext, a known plaintext fragment (crib) and where it starts,
+ * plus which parts of the code are already known.
+ * A null rotor list means "try every rotor order", a null reflector means "try every reflector".
+ */
+public class CribSearchRequest {
+    private final String ciphertext;
+    private final String crib;
+    private final int cribOffset;           // Counted in keyboard letters; characters outside the keyboard are skipped
+    private final List<Integer> rotorIDs;   // Left to Right, or null
+    private final String reflectorId;       // or null
+    private final String plugs;             // Plugboard pairs to apply to every candidate (may be empty)
+
+    public CribSearchRequest(String ciphertext, String crib, int cribOffset,
+                             List<Integer> rotorIDs, String reflectorId, String plugs) {
+        this.ciphertext = ciphertext;
+        this.crib = crib;
+        this.cribOffset = cribOffset;
+        this.rotorIDs = rotorIDs;
+        this.reflectorId = reflectorId;
+        this.plugs = plugs;
+    }
+
+    // Crib at the start of the message, every rotor order and reflector, no plugs
+    public CribSearchRequest(String ciphertext, String crib) {
+        this(ciphertext, crib, 0, null, null, "");
+    }
+
+    public String getCiphertext() {
+        return ciphertext;
+    }
+
+    public String getCrib() {
+        return crib;
+    }
+
+    public int getCribOffset() {
+        return cribOffset;
+    }
+
+    public List<Integer> getRotorIDs() {
+        return rotorIDs;
+    }
+
+    public String getReflectorId() {
+        return reflectorId;
+    }
+
+    public String getPlugs() {
+        return plugs;
+    }
+}
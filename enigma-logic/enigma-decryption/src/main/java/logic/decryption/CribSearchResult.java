@@ -0,0 +1,42 @@
+package logic.decryption;
+
+import java.util.List;
+
+/**
+ * Outcome of a finished (or cancelled) crib search, including its throughput.
+ */
+public class CribSearchResult {
+    private final List<DecryptionCandidate> candidates;
+    private final long configurationsChecked;
+    private final long elapsedNanos;
+    private final boolean cancelled;
+
+    public CribSearchResult(List<DecryptionCandidate> candidates, long configurationsChecked,
+                            long elapsedNanos, boolean cancelled) {
+        this.candidates = candidates;
+        this.configurationsChecked = configurationsChecked;
+        this.elapsedNanos = elapsedNanos;
+        this.cancelled = cancelled;
+    }
+
+    public List<DecryptionCandidate> getCandidates() {
+        return candidates;
+    }
+
+    public long getConfigurationsChecked() {
+        return configurationsChecked;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // Throughput of the whole search
+    public double getConfigurationsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : configurationsChecked * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,49 @@
+package logic.decryption;
+
+import java.util.List;
+
+/**
+ * A machine code that decrypts the ciphertext consistently with the crib,
+ * together with the resulting plaintext.
+ */
+public class DecryptionCandidate {
+    private final List<Integer> rotorIDs;       // Left to Right
+    private final List<Character> positions;    // Left to Right
+    private final String reflectorId;
+    private final String code;                  // Formatted like the engine's code specs
+    private final String plaintext;
+
+    public DecryptionCandidate(List<Integer> rotorIDs, List<Character> positions, String reflectorId,
+                               String code, String plaintext) {
+        this.rotorIDs = rotorIDs;
+        this.positions = positions;
+        this.reflectorId = reflectorId;
+        this.code = code;
+        this.plaintext = plaintext;
+    }
+
+    public List<Integer> getRotorIDs() {
+        return rotorIDs;
+    }
+
+    public List<Character> getPositions() {
+        return positions;
+    }
+
+    public String getReflectorId() {
+        return reflectorId;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getPlaintext() {
+        return plaintext;
+    }
+
+    @Override
+    public String toString() {
+        return code + " -> " + plaintext;
+    }
+}
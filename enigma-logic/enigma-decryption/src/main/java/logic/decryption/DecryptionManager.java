@@ -0,0 +1,212 @@
+package logic.decryption;
+
+import logic.decryption.space.ConfigurationCursor;
+import logic.decryption.space.ConfigurationSpace;
+import logic.loader.dto.MachineDescriptor;
+import logic.machine.Machine;
+import logic.machine.MachineImpl;
+import logic.machine.components.Keyboard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dictionary attack over the starting positions of a loaded machine.
+ * A producer thread splits the code space (see ConfigurationSpace) into DecryptionTasks (ranges of starting positions for one
+ * rotor order and reflector) and feeds them through a bounded BlockingQueue to a pool of agent threads.
+ * Every agent decrypts with its own machine copy and keeps the candidates whose words all appear in the dictionary.
+ * Words are separated by spaces; a candidate is dropped as soon as one finished word is unknown.
+ */
+public class DecryptionManager {
+
+    private static final char WORD_SEPARATOR = ' ';
+
+    private final MachineDescriptor descriptor;
+    private final WordDictionary dictionary;
+    private final DecryptionSettings settings;
+
+    private final LongAdder tasksDone = new LongAdder();
+    private final LongAdder candidatesFound = new LongAdder();
+    private final LongAdder configurationsChecked = new LongAdder();
+    private final List<DecryptionCandidate> candidates = Collections.synchronizedList(new ArrayList<>());
+
+    private BlockingQueue<DecryptionTask> queue;
+    private CountDownLatch agentsDone;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile long tasksTotal;
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile boolean stopped;
+
+    public DecryptionManager(MachineDescriptor descriptor, WordDictionary dictionary, DecryptionSettings settings) {
+        this.descriptor = descriptor;
+        this.dictionary = dictionary;
+        this.settings = settings;
+    }
+
+    // Starts the producer and the agents and returns immediately. A null rotor list / reflector means "try them all".
+    // Candidates are collected (see getCandidates) and also pushed to the listener, which may be null
+    public synchronized void start(String ciphertext, List<Integer> rotorIDs, String reflectorId, String plugs,
+                                   CandidateListener listener) {
+        if (startNanos != 0) {
+            throw new IllegalStateException("A decryption manager can only be started once");
+        }
+
+        Keyboard keyboard = new MachineImpl(descriptor).getKeyboard();
+        ConfigurationSpace space = ConfigurationSpace.of(descriptor, rotorIDs, reflectorId);
+        long positionsCount = space.getPositionsCount();
+        long setupsCount = space.size() / positionsCount;
+
+        long tasksPerSetup = (positionsCount + settings.getTaskSize() - 1) / settings.getTaskSize();
+        this.tasksTotal = tasksPerSetup * setupsCount;
+        this.queue = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+        this.agentsDone = new CountDownLatch(settings.getAgentCount());
+        this.startNanos = System.nanoTime();
+
+        int[] cipher = SearchSupport.toIndicesOrPassThrough(keyboard, ciphertext);
+        for (int i = 0; i < settings.getAgentCount(); i++) {
+            Agent agent = new Agent(space, cipher, ciphertext, plugs, listener);
+            startThread(agent::run, "enigma-agent-" + i);
+        }
+        startThread(() -> produce(setupsCount, positionsCount), "enigma-task-producer");
+    }
+
+    // Stops producing tasks and lets every agent exit after its current task
+    public void stop() {
+        stopped = true;
+        synchronized (this) {
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    // Waits for all agents to finish; returns false on timeout
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        return agentsDone.await(timeout, unit);
+    }
+
+    public DecryptionProgress getProgress() {
+        boolean finished = agentsDone != null && agentsDone.getCount() == 0;
+        long end = finished ? endNanos : System.nanoTime();
+        long elapsedMillis = startNanos == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+        return new DecryptionProgress(tasksTotal, tasksDone.sum(), candidatesFound.sum(),
+                configurationsChecked.sum(), elapsedMillis, finished);
+    }
+
+    // Candidates found so far
+    public List<DecryptionCandidate> getCandidates() {
+        synchronized (candidates) {
+            return new ArrayList<>(candidates);
+        }
+    }
+
+    private void startThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        threads.add(thread);
+        thread.start();
+    }
+
+    // Producer: walks the code space task by task; put() blocks while the queue is full
+    private void produce(long setupsCount, long positionsCount) {
+        try {
+            for (long setup = 0; setup < setupsCount && !stopped; setup++) {
+                long setupStart = setup * positionsCount;
+                for (long first = 0; first < positionsCount && !stopped; first += settings.getTaskSize()) {
+                    long count = Math.min(settings.getTaskSize(), positionsCount - first);
+                    queue.put(new DecryptionTask(setupStart + first, count));
+                }
+            }
+
+            // One poison pill per agent so each of them exits after the real tasks
+            for (int i = 0; i < settings.getAgentCount(); i++) {
+                queue.put(DecryptionTask.POISON);
+            }
+        } catch (InterruptedException e) {
+            // Only stop() interrupts the producer, and it interrupts the agents as well
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Consumer: decrypts the positions of each task with a private machine
+    private class Agent {
+        private final Machine machine = new MachineImpl(descriptor);
+        private final Keyboard keyboard = machine.getKeyboard();
+        private final int[] cipher;
+        private final String ciphertext;
+        private final String plugs;
+        private final CandidateListener listener;
+        private final char[] plaintext;
+        private final ConfigurationCursor cursor;
+
+        private Agent(ConfigurationSpace space, int[] cipher, String ciphertext, String plugs, CandidateListener listener) {
+            this.cursor = space.cursor();
+            this.cipher = cipher;
+            this.ciphertext = ciphertext.toUpperCase();
+            this.plugs = plugs;
+            this.listener = listener;
+            this.plaintext = new char[cipher.length];
+        }
+
+        private void run() {
+            try {
+                DecryptionTask task;
+                while ((task = queue.take()) != DecryptionTask.POISON) {
+                    if (!stopped) {
+                        process(task);
+                        tasksDone.increment();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                endNanos = System.nanoTime();
+                agentsDone.countDown();
+            }
+        }
+
+        private void process(DecryptionTask task) {
+            cursor.moveTo(task.getFirstIndex());
+            for (long i = 0; i < task.getCount(); i++) {
+                if (cursor.takeSetupChanged()) {
+                    SearchSupport.configure(machine, cursor.getRotorIds(), cursor.getReflectorId(), plugs);
+                }
+                if (decryptsToKnownWords()) {
+                    DecryptionCandidate candidate = SearchSupport.createCandidate(machine, cursor.getRotorIds(),
+                            cursor.getPositions(), cursor.getReflectorId(), new String(plaintext));
+                    candidates.add(candidate);
+                    candidatesFound.increment();
+                    if (listener != null) {
+                        listener.onCandidate(candidate);
+                    }
+                }
+                cursor.next();
+            }
+            configurationsChecked.add(task.getCount());
+        }
+
+        // Decrypts into the plaintext buffer, checking every word as soon as it is complete
+        private boolean decryptsToKnownWords() {
+            machine.setRotorPositions(cursor.getPositions());
+            int wordStart = 0;
+            for (int i = 0; i < cipher.length; i++) {
+                char c = cipher[i] < 0 ? ciphertext.charAt(i) : keyboard.toChar(machine.convertIndex(cipher[i]));
+                plaintext[i] = c;
+                if (c == WORD_SEPARATOR) {
+                    if (i > wordStart && !dictionary.contains(plaintext, wordStart, i - wordStart)) {
+                        return false;
+                    }
+                    wordStart = i + 1;
+                }
+            }
+            return cipher.length == wordStart || dictionary.contains(plaintext, wordStart, cipher.length - wordStart);
+        }
+    }
+}
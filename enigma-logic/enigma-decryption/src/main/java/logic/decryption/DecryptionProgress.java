@@ -0,0 +1,63 @@
+package logic.decryption;
+
+/**
+ * Snapshot of a running (or finished) DecryptionManager.
+ */
+public class DecryptionProgress {
+    private final long tasksTotal;
+    private final long tasksDone;
+    private final long candidatesFound;
+    private final long configurationsChecked;
+    private final long elapsedMillis;
+    private final boolean finished;
+
+    public DecryptionProgress(long tasksTotal, long tasksDone, long candidatesFound,
+                              long configurationsChecked, long elapsedMillis, boolean finished) {
+        this.tasksTotal = tasksTotal;
+        this.tasksDone = tasksDone;
+        this.candidatesFound = candidatesFound;
+        this.configurationsChecked = configurationsChecked;
+        this.elapsedMillis = elapsedMillis;
+        this.finished = finished;
+    }
+
+    public long getTasksTotal() {
+        return tasksTotal;
+    }
+
+    public long getTasksDone() {
+        return tasksDone;
+    }
+
+    public long getCandidatesFound() {
+        return candidatesFound;
+    }
+
+    public long getConfigurationsChecked() {
+        return configurationsChecked;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    // Share of the tasks that are done (0..1)
+    public double getFraction() {
+        return tasksTotal == 0 ? 1.0 : (double) tasksDone / tasksTotal;
+    }
+
+    // Estimated time left, extrapolated from the average task time so far (-1 until the first task is done)
+    public long getEtaMillis() {
+        if (finished) {
+            return 0;
+        }
+        if (tasksDone == 0) {
+            return -1;
+        }
+        return elapsedMillis * (tasksTotal - tasksDone) / tasksDone;
+    }
+}
@@ -0,0 +1,37 @@
+package logic.decryption;
+
+/**
+ * Tuning knobs of a DecryptionManager run.
+ */
+public class DecryptionSettings {
+    private final long taskSize;       // Starting positions per task
+    private final int agentCount;      // Agent (consumer) threads
+    private final int queueCapacity;   // Tasks waiting in the queue before the producer blocks
+
+    public DecryptionSettings(long taskSize, int agentCount, int queueCapacity) {
+        if (taskSize < 1 || agentCount < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Task size, agent count and queue capacity must all be positive");
+        }
+        this.taskSize = taskSize;
+        this.agentCount = agentCount;
+        this.queueCapacity = queueCapacity;
+    }
+
+    // 1000 positions per task, one agent per core, and a few tasks queued per agent
+    public static DecryptionSettings defaults() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        return new DecryptionSettings(1000, cores, cores * 4);
+    }
+
+    public long getTaskSize() {
+        return taskSize;
+    }
+
+    public int getAgentCount() {
+        return agentCount;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+}
@@ -0,0 +1,27 @@
+package logic.decryption;
+
+/**
+ * One unit of agent work: a contiguous range of starting positions for a fixed rotor order and reflector,
+ * expressed as indices of the run's ConfigurationSpace (a task never crosses into another rotor order or reflector).
+ */
+class DecryptionTask {
+
+    // Tells an agent that no more tasks will come
+    static final DecryptionTask POISON = new DecryptionTask(-1, 0);
+
+    private final long firstIndex;
+    private final long count;
+
+    DecryptionTask(long firstIndex, long count) {
+        this.firstIndex = firstIndex;
+        this.count = count;
+    }
+
+    long getFirstIndex() {
+        return firstIndex;
+    }
+
+    long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,27 @@
+package logic.decryption;
+
+/**
+ * A candidate of a scored (ciphertext-only) search with its score; higher is better.
+ */
+public class ScoredCandidate {
+    private final DecryptionCandidate candidate;
+    private final double score;
+
+    public ScoredCandidate(DecryptionCandidate candidate, double score) {
+        this.candidate = candidate;
+        this.score = score;
+    }
+
+    public DecryptionCandidate getCandidate() {
+        return candidate;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return candidate + " (" + score + ")";
+    }
+}
@@ -0,0 +1,189 @@
+package logic.decryption;
+
+import logic.decryption.scoring.TextScorer;
+import logic.decryption.space.ConfigurationCursor;
+import logic.decryption.space.ConfigurationSpace;
+import logic.decryption.topk.GlobalTopK;
+import logic.decryption.topk.TopKHeap;
+import logic.decryption.topk.TopKSnapshot;
+import logic.loader.dto.MachineDescriptor;
+import logic.machine.Machine;
+import logic.machine.MachineImpl;
+import logic.machine.components.Keyboard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Ciphertext-only search: decrypts the message with every configuration of the space and keeps the k best
+ * by a TextScorer (e.g. IndexOfCoincidence). Every thread collects into its own TopKHeap and merges it into
+ * a shared GlobalTopK after each chunk, so the threads never contend on a shared list and the current best
+ * can be read (getTop) at any time while the search runs.
+ * A search object runs one search: once cancelled (even before search is called) it stays cancelled.
+ */
+public class ScoredSearch {
+
+    // Number of configurations a worker claims (and scores before merging) at once
+    private static final int CHUNK_SIZE = 4096;
+
+    private final MachineDescriptor descriptor;
+    private final int threads;
+    private final int k;
+    private final Supplier<TextScorer> scorers;     // One scorer per thread (scorers may hold buffers)
+
+    private final LongAdder configurationsChecked = new LongAdder();
+    private volatile GlobalTopK top;
+    private volatile boolean cancelled;
+
+    public ScoredSearch(MachineDescriptor descriptor, int threads, int k, Supplier<TextScorer> scorers) {
+        this.descriptor = descriptor;
+        this.threads = Math.max(1, threads);
+        this.k = k;
+        this.scorers = scorers;
+        this.top = new GlobalTopK(k);
+    }
+
+    // Runs the search and blocks until it is finished or cancelled. A null rotor list / reflector means "try them all"
+    public TopKSnapshot search(String ciphertext, List<Integer> rotorIDs, String reflectorId, String plugs)
+            throws InterruptedException {
+        configurationsChecked.reset();
+        top = new GlobalTopK(k);
+
+        ConfigurationSpace space = ConfigurationSpace.of(descriptor, rotorIDs, reflectorId);
+        Keyboard keyboard = new MachineImpl(descriptor).getKeyboard();
+        // Letters outside the keyboard pass through the machine without stepping, so they are left out here
+        int[] letters = Arrays.stream(SearchSupport.toIndicesOrPassThrough(keyboard, ciphertext)).filter(c -> c >= 0).toArray();
+        String plugboard = plugs == null ? "" : plugs;
+
+        AtomicLong nextIndex = new AtomicLong();
+        List<Callable<Void>> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(() -> {
+                new Worker(space, letters, plugboard, nextIndex).run();
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "enigma-scored-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (Future<Void> future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            cancelled = true;
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return top.snapshot();
+    }
+
+    // Stops a running search; workers finish their current chunk and exit
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long getConfigurationsChecked() {
+        return configurationsChecked.sum();
+    }
+
+    // Current best k (live while the search runs, never blocks)
+    public TopKSnapshot getTop() {
+        return top.snapshot();
+    }
+
+    // Rebuilds the codes and plaintexts of a snapshot's entries
+    public List<ScoredCandidate> describe(TopKSnapshot snapshot, String ciphertext, List<Integer> rotorIDs,
+                                          String reflectorId, String plugs) {
+        ConfigurationSpace space = ConfigurationSpace.of(descriptor, rotorIDs, reflectorId);
+        Machine machine = new MachineImpl(descriptor);
+        int[] cipher = SearchSupport.toIndicesOrPassThrough(machine.getKeyboard(), ciphertext);
+        ConfigurationCursor cursor = space.cursor();
+
+        List<ScoredCandidate> candidates = new ArrayList<>(snapshot.size());
+        for (int rank = 0; rank < snapshot.size(); rank++) {
+            cursor.moveTo(snapshot.getIndex(rank));
+            SearchSupport.configure(machine, cursor.getRotorIds(), cursor.getReflectorId(), plugs);
+            String plaintext = SearchSupport.decrypt(machine, cursor.getPositions(), cipher, ciphertext);
+            DecryptionCandidate candidate = SearchSupport.createCandidate(machine, cursor.getRotorIds(),
+                    cursor.getPositions(), cursor.getReflectorId(), plaintext);
+            candidates.add(new ScoredCandidate(candidate, snapshot.getScore(rank)));
+        }
+        return candidates;
+    }
+
+    // One search thread with its own machine, scorer, text buffer and heap
+    private class Worker {
+        private final ConfigurationSpace space;
+        private final int[] letters;
+        private final String plugs;
+        private final AtomicLong nextIndex;
+
+        private final Machine machine = new MachineImpl(descriptor);
+        private final TextScorer scorer = scorers.get();
+        private final TopKHeap heap = new TopKHeap(k);
+        private final ConfigurationCursor cursor;
+        private final int[] plaintext;
+
+        private Worker(ConfigurationSpace space, int[] letters, String plugs, AtomicLong nextIndex) {
+            this.space = space;
+            this.letters = letters;
+            this.plugs = plugs;
+            this.nextIndex = nextIndex;
+            this.cursor = space.cursor();
+            this.plaintext = new int[letters.length];
+        }
+
+        private void run() {
+            long size = space.size();
+            GlobalTopK global = top;
+            long start;
+            while (!cancelled && (start = nextIndex.getAndAdd(CHUNK_SIZE)) < size) {
+                long end = Math.min(start + CHUNK_SIZE, size);
+                double threshold = global.threshold();  // Scores at or below it cannot enter the global list
+                cursor.moveTo(start);
+
+                for (long index = start; index < end; index++) {
+                    if (cursor.takeSetupChanged()) {
+                        SearchSupport.configure(machine, cursor.getRotorIds(), cursor.getReflectorId(), plugs);
+                    }
+                    double score = score();
+                    if (score > threshold) {
+                        heap.offer(score, index);
+                    }
+                    cursor.next();
+                }
+                global.merge(heap);
+                configurationsChecked.add(end - start);
+            }
+        }
+
+        private double score() {
+            machine.setRotorPositions(cursor.getPositions());
+            for (int i = 0; i < letters.length; i++) {
+                plaintext[i] = machine.convertIndex(letters[i]);
+            }
+            return scorer.score(plaintext, plaintext.length);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package logic.decryption;
+
+import logic.exceptions.EnigmaException;
+import logic.machine.Machine;
+import logic.machine.components.Keyboard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Helpers shared by the code breakers (logic.decryption and its sub-packages).
+ */
+public final class SearchSupport {
+
+    private SearchSupport() {
+    }
+
+    // Converts text to keyboard indices (upper-cased like Machine.process)
+    public static int[] toIndices(Keyboard keyboard, String text) {
+        String normalized = text == null ? "" : text.toUpperCase();
+        int[] indices = new int[normalized.length()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = keyboard.toIndex(normalized.charAt(i));
+        }
+        return indices;
+    }
+
+    // A crib must be non-empty and lie inside the ciphertext at its offset (both given as keyboard indices)
+    public static void checkCrib(int[] cipher, int[] crib, int cribOffset) {
+        if (crib.length == 0) {
+            throw new EnigmaException(EnigmaException.ErrorCode.DECRYPTION_CRIB_EMPTY);
+        }
+        if (cribOffset < 0 || cribOffset + crib.length > cipher.length) {
+            throw new EnigmaException(EnigmaException.ErrorCode.DECRYPTION_CRIB_OUT_OF_RANGE,
+                    crib.length, cribOffset, cipher.length);
+        }
+    }
+
+    // Configures the machine for a rotor order and reflector; the positions are set separately per candidate
+    public static void configure(Machine machine, int[] rotorOrder, String reflectorId, String plugs) {
+        List<Integer> rotorIDs = new ArrayList<>(rotorOrder.length);
+        List<Character> startPositions = new ArrayList<>(rotorOrder.length);
+        for (int id : rotorOrder) {
+            rotorIDs.add(id);
+            startPositions.add(machine.getKeyboard().toChar(0));
+        }
+        machine.setConfiguration(rotorIDs, startPositions, reflectorId, plugs == null ? "" : plugs);
+    }
+
+    // Like toIndices, but characters outside the keyboard become -1 (Machine.process passes them through unchanged)
+    public static int[] toIndicesOrPassThrough(Keyboard keyboard, String text) {
+        String normalized = text == null ? "" : text.toUpperCase();
+        int[] indices = new int[normalized.length()];
+        for (int i = 0; i < indices.length; i++) {
+            char c = normalized.charAt(i);
+            indices[i] = keyboard.contains(c) ? keyboard.toIndex(c) : -1;
+        }
+        return indices;
+    }
+
+    // Keyboard indices of only the characters that step the machine; the ones outside the keyboard are dropped
+    public static int[] toLetterIndices(Keyboard keyboard, String text) {
+        return Arrays.stream(toIndicesOrPassThrough(keyboard, text)).filter(c -> c >= 0).toArray();
+    }
+
+    // Decrypts the whole message from the given positions; -1 entries are copied from the original text
+    public static String decrypt(Machine machine, int[] positions, int[] cipher, String ciphertext) {
+        Keyboard keyboard = machine.getKeyboard();
+        machine.setRotorPositions(positions);
+        StringBuilder plaintext = new StringBuilder(cipher.length);
+        for (int i = 0; i < cipher.length; i++) {
+            plaintext.append(cipher[i] < 0
+                    ? Character.toUpperCase(ciphertext.charAt(i))
+                    : keyboard.toChar(machine.convertIndex(cipher[i])));
+        }
+        return plaintext.toString();
+    }
+
+    // Builds the reported candidate for the given code and its plaintext
+    public static DecryptionCandidate createCandidate(Machine machine, int[] rotorOrder, int[] positions,
+                                               String reflectorId, String plaintext) {
+        Keyboard keyboard = machine.getKeyboard();
+        List<Integer> rotorIDs = new ArrayList<>(rotorOrder.length);
+        List<Character> startPositions = new ArrayList<>(rotorOrder.length);
+        for (int i = 0; i < rotorOrder.length; i++) {
+            rotorIDs.add(rotorOrder[i]);
+            startPositions.add(keyboard.toChar(positions[i]));
+        }
+
+        String code = machine.formatConfiguration(rotorIDs, startPositions, reflectorId);
+        return new DecryptionCandidate(rotorIDs, startPositions, reflectorId, code, plaintext);
+    }
+}
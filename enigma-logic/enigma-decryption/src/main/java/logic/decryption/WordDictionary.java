@@ -0,0 +1,90 @@
+package logic.decryption;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Set of known (upper-case) words used to accept or reject a candidate plaintext.
+ * Words are kept in an open-addressing table so a word can be looked up straight from a char buffer
+ * without creating a String per lookup.
+ */
+public class WordDictionary {
+
+    private final String[] table;
+    private final int mask;
+    private final int size;
+
+    public WordDictionary(Collection<String> words) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String word : words) {
+            String trimmed = word.trim();
+            if (!trimmed.isEmpty()) {
+                unique.add(trimmed.toUpperCase());
+            }
+        }
+
+        // Power-of-two capacity with a load factor of at most 0.5
+        int capacity = Integer.highestOneBit(Math.max(2, unique.size()) * 2 - 1) << 1;
+        this.table = new String[capacity];
+        this.mask = capacity - 1;
+        this.size = unique.size();
+        for (String word : unique) {
+            int slot = word.hashCode() & mask;
+            while (table[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = word;
+        }
+    }
+
+    // Builds a dictionary from a whitespace separated text (e.g. the dictionary section of a machine file)
+    public static WordDictionary fromText(String text) {
+        return new WordDictionary(Arrays.asList(text.trim().isEmpty() ? new String[0] : text.trim().split("\\s+")));
+    }
+
+    // Loads a dictionary file with words separated by whitespace
+    public static WordDictionary load(Path path) throws IOException {
+        return fromText(Files.readString(path, StandardCharsets.UTF_8));
+    }
+
+    // True if buffer[from, from + length) is a dictionary word
+    public boolean contains(char[] buffer, int from, int length) {
+        int hash = 0;
+        for (int i = from; i < from + length; i++) {
+            hash = 31 * hash + buffer[i]; // Same hash as String.hashCode
+        }
+
+        int slot = hash & mask;
+        String word;
+        while ((word = table[slot]) != null) {
+            if (word.length() == length && regionEquals(word, buffer, from)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean contains(String word) {
+        return contains(word.toCharArray(), 0, word.length());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static boolean regionEquals(String word, char[] buffer, int from) {
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) != buffer[from + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
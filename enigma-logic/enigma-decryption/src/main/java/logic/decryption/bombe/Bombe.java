@@ -0,0 +1,311 @@
+package logic.decryption.bombe;
+
+import logic.decryption.CribSearchRequest;
+import logic.decryption.SearchSupport;
+import logic.decryption.space.ConfigurationCursor;
+import logic.decryption.space.ConfigurationSpace;
+import logic.loader.dto.MachineDescriptor;
+import logic.machine.Machine;
+import logic.machine.MachineImpl;
+import logic.machine.components.Keyboard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Turing-Welchman style bombe: tests rotor settings against a crib menu without trial decryption.
+ * For each setting it takes the scrambler permutations of the crib offsets from the machine's own rotor and
+ * reflector tables, hypothesises a plug for the menu's test letter and spreads the consequences along the menu
+ * edges and the diagonal board (S(a) = b implies S(b) = a). A letter forced onto two different plugs is a
+ * contradiction; every test-letter plug reached by a contradicting hypothesis is ruled out at once (they are
+ * all in the same closure), tracked in a bitset. A setting with a surviving hypothesis is reported as a stop.
+ * The configuration space is split into chunks pulled by one worker per core, each with its own machine copy.
+ * The plugs of the request are ignored: the bombe deduces them. Ciphertext characters outside the keyboard do not
+ * step the machine, so the menu is built from the keyboard letters only (the crib offset counts those letters).
+ * A bombe runs once: a cancel that arrives before run is called is kept.
+ */
+public class Bombe {
+
+    // Number of configurations a worker claims at once
+    private static final int CHUNK_SIZE = 1024;
+
+    private final MachineDescriptor descriptor;
+    private final int threads;
+
+    private final LongAdder configurationsChecked = new LongAdder();
+    private volatile boolean cancelled;
+
+    public Bombe(MachineDescriptor descriptor, int threads) {
+        this.descriptor = descriptor;
+        this.threads = Math.max(1, threads);
+    }
+
+    public Bombe(MachineDescriptor descriptor) {
+        this(descriptor, Runtime.getRuntime().availableProcessors());
+    }
+
+    // Runs the bombe over the space selected by the request and blocks until done; stops also go to the listener
+    public BombeResult run(CribSearchRequest request, Consumer<BombeStop> listener) throws InterruptedException {
+        configurationsChecked.reset();
+        long startTime = System.nanoTime();
+
+        Keyboard keyboard = new MachineImpl(descriptor).getKeyboard();
+        int[] cipher = SearchSupport.toLetterIndices(keyboard, request.getCiphertext());
+        int[] crib = SearchSupport.toIndices(keyboard, request.getCrib());
+        int cribOffset = request.getCribOffset();
+        SearchSupport.checkCrib(cipher, crib, cribOffset);
+
+        BombeMenu menu = BombeMenu.build(keyboard, cipher, crib, cribOffset);
+        ConfigurationSpace space = ConfigurationSpace.of(descriptor, request.getRotorIDs(), request.getReflectorId());
+        List<BombeStop> stops = Collections.synchronizedList(new ArrayList<>());
+        Consumer<BombeStop> collector = stop -> {
+            stops.add(stop);
+            if (listener != null) {
+                listener.accept(stop);
+            }
+        };
+
+        if (!cancelled && menu.isPossible()) {
+            runWorkers(menu, space, collector);
+        }
+        return new BombeResult(menu, new ArrayList<>(stops), configurationsChecked.sum(),
+                System.nanoTime() - startTime, cancelled);
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public long getConfigurationsChecked() {
+        return configurationsChecked.sum();
+    }
+
+    private void runWorkers(BombeMenu menu, ConfigurationSpace space, Consumer<BombeStop> collector)
+            throws InterruptedException {
+        AtomicLong nextIndex = new AtomicLong();
+        List<Callable<Void>> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(() -> {
+                new Worker(menu, space, collector).run(nextIndex);
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "enigma-bombe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (Future<Void> future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            cancelled = true;
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // One bombe thread: machine copy, cursor and all propagation scratch space (nothing allocated per setting)
+    private class Worker {
+        private final BombeMenu menu;
+        private final ConfigurationSpace space;
+        private final Consumer<BombeStop> collector;
+        private final Machine machine;
+        private final ConfigurationCursor cursor;
+
+        private final int alphabetSize;
+        private final int testLetter;
+        private final int[] edgeFrom;
+        private final int[] edgeTo;
+        private final int[] edgeOffset;
+        private final int[][] adjacency;
+
+        private final int[][] permutations;   // Scrambler permutation at each crib offset
+        private final int[] plugOf;           // Plug currently forced on each letter, -1 if none
+        private final int[] touched;          // Letters whose plugOf must be reset after a hypothesis
+        private int touchedCount;
+        private final int[] pending;          // Work stack of (letter, plug) pairs
+        private final long[] remaining;       // Test-letter plugs not ruled out yet
+        private final long[] reached;         // Test-letter plugs reached by the current hypothesis
+
+        private Worker(BombeMenu menu, ConfigurationSpace space, Consumer<BombeStop> collector) {
+            this.menu = menu;
+            this.space = space;
+            this.collector = collector;
+            this.machine = new MachineImpl(descriptor);
+            this.cursor = space.cursor();
+
+            this.alphabetSize = space.getAlphabetSize();
+            this.testLetter = menu.getTestLetter();
+            this.edgeFrom = menu.getEdgeFrom();
+            this.edgeTo = menu.getEdgeTo();
+            this.edgeOffset = menu.getEdgeOffset();
+            this.adjacency = menu.getAdjacency();
+
+            this.permutations = new int[menu.getCribLength()][alphabetSize];
+            this.plugOf = new int[alphabetSize];
+            Arrays.fill(plugOf, -1);
+            this.touched = new int[alphabetSize];
+            this.pending = new int[2 * (alphabetSize + 2 * edgeFrom.length + 1)];
+            this.remaining = new long[(alphabetSize + 63) / 64];
+            this.reached = new long[remaining.length];
+        }
+
+        private void run(AtomicLong nextIndex) {
+            long size = space.size();
+            long start;
+            while (!cancelled && (start = nextIndex.getAndAdd(CHUNK_SIZE)) < size) {
+                long end = Math.min(start + CHUNK_SIZE, size);
+                cursor.moveTo(start);
+                for (long index = start; index < end; index++) {
+                    if (cursor.takeSetupChanged()) {
+                        SearchSupport.configure(machine, cursor.getRotorIds(), cursor.getReflectorId(), "");
+                    }
+                    testSetting();
+                    cursor.next();
+                }
+                configurationsChecked.add(end - start);
+            }
+        }
+
+        // Loads the scrambler permutations of the crib offsets and tries every plug of the test letter
+        private void testSetting() {
+            machine.setRotorPositions(cursor.getPositions());
+            for (int t = 0; t < menu.getCribOffset(); t++) {
+                machine.advanceRotors();
+            }
+            for (int[] permutation : permutations) {
+                machine.advanceRotors();
+                machine.fillScramblerPermutation(permutation);
+            }
+
+            setAll(remaining);
+            for (int plug = nextSetBit(remaining, 0); plug >= 0; plug = nextSetBit(remaining, plug + 1)) {
+                clear(reached);
+                boolean consistent = propagate(plug);
+                if (consistent) {
+                    collector.accept(createStop(plug));
+                }
+                andNot(remaining, reached);
+                resetPlugs();
+            }
+        }
+
+        // Spreads S(testLetter) = plug; false as soon as some letter is forced onto two plugs
+        private boolean propagate(int plug) {
+            int top = 0;
+            pending[top++] = testLetter;
+            pending[top++] = plug;
+
+            while (top > 0) {
+                int value = pending[--top];
+                int letter = pending[--top];
+                if (letter == testLetter) {
+                    reached[value >>> 6] |= 1L << value;
+                }
+
+                int current = plugOf[letter];
+                if (current == value) {
+                    continue;
+                }
+                if (current != -1) {
+                    return false;
+                }
+                plugOf[letter] = value;
+                touched[touchedCount++] = letter;
+
+                // Diagonal board: plugs are symmetric
+                pending[top++] = value;
+                pending[top++] = letter;
+
+                // Menu edges: S(other) = permutation(offset)[S(letter)]
+                for (int e : adjacency[letter]) {
+                    int other = edgeFrom[e] == letter ? edgeTo[e] : edgeFrom[e];
+                    pending[top++] = other;
+                    pending[top++] = permutations[edgeOffset[e]][value];
+                }
+            }
+            return true;
+        }
+
+        private void resetPlugs() {
+            for (int i = 0; i < touchedCount; i++) {
+                plugOf[touched[i]] = -1;
+            }
+            touchedCount = 0;
+        }
+
+        private BombeStop createStop(int plug) {
+            Keyboard keyboard = machine.getKeyboard();
+            int[] rotorIds = cursor.getRotorIds();
+            int[] positions = cursor.getPositions();
+            List<Integer> rotorIDs = new ArrayList<>(rotorIds.length);
+            List<Character> startPositions = new ArrayList<>(rotorIds.length);
+            for (int i = 0; i < rotorIds.length; i++) {
+                rotorIDs.add(rotorIds[i]);
+                startPositions.add(keyboard.toChar(positions[i]));
+            }
+
+            StringBuilder plugs = new StringBuilder();
+            for (int letter = 0; letter < alphabetSize; letter++) {
+                if (plugOf[letter] > letter) {
+                    plugs.append(keyboard.toChar(letter)).append(keyboard.toChar(plugOf[letter]));
+                }
+            }
+            String code = machine.formatConfiguration(rotorIDs, startPositions, cursor.getReflectorId());
+            return new BombeStop(rotorIDs, startPositions, cursor.getReflectorId(), code,
+                    keyboard.toChar(testLetter), keyboard.toChar(plug), plugs.toString());
+        }
+
+        private void setAll(long[] bits) {
+            Arrays.fill(bits, -1L);
+            int extra = bits.length * 64 - alphabetSize;
+            if (extra > 0) {
+                bits[bits.length - 1] >>>= extra;
+            }
+        }
+
+        private void clear(long[] bits) {
+            Arrays.fill(bits, 0L);
+        }
+
+        private void andNot(long[] bits, long[] mask) {
+            for (int i = 0; i < bits.length; i++) {
+                bits[i] &= ~mask[i];
+            }
+        }
+
+        private int nextSetBit(long[] bits, int from) {
+            int word = from >>> 6;
+            if (word >= bits.length) {
+                return -1;
+            }
+            long current = bits[word] & (-1L << from);
+            while (true) {
+                if (current != 0) {
+                    return word * 64 + Long.numberOfTrailingZeros(current);
+                }
+                if (++word == bits.length) {
+                    return -1;
+                }
+                current = bits[word];
+            }
+        }
+    }
+}
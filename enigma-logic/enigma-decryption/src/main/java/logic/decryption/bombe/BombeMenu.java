@@ -0,0 +1,169 @@
+package logic.decryption.bombe;
+
+import logic.machine.components.Keyboard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The menu of a crib: a graph whose nodes are letters and whose edges link the plaintext and ciphertext
+ * letter at each crib offset. Every edge says "S(cipher) = scrambler(offset)[S(plain)]" for the unknown
+ * plugboard S, so a hypothesis for one letter's plug spreads along the edges; loops are what make a
+ * wrong hypothesis contradict itself.
+ */
+public class BombeMenu {
+
+    private final Keyboard keyboard;
+    private final int alphabetSize;
+    private final int cribOffset;
+
+    // Edge e links edgeFrom[e] and edgeTo[e] at crib position edgeOffset[e] (0-based within the crib)
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final int[] edgeOffset;
+
+    // adjacency[letter] = ids of the edges touching that letter
+    private final int[][] adjacency;
+
+    private final int testLetter;        // Most connected letter, the one whose plug is hypothesised
+    private final boolean possible;      // False if the crib maps a letter to itself (an Enigma never does)
+    private final List<String> loops;
+
+    private BombeMenu(Keyboard keyboard, int[] cipher, int[] crib, int cribOffset) {
+        this.keyboard = keyboard;
+        this.alphabetSize = keyboard.size();
+        this.cribOffset = cribOffset;
+
+        int edges = crib.length;
+        this.edgeFrom = new int[edges];
+        this.edgeTo = new int[edges];
+        this.edgeOffset = new int[edges];
+        int[] degree = new int[alphabetSize];
+        boolean selfEncrypted = false;
+        for (int e = 0; e < edges; e++) {
+            edgeFrom[e] = crib[e];
+            edgeTo[e] = cipher[cribOffset + e];
+            edgeOffset[e] = e;
+            selfEncrypted |= edgeFrom[e] == edgeTo[e];
+            degree[edgeFrom[e]]++;
+            degree[edgeTo[e]]++;
+        }
+        this.possible = !selfEncrypted;
+
+        this.adjacency = new int[alphabetSize][];
+        int[] fill = new int[alphabetSize];
+        int best = crib.length > 0 ? crib[0] : 0;
+        for (int letter = 0; letter < alphabetSize; letter++) {
+            adjacency[letter] = new int[degree[letter]];
+            if (degree[letter] > degree[best]) {
+                best = letter;
+            }
+        }
+        for (int e = 0; e < edges; e++) {
+            adjacency[edgeFrom[e]][fill[edgeFrom[e]]++] = e;
+            adjacency[edgeTo[e]][fill[edgeTo[e]]++] = e;
+        }
+        this.testLetter = best;
+        this.loops = findLoops();
+    }
+
+    // Builds the menu of a crib placed at cribOffset of the ciphertext (both as keyboard indices)
+    public static BombeMenu build(Keyboard keyboard, int[] cipher, int[] crib, int cribOffset) {
+        return new BombeMenu(keyboard, cipher, crib, cribOffset);
+    }
+
+    // One loop per edge that closes a cycle in a DFS spanning forest (a cycle basis of the menu)
+    private List<String> findLoops() {
+        List<String> found = new ArrayList<>();
+        int[] parentEdge = new int[alphabetSize];
+        int[] parent = new int[alphabetSize];
+        int[] depth = new int[alphabetSize];
+        boolean[] visited = new boolean[alphabetSize];
+        boolean[] treeEdge = new boolean[edgeFrom.length];
+
+        for (int root = 0; root < alphabetSize; root++) {
+            if (visited[root] || adjacency[root].length == 0) {
+                continue;
+            }
+            List<Integer> stack = new ArrayList<>();
+            stack.add(root);
+            visited[root] = true;
+            parent[root] = -1;
+            parentEdge[root] = -1;
+            while (!stack.isEmpty()) {
+                int letter = stack.remove(stack.size() - 1);
+                for (int e : adjacency[letter]) {
+                    int other = edgeFrom[e] == letter ? edgeTo[e] : edgeFrom[e];
+                    if (!visited[other]) {
+                        visited[other] = true;
+                        treeEdge[e] = true;
+                        parent[other] = letter;
+                        parentEdge[other] = e;
+                        depth[other] = depth[letter] + 1;
+                        stack.add(other);
+                    }
+                }
+            }
+        }
+
+        for (int e = 0; e < edgeFrom.length; e++) {
+            if (!treeEdge[e]) {
+                found.add(describeLoop(edgeFrom[e], edgeTo[e], parent, depth));
+            }
+        }
+        return found;
+    }
+
+    // Letters of the cycle closed by a non-tree edge a-b: the tree paths from a and b up to their common ancestor
+    private String describeLoop(int a, int b, int[] parent, int[] depth) {
+        StringBuilder left = new StringBuilder();
+        StringBuilder right = new StringBuilder();
+        while (a != b) {
+            if (depth[a] >= depth[b]) {
+                left.append(keyboard.toChar(a));
+                a = parent[a];
+            } else {
+                right.insert(0, keyboard.toChar(b));
+                b = parent[b];
+            }
+        }
+        return left.append(keyboard.toChar(a)).append(right).toString();
+    }
+
+    int[] getEdgeFrom() {
+        return edgeFrom;
+    }
+
+    int[] getEdgeTo() {
+        return edgeTo;
+    }
+
+    int[] getEdgeOffset() {
+        return edgeOffset;
+    }
+
+    int[][] getAdjacency() {
+        return adjacency;
+    }
+
+    public int getCribOffset() {
+        return cribOffset;
+    }
+
+    public int getCribLength() {
+        return edgeFrom.length;
+    }
+
+    public int getTestLetter() {
+        return testLetter;
+    }
+
+    public boolean isPossible() {
+        return possible;
+    }
+
+    // Loops of the menu as letter sequences (e.g. "EIR" for E-I-R-E); more loops mean fewer false stops
+    public List<String> getLoops() {
+        return loops;
+    }
+}
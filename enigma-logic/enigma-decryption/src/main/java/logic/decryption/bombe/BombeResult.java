@@ -0,0 +1,47 @@
+package logic.decryption.bombe;
+
+import java.util.List;
+
+/**
+ * Outcome of a bombe run over a configuration space.
+ */
+public class BombeResult {
+    private final BombeMenu menu;
+    private final List<BombeStop> stops;
+    private final long configurationsChecked;
+    private final long elapsedNanos;
+    private final boolean cancelled;
+
+    public BombeResult(BombeMenu menu, List<BombeStop> stops, long configurationsChecked,
+                       long elapsedNanos, boolean cancelled) {
+        this.menu = menu;
+        this.stops = stops;
+        this.configurationsChecked = configurationsChecked;
+        this.elapsedNanos = elapsedNanos;
+        this.cancelled = cancelled;
+    }
+
+    public BombeMenu getMenu() {
+        return menu;
+    }
+
+    public List<BombeStop> getStops() {
+        return stops;
+    }
+
+    public long getConfigurationsChecked() {
+        return configurationsChecked;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public double getConfigurationsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : configurationsChecked * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,61 @@
+package logic.decryption.bombe;
+
+import java.util.List;
+
+/**
+ * A rotor setting the bombe could not rule out, with the plug hypothesis that survived
+ * and the plug pairs it implies (to be confirmed by a trial decryption).
+ */
+public class BombeStop {
+    private final List<Integer> rotorIDs;       // Left to Right
+    private final List<Character> positions;    // Left to Right
+    private final String reflectorId;
+    private final String code;
+    private final char testLetter;
+    private final char testLetterPlug;
+    private final String impliedPlugs;          // Pairs in the machine's plugs format (self-plugged letters left out)
+
+    public BombeStop(List<Integer> rotorIDs, List<Character> positions, String reflectorId, String code,
+                     char testLetter, char testLetterPlug, String impliedPlugs) {
+        this.rotorIDs = rotorIDs;
+        this.positions = positions;
+        this.reflectorId = reflectorId;
+        this.code = code;
+        this.testLetter = testLetter;
+        this.testLetterPlug = testLetterPlug;
+        this.impliedPlugs = impliedPlugs;
+    }
+
+    public List<Integer> getRotorIDs() {
+        return rotorIDs;
+    }
+
+    public List<Character> getPositions() {
+        return positions;
+    }
+
+    public String getReflectorId() {
+        return reflectorId;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public char getTestLetter() {
+        return testLetter;
+    }
+
+    public char getTestLetterPlug() {
+        return testLetterPlug;
+    }
+
+    public String getImpliedPlugs() {
+        return impliedPlugs;
+    }
+
+    @Override
+    public String toString() {
+        return code + " " + testLetter + "=" + testLetterPlug + " plugs: " + impliedPlugs;
+    }
+}
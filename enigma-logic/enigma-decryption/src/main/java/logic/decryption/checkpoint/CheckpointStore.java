@@ -0,0 +1,87 @@
+package logic.decryption.checkpoint;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Where and how often a search saves its SearchCheckpoint.
+ * Saves are time based: a worker calls saveIfDue after every chunk, and only the first one past the interval
+ * actually writes (the others return at once). A checkpoint is a few dozen bytes per finished range, so with the
+ * default 30s interval the cost is far below 1% of the search time.
+ */
+public class CheckpointStore {
+
+    public static final long DEFAULT_INTERVAL_MILLIS = 30_000;
+
+    private final Path path;
+    private final long intervalNanos;
+    private final AtomicLong nextSaveNanos;
+
+    public CheckpointStore(Path path, long intervalMillis) {
+        this.path = path;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.nextSaveNanos = new AtomicLong(System.nanoTime() + intervalNanos);
+    }
+
+    public CheckpointStore(Path path) {
+        this(path, DEFAULT_INTERVAL_MILLIS);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // The saved state of the job with this fingerprint, or null when there is none (or it belongs to another job).
+    // An empty file counts as none, so a freshly created temp file can be used as the store
+    public SearchCheckpoint load(long fingerprint, long spaceSize) throws IOException {
+        if (!Files.exists(path) || Files.size(path) == 0) {
+            return null;
+        }
+        SearchCheckpoint checkpoint = SearchCheckpoint.read(path);
+        if (checkpoint.getFingerprint() != fingerprint || checkpoint.getSpaceSize() != spaceSize) {
+            return null;
+        }
+        return checkpoint;
+    }
+
+    // Saves a snapshot if the interval has passed; returns false when it was not due or another thread is saving
+    public boolean saveIfDue(Supplier<SearchCheckpoint> snapshot) {
+        long now = System.nanoTime();
+        long due = nextSaveNanos.get();
+        if (now - due < 0 || !nextSaveNanos.compareAndSet(due, now + intervalNanos)) {
+            return false;
+        }
+        try {
+            snapshot.get().write(path);
+            return true;
+        } catch (IOException e) {
+            // A failed checkpoint only costs re-work after a crash, so the search itself goes on
+            System.out.println("Warning: Failed to write checkpoint " + path + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Saves unconditionally (end of the search or cancel)
+    public void save(SearchCheckpoint checkpoint) throws IOException {
+        checkpoint.write(path);
+        nextSaveNanos.set(System.nanoTime() + intervalNanos);
+    }
+
+    // 64-bit FNV-1a over the parts that define a job
+    public static long fingerprint(Object... parts) {
+        long hash = 0xcbf29ce484222325L;
+        for (Object part : parts) {
+            byte[] bytes = String.valueOf(part).getBytes(StandardCharsets.UTF_8);
+            for (byte b : bytes) {
+                hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+            }
+            hash = (hash ^ 0x1f) * 0x100000001b3L; // Separator, so ("AB", "C") and ("A", "BC") differ
+        }
+        return hash;
+    }
+}
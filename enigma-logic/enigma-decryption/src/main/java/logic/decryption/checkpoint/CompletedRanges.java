@@ -0,0 +1,69 @@
+package logic.decryption.checkpoint;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Set of finished configuration-index ranges [start, end), kept merged.
+ * Workers finish chunks roughly in order, so the set stays at about one range per thread no matter
+ * how long the search runs. Thread-safe.
+ */
+public class CompletedRanges {
+
+    private final TreeMap<Long, Long> ranges = new TreeMap<>();  // start -> end, disjoint and non-adjacent
+    private long completedCount;
+
+    // Marks [start, end) as done, merging with its neighbours
+    public synchronized void add(long start, long end) {
+        if (start >= end) {
+            return;
+        }
+        Map.Entry<Long, Long> before = ranges.floorEntry(start);
+        if (before != null && before.getValue() >= start) {
+            if (before.getValue() >= end) {
+                return; // Already covered
+            }
+            start = before.getKey();
+            completedCount -= before.getValue() - before.getKey();
+            ranges.remove(before.getKey());
+        }
+        Map.Entry<Long, Long> after;
+        while ((after = ranges.ceilingEntry(start)) != null && after.getKey() <= end) {
+            end = Math.max(end, after.getValue());
+            completedCount -= after.getValue() - after.getKey();
+            ranges.remove(after.getKey());
+        }
+        ranges.put(start, end);
+        completedCount += end - start;
+    }
+
+    // True if every index of [start, end) is already done
+    public synchronized boolean covers(long start, long end) {
+        Map.Entry<Long, Long> range = ranges.floorEntry(start);
+        return range != null && range.getValue() >= end;
+    }
+
+    // Number of finished indices
+    public synchronized long getCompletedCount() {
+        return completedCount;
+    }
+
+    // Flat copy: [start0, end0, start1, end1, ...]
+    public synchronized long[] toArray() {
+        long[] flat = new long[ranges.size() * 2];
+        int i = 0;
+        for (Map.Entry<Long, Long> range : ranges.entrySet()) {
+            flat[i++] = range.getKey();
+            flat[i++] = range.getValue();
+        }
+        return flat;
+    }
+
+    public static CompletedRanges fromArray(long[] flat) {
+        CompletedRanges completed = new CompletedRanges();
+        for (int i = 0; i + 1 < flat.length; i += 2) {
+            completed.add(flat[i], flat[i + 1]);
+        }
+        return completed;
+    }
+}
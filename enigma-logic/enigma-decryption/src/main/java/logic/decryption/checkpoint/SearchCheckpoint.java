@@ -0,0 +1,116 @@
+package logic.decryption.checkpoint;
+
+import logic.exceptions.EnigmaException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * State of a search that is enough to resume it: the finished index ranges and the configuration indices
+ * of the candidates found so far. Stored as a small binary file:
+ *
+ *   int magic, int version, long fingerprint, long spaceSize,
+ *   int rangesCount, rangesCount x (long start, long end),
+ *   int candidatesCount, candidatesCount x long index
+ *
+ * The fingerprint identifies the job (machine wiring, text, crib, restrictions), so a checkpoint of another job
+ * is never resumed by mistake.
+ */
+public class SearchCheckpoint {
+
+    static final int MAGIC = 0x454E4350; // "ENCP"
+    static final int VERSION = 1;
+
+    private final long fingerprint;
+    private final long spaceSize;
+    private final long[] completedRanges;   // [start0, end0, start1, end1, ...]
+    private final long[] candidateIndices;
+
+    public SearchCheckpoint(long fingerprint, long spaceSize, long[] completedRanges, long[] candidateIndices) {
+        this.fingerprint = fingerprint;
+        this.spaceSize = spaceSize;
+        this.completedRanges = completedRanges;
+        this.candidateIndices = candidateIndices;
+    }
+
+    // Writes to a temporary file next to path and renames it over path, so a crash never leaves a torn checkpoint
+    public void write(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(fingerprint);
+                out.writeLong(spaceSize);
+                out.writeInt(completedRanges.length / 2);
+                for (long value : completedRanges) {
+                    out.writeLong(value);
+                }
+                out.writeInt(candidateIndices.length);
+                for (long index : candidateIndices) {
+                    out.writeLong(index);
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public static SearchCheckpoint read(Path path) throws IOException {
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new EnigmaException(EnigmaException.ErrorCode.CHECKPOINT_INVALID_FORMAT, path);
+            }
+            long fingerprint = in.readLong();
+            long spaceSize = in.readLong();
+
+            long[] ranges = new long[checkedCount(in.readInt(), path) * 2];
+            for (int i = 0; i < ranges.length; i++) {
+                ranges[i] = in.readLong();
+            }
+            long[] candidates = new long[checkedCount(in.readInt(), path)];
+            for (int i = 0; i < candidates.length; i++) {
+                candidates[i] = in.readLong();
+            }
+            return new SearchCheckpoint(fingerprint, spaceSize, ranges, candidates);
+        } catch (EOFException e) {
+            throw new EnigmaException(EnigmaException.ErrorCode.CHECKPOINT_INVALID_FORMAT, path);
+        }
+    }
+
+    private static int checkedCount(int count, Path path) {
+        if (count < 0 || count > Integer.MAX_VALUE / 2) {
+            throw new EnigmaException(EnigmaException.ErrorCode.CHECKPOINT_INVALID_FORMAT, path);
+        }
+        return count;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public long getSpaceSize() {
+        return spaceSize;
+    }
+
+    public long[] getCompletedRanges() {
+        return completedRanges;
+    }
+
+    public long[] getCandidateIndices() {
+        return candidateIndices;
+    }
+}
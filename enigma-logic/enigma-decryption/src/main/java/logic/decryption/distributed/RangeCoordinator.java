@@ -0,0 +1,137 @@
+package logic.decryption.distributed;
+
+import logic.decryption.checkpoint.CompletedRanges;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands out the configuration indices of one search as fixed-size ranges to remote workers and tracks them.
+ * Every lease needs its own heartbeats: a lease not heard from within the timeout goes back to the front of
+ * the line and the next worker asking for work gets it, even if its worker is still polling for other ranges.
+ * A late result for a range that was already handed out again is still accepted (the range is simply marked as
+ * done twice).
+ * Thread-safe; times are System.currentTimeMillis values.
+ */
+public class RangeCoordinator {
+
+    private final long size;
+    private final long rangeSize;
+
+    // Guarded by this
+    private long nextStart;
+    private long nextLeaseId = 1;
+    private final ArrayDeque<long[]> reclaimed = new ArrayDeque<>();    // [start, end) taken back from dead workers
+    private final Map<Long, RangeLease> leases = new HashMap<>();
+    private final Map<String, Long> lastSeen = new HashMap<>();         // workerId -> last request of any kind
+    private final CompletedRanges completed = new CompletedRanges();
+
+    public RangeCoordinator(long size, long rangeSize) {
+        if (rangeSize < 1) {
+            throw new IllegalArgumentException("Range size must be positive");
+        }
+        this.size = size;
+        this.rangeSize = rangeSize;
+    }
+
+    // Next range for the worker, or null when every range is done or leased
+    public synchronized RangeLease lease(String workerId) {
+        lastSeen.put(workerId, System.currentTimeMillis());
+        long start;
+        long end;
+        if (!reclaimed.isEmpty()) {
+            long[] range = reclaimed.poll();
+            start = range[0];
+            end = range[1];
+        } else if (nextStart < size) {
+            start = nextStart;
+            end = Math.min(size, start + rangeSize);
+            nextStart = end;
+        } else {
+            return null;
+        }
+        RangeLease lease = new RangeLease(nextLeaseId++, workerId, start, end);
+        leases.put(lease.getId(), lease);
+        return lease;
+    }
+
+    // Marks a leased range as searched; returns false for an unknown lease ID
+    public synchronized boolean complete(long leaseId, long start, long end) {
+        RangeLease lease = leases.remove(leaseId);
+        if (lease != null) {
+            completed.add(lease.getStart(), lease.getEnd());
+            return true;
+        }
+        // Lease was reclaimed meanwhile: the work is still valid
+        if (start >= 0 && start < end && end <= size) {
+            completed.add(start, end);
+            reclaimed.removeIf(range -> completed.covers(range[0], range[1]));
+        }
+        return false;
+    }
+
+    // True if the lease still belongs to the worker (it was not reclaimed or finished); only this keeps a lease alive
+    public synchronized boolean heartbeat(String workerId, long leaseId) {
+        long now = System.currentTimeMillis();
+        lastSeen.put(workerId, now);
+        RangeLease lease = leases.get(leaseId);
+        if (lease == null || !lease.getWorkerId().equals(workerId)) {
+            return false;
+        }
+        lease.setLastHeartbeatMillis(now);
+        return true;
+    }
+
+    // Takes back the leases without a heartbeat for timeoutMillis and returns them
+    public synchronized List<RangeLease> reclaimExpired(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() - timeoutMillis;
+        List<RangeLease> expired = new ArrayList<>();
+        Iterator<RangeLease> iterator = leases.values().iterator();
+        while (iterator.hasNext()) {
+            RangeLease lease = iterator.next();
+            if (lease.getLastHeartbeatMillis() < deadline) {
+                iterator.remove();
+                expired.add(lease);
+                reclaimed.addFirst(new long[]{lease.getStart(), lease.getEnd()});
+            }
+        }
+        lastSeen.values().removeIf(seen -> seen < deadline);
+        return expired;
+    }
+
+    // Drops every outstanding lease and range (the search was cancelled)
+    public synchronized void clear() {
+        leases.clear();
+        reclaimed.clear();
+        nextStart = size;
+    }
+
+    public synchronized boolean isFinished() {
+        return completed.getCompletedCount() >= size;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getRangeSize() {
+        return rangeSize;
+    }
+
+    public long getCompletedCount() {
+        return completed.getCompletedCount();
+    }
+
+    public synchronized int getActiveLeases() {
+        return leases.size();
+    }
+
+    // Workers that sent a heartbeat or asked for work recently (not yet reclaimed)
+    public synchronized int getKnownWorkers() {
+        return lastSeen.size();
+    }
+}
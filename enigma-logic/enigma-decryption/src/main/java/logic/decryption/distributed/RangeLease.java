@@ -0,0 +1,48 @@
+package logic.decryption.distributed;
+
+/**
+ * A range of configuration indices [start, end) handed to one worker, with the time of its last heartbeat.
+ */
+public class RangeLease {
+    private final long id;
+    private final String workerId;
+    private final long start;
+    private final long end;
+    private volatile long lastHeartbeatMillis;  // System.currentTimeMillis of the lease or of its last heartbeat
+
+    public RangeLease(long id, String workerId, long start, long end) {
+        this.id = id;
+        this.workerId = workerId;
+        this.start = start;
+        this.end = end;
+        this.lastHeartbeatMillis = System.currentTimeMillis();
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getWorkerId() {
+        return workerId;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public long getLastHeartbeatMillis() {
+        return lastHeartbeatMillis;
+    }
+
+    void setLastHeartbeatMillis(long lastHeartbeatMillis) {
+        this.lastHeartbeatMillis = lastHeartbeatMillis;
+    }
+
+    public long size() {
+        return end - start;
+    }
+}
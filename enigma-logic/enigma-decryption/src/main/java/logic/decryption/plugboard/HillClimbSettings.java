@@ -0,0 +1,57 @@
+package logic.decryption.plugboard;
+
+/**
+ * Budgets of a plugboard hill-climbing run.
+ * The run stops when all restarts are done or the time budget is used up, whichever comes first.
+ */
+public class HillClimbSettings {
+    private final int restarts;                 // Independent random starting plugboards
+    private final int maxPlugs;                 // Upper bound on connected pairs
+    private final long maxIterationsPerRestart; // Trial plugboards evaluated per restart
+    private final long timeBudgetMillis;        // Wall-clock budget of the whole run
+    private final int threads;
+    private final long seed;                    // Restart i uses seed + i, so runs are reproducible
+
+    public HillClimbSettings(int restarts, int maxPlugs, long maxIterationsPerRestart,
+                             long timeBudgetMillis, int threads, long seed) {
+        if (restarts < 1 || maxPlugs < 0 || maxIterationsPerRestart < 1 || timeBudgetMillis < 1 || threads < 1) {
+            throw new IllegalArgumentException("Hill climbing budgets must be positive");
+        }
+        this.restarts = restarts;
+        this.maxPlugs = maxPlugs;
+        this.maxIterationsPerRestart = maxIterationsPerRestart;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    // 10 plugs like the historical machines, 10 seconds on every core
+    public static HillClimbSettings defaults() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        return new HillClimbSettings(cores * 8, 10, 1_000_000, 10_000, cores, 0);
+    }
+
+    public int getRestarts() {
+        return restarts;
+    }
+
+    public int getMaxPlugs() {
+        return maxPlugs;
+    }
+
+    public long getMaxIterationsPerRestart() {
+        return maxIterationsPerRestart;
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
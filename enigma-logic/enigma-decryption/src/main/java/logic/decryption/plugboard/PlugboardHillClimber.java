@@ -0,0 +1,283 @@
+package logic.decryption.plugboard;
+
+import logic.decryption.scoring.TextScorer;
+import logic.loader.dto.MachineDescriptor;
+import logic.machine.Machine;
+import logic.machine.MachineImpl;
+import logic.machine.components.Keyboard;
+import logic.machine.utils.KeystreamTables;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Recovers plugboard pairs for a known rotor setting by hill climbing on a text-fitness score.
+ * Many independent restarts (each from a random plugboard) run in parallel and share a best-so-far.
+ *
+ * The rotors + reflector permutations do not depend on the plugboard, so they are computed once per message
+ * as KeystreamTables and shared by all threads; a trial plugboard is then evaluated with two table lookups
+ * per letter instead of a machine run. Each thread owns its plugboard arrays, text buffer and scorer.
+ */
+public class PlugboardHillClimber {
+
+    private final MachineDescriptor descriptor;
+    private final HillClimbSettings settings;
+    private final Supplier<TextScorer> scorers;   // One scorer per thread (scorers may hold buffers)
+
+    private final LongAdder trialsEvaluated = new LongAdder();
+    private final AtomicInteger restartsDone = new AtomicInteger();
+    private volatile boolean cancelled;
+
+    // Best-so-far, guarded by this
+    private int[] bestPlugs;
+    private double bestScore = Double.NEGATIVE_INFINITY;
+
+    public PlugboardHillClimber(MachineDescriptor descriptor, HillClimbSettings settings, Supplier<TextScorer> scorers) {
+        this.descriptor = descriptor;
+        this.settings = settings;
+        this.scorers = scorers;
+    }
+
+    // Runs all restarts (or until the time budget ends) and returns the best plugboard found.
+    // rotorIDs and positions are Left to Right, like Machine.setConfiguration
+    public PlugboardSolution search(String ciphertext, List<Integer> rotorIDs, List<Character> positions,
+                                    String reflectorId) throws InterruptedException {
+        reset();
+        Machine machine = new MachineImpl(descriptor);
+        machine.setConfiguration(rotorIDs, positions, reflectorId, "");
+        Keyboard keyboard = machine.getKeyboard();
+
+        // Letters outside the keyboard pass through the machine without stepping, so they are left out here
+        String normalized = ciphertext.toUpperCase();
+        int[] cipher = normalized.chars().filter(c -> keyboard.contains((char) c)).map(c -> keyboard.toIndex((char) c)).toArray();
+        KeystreamTables tables = KeystreamTables.compute(machine, cipher.length);
+
+        long deadline = System.nanoTime() + settings.getTimeBudgetMillis() * 1_000_000L;
+        AtomicInteger nextRestart = new AtomicInteger();
+        List<Callable<Void>> workers = new ArrayList<>(settings.getThreads());
+        for (int i = 0; i < settings.getThreads(); i++) {
+            workers.add(() -> {
+                new Climber(tables, cipher, scorers.get(), deadline).run(nextRestart);
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "enigma-hill-climber");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (Future<Void> future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return buildSolution(keyboard, tables, normalized);
+    }
+
+    // Stops the running search; every thread returns after its current trial
+    public void cancel() {
+        cancelled = true;
+    }
+
+    // Score of the best plugboard so far (live)
+    public synchronized double getBestScore() {
+        return bestScore;
+    }
+
+    public long getTrialsEvaluated() {
+        return trialsEvaluated.sum();
+    }
+
+    private synchronized void reset() {
+        cancelled = false;
+        bestPlugs = null;
+        bestScore = Double.NEGATIVE_INFINITY;
+        restartsDone.set(0);
+        trialsEvaluated.reset();
+    }
+
+    // Publishes a restart's result if it beats the shared best
+    private synchronized void offer(int[] plugs, double score) {
+        if (score > bestScore) {
+            bestScore = score;
+            bestPlugs = plugs.clone();
+        }
+    }
+
+    private synchronized PlugboardSolution buildSolution(Keyboard keyboard, KeystreamTables tables, String ciphertext) {
+        int[] plugs = bestPlugs;
+        if (plugs == null) {
+            // Budget ran out before the first restart finished: report the empty plugboard
+            plugs = new int[keyboard.size()];
+            for (int i = 0; i < plugs.length; i++) {
+                plugs[i] = i;
+            }
+        }
+        StringBuilder pairs = new StringBuilder();
+        for (int i = 0; i < plugs.length; i++) {
+            if (plugs[i] > i) {
+                pairs.append(keyboard.toChar(i)).append(keyboard.toChar(plugs[i]));
+            }
+        }
+
+        StringBuilder plaintext = new StringBuilder(ciphertext.length());
+        int offset = 0;
+        for (int i = 0; i < ciphertext.length(); i++) {
+            char c = ciphertext.charAt(i);
+            if (!keyboard.contains(c)) {
+                plaintext.append(c);
+                continue;
+            }
+            plaintext.append(keyboard.toChar(plugs[tables.map(offset++, plugs[keyboard.toIndex(c)])]));
+        }
+        return new PlugboardSolution(pairs.toString(), bestScore, plaintext.toString(),
+                restartsDone.get(), trialsEvaluated.sum());
+    }
+
+    // One thread: claims restarts until they run out or the time is up
+    private class Climber {
+        private final int[] table;
+        private final int alphabetSize;
+        private final int[] cipher;
+        private final TextScorer scorer;
+        private final long deadline;
+
+        private int[] current;
+        private int[] trial;
+        private final int[] plaintext;
+
+        private Climber(KeystreamTables tables, int[] cipher, TextScorer scorer, long deadline) {
+            this.table = tables.getTable();
+            this.alphabetSize = tables.getAlphabetSize();
+            this.cipher = cipher;
+            this.scorer = scorer;
+            this.deadline = deadline;
+            this.current = new int[alphabetSize];
+            this.trial = new int[alphabetSize];
+            this.plaintext = new int[cipher.length];
+        }
+
+        private void run(AtomicInteger nextRestart) {
+            int restart;
+            while (!stopped() && (restart = nextRestart.getAndIncrement()) < settings.getRestarts()) {
+                randomPlugboard(new SplittableRandom(settings.getSeed() + restart));
+                double score = climb();
+                offer(current, score);
+                restartsDone.incrementAndGet();
+            }
+        }
+
+        private boolean stopped() {
+            return cancelled || System.nanoTime() > deadline;
+        }
+
+        // Starts from a random plugboard with up to maxPlugs pairs
+        private void randomPlugboard(SplittableRandom random) {
+            for (int i = 0; i < alphabetSize; i++) {
+                current[i] = i;
+            }
+            int pairs = random.nextInt(Math.min(settings.getMaxPlugs(), alphabetSize / 2) + 1);
+            for (int p = 0; p < pairs; p++) {
+                int a = random.nextInt(alphabetSize);
+                int b = random.nextInt(alphabetSize);
+                if (a != b && current[a] == a && current[b] == b) {
+                    current[a] = b;
+                    current[b] = a;
+                }
+            }
+        }
+
+        // Tries connecting every letter pair (breaking their old connections) and keeps improvements
+        // until a full sweep finds none or a budget runs out
+        private double climb() {
+            double score = evaluate(current);
+            long iterations = 0;
+            boolean improved = true;
+
+            sweeps:
+            while (improved) {
+                improved = false;
+                for (int a = 0; a < alphabetSize; a++) {
+                    if (stopped()) {
+                        break sweeps;
+                    }
+                    for (int b = a + 1; b < alphabetSize; b++) {
+                        if (++iterations > settings.getMaxIterationsPerRestart()) {
+                            break sweeps;
+                        }
+                        if (!buildTrial(a, b)) {
+                            continue;
+                        }
+                        double trialScore = evaluate(trial);
+                        if (trialScore > score) {
+                            int[] swap = current;
+                            current = trial;
+                            trial = swap;
+                            score = trialScore;
+                            improved = true;
+                        }
+                    }
+                }
+            }
+            trialsEvaluated.add(Math.min(iterations, settings.getMaxIterationsPerRestart()));
+            return score;
+        }
+
+        // trial = current with a<->b connected (or disconnected if they already were); false if over maxPlugs
+        private boolean buildTrial(int a, int b) {
+            System.arraycopy(current, 0, trial, 0, alphabetSize);
+            boolean wereConnected = trial[a] == b;
+            disconnect(a);
+            disconnect(b);
+            if (!wereConnected) {
+                trial[a] = b;
+                trial[b] = a;
+            }
+            return pairsCount(trial) <= settings.getMaxPlugs();
+        }
+
+        private void disconnect(int letter) {
+            int partner = trial[letter];
+            trial[partner] = partner;
+            trial[letter] = letter;
+        }
+
+        private int pairsCount(int[] plugs) {
+            int connected = 0;
+            for (int i = 0; i < alphabetSize; i++) {
+                if (plugs[i] != i) {
+                    connected++;
+                }
+            }
+            return connected / 2;
+        }
+
+        // Decrypts the whole message with the given plugboard and scores it
+        private double evaluate(int[] plugs) {
+            int[] keystream = table;
+            int size = alphabetSize;
+            for (int t = 0; t < cipher.length; t++) {
+                plaintext[t] = plugs[keystream[t * size + plugs[cipher[t]]]];
+            }
+            return scorer.score(plaintext, plaintext.length);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package logic.decryption.plugboard;
+
+/**
+ * Best plugboard found by a hill-climbing run.
+ */
+public class PlugboardSolution {
+    private final String plugs;       // Pairs in the machine's plugs format, e.g. "AZBY" = A<->Z, B<->Y
+    private final double score;
+    private final String plaintext;
+    private final int restartsDone;
+    private final long trialsEvaluated;
+
+    public PlugboardSolution(String plugs, double score, String plaintext, int restartsDone, long trialsEvaluated) {
+        this.plugs = plugs;
+        this.score = score;
+        this.plaintext = plaintext;
+        this.restartsDone = restartsDone;
+        this.trialsEvaluated = trialsEvaluated;
+    }
+
+    public String getPlugs() {
+        return plugs;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public String getPlaintext() {
+        return plaintext;
+    }
+
+    public int getRestartsDone() {
+        return restartsDone;
+    }
+
+    public long getTrialsEvaluated() {
+        return trialsEvaluated;
+    }
+}
@@ -0,0 +1,34 @@
+package logic.decryption.scoring;
+
+import java.util.Arrays;
+
+/**
+ * Index of coincidence: the probability that two letters drawn from the text are equal.
+ * Natural language scores well above random text (about 0.066 vs 0.038 for English with 26 letters),
+ * and it does not change when letters are relabelled, so it can rank rotor settings before the plugboard is known.
+ * Holds a counts buffer, so an instance must not be shared between threads.
+ */
+public class IndexOfCoincidence implements TextScorer {
+
+    private final int[] counts;
+
+    public IndexOfCoincidence(int alphabetSize) {
+        this.counts = new int[alphabetSize];
+    }
+
+    @Override
+    public double score(int[] text, int length) {
+        if (length < 2) {
+            return 0.0;
+        }
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < length; i++) {
+            counts[text[i]]++;
+        }
+        long sum = 0;
+        for (int count : counts) {
+            sum += (long) count * (count - 1);
+        }
+        return (double) sum / ((long) length * (length - 1));
+    }
+}
@@ -0,0 +1,172 @@
+package logic.decryption.scoring;
+
+import logic.exceptions.EnigmaException;
+import logic.machine.components.Keyboard;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Log-probability table of the n-grams (n = 2, 3 or 4) of a language over a machine's keyboard.
+ * The table is a flat float array indexed by the n-gram's keyboard indices read as base-alphabetSize digits,
+ * so scoring a text is a rolling index update and one array read per letter - no boxing, no allocation.
+ * Unseen n-grams get a floor log-probability instead of minus infinity.
+ * Immutable once built, so one model can be shared by all search threads.
+ */
+public class NGramModel implements TextScorer {
+
+    // Upper bound on table entries (256 MB of floats)
+    private static final long MAX_TABLE_SIZE = 1L << 26;
+
+    private final int order;
+    private final int alphabetSize;
+    private final int prefixSize;      // alphabetSize ^ (order - 1), used to drop the oldest letter
+    private final float[] logProbs;
+
+    private NGramModel(int order, int alphabetSize, long[] counts) {
+        this.order = order;
+        this.alphabetSize = alphabetSize;
+        this.prefixSize = counts.length / alphabetSize;
+        this.logProbs = new float[counts.length];
+
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        double logTotal = Math.log10(Math.max(total, 1));
+        float floor = (float) (Math.log10(0.01) - logTotal);
+        for (int i = 0; i < counts.length; i++) {
+            logProbs[i] = counts[i] > 0 ? (float) (Math.log10(counts[i]) - logTotal) : floor;
+        }
+    }
+
+    // Counts the n-grams of a corpus given as keyboard indices (-1 entries break n-grams, e.g. spaces or digits)
+    public static NGramModel train(int order, int alphabetSize, int[] corpus, int length) {
+        long[] counts = new long[tableSize(order, alphabetSize)];
+        int prefixSize = counts.length / alphabetSize;
+        int index = 0;
+        int run = 0;
+        for (int i = 0; i < length; i++) {
+            int letter = corpus[i];
+            if (letter < 0) {
+                run = 0;
+                index = 0;
+                continue;
+            }
+            index = (index % prefixSize) * alphabetSize + letter;
+            if (++run >= order) {
+                counts[index]++;
+            }
+        }
+        return new NGramModel(order, alphabetSize, counts);
+    }
+
+    // Trains on plain text; characters outside the keyboard (after upper-casing) break n-grams
+    public static NGramModel train(int order, Keyboard keyboard, CharSequence text) {
+        int[] corpus = new int[text.length()];
+        for (int i = 0; i < corpus.length; i++) {
+            char c = Character.toUpperCase(text.charAt(i));
+            corpus[i] = keyboard.contains(c) ? keyboard.toIndex(c) : -1;
+        }
+        return train(order, keyboard.size(), corpus, corpus.length);
+    }
+
+    // Loads published n-gram counts, one "NGRAM COUNT" pair per line (e.g. "TION 13168375").
+    // The n-gram length of the first line sets the order; n-grams with letters outside the keyboard are skipped
+    public static NGramModel load(Keyboard keyboard, Reader source) throws IOException {
+        BufferedReader reader = new BufferedReader(source);
+        long[] counts = null;
+        int order = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            if (parts.length != 2) {
+                throw new EnigmaException(EnigmaException.ErrorCode.DECRYPTION_NGRAM_INVALID_LINE, line);
+            }
+            String gram = parts[0].toUpperCase();
+            if (counts == null) {
+                order = gram.length();
+                counts = new long[tableSize(order, keyboard.size())];
+            }
+            if (gram.length() != order) {
+                throw new EnigmaException(EnigmaException.ErrorCode.DECRYPTION_NGRAM_INVALID_LINE, line);
+            }
+
+            int index = 0;
+            boolean valid = true;
+            for (int i = 0; i < order && valid; i++) {
+                char c = gram.charAt(i);
+                valid = keyboard.contains(c);
+                if (valid) {
+                    index = index * keyboard.size() + keyboard.toIndex(c);
+                }
+            }
+            if (valid) {
+                try {
+                    counts[index] += Long.parseLong(parts[1]);
+                } catch (NumberFormatException e) {
+                    throw new EnigmaException(EnigmaException.ErrorCode.DECRYPTION_NGRAM_INVALID_LINE, line);
+                }
+            }
+        }
+        if (counts == null) {
+            throw new EnigmaException(EnigmaException.ErrorCode.DECRYPTION_NGRAM_INVALID_LINE, "");
+        }
+        return new NGramModel(order, keyboard.size(), counts);
+    }
+
+    private static int tableSize(int order, int alphabetSize) {
+        if (order < 2 || order > 4) {
+            throw new IllegalArgumentException("Only bigram, trigram and quadgram models are supported");
+        }
+        long size = 1;
+        for (int i = 0; i < order; i++) {
+            size *= alphabetSize;
+            if (size > MAX_TABLE_SIZE) {
+                throw new EnigmaException(EnigmaException.ErrorCode.DECRYPTION_NGRAM_TABLE_TOO_LARGE, order, alphabetSize);
+            }
+        }
+        return (int) size;
+    }
+
+    // Sum of the log-probabilities of all n-grams in text[0, length)
+    @Override
+    public double score(int[] text, int length) {
+        if (length < order) {
+            return 0.0;
+        }
+        float[] table = logProbs;
+        int index = 0;
+        for (int i = 0; i < order - 1; i++) {
+            index = index * alphabetSize + text[i];
+        }
+
+        // Add the newest letter, read the table, then subtract the oldest letter (no division in the loop)
+        float sum = 0;
+        for (int i = order - 1; i < length; i++) {
+            index = index * alphabetSize + text[i];
+            sum += table[index];
+            index -= text[i - order + 1] * prefixSize;
+        }
+        return sum;
+    }
+
+    // Log-probability of a single n-gram given as its table index
+    public float logProbability(int ngramIndex) {
+        return logProbs[ngramIndex];
+    }
+
+    public int getOrder() {
+        return order;
+    }
+
+    public int getAlphabetSize() {
+        return alphabetSize;
+    }
+}
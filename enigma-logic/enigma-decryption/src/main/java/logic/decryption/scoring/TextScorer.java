@@ -0,0 +1,12 @@
+package logic.decryption.scoring;
+
+/**
+ * Fitness of a candidate plaintext given as keyboard indices (higher is more language-like).
+ * Implementations must not allocate, so they can run inside the search loops.
+ */
+@FunctionalInterface
+public interface TextScorer {
+
+    // Scores text[0, length)
+    double score(int[] text, int length);
+}
@@ -0,0 +1,85 @@
+package logic.decryption.space;
+
+/**
+ * Mutable position inside a ConfigurationSpace, owned by a single worker.
+ * Walking with next() only touches primitive fields and arrays, so iterating allocates nothing.
+ * The arrays returned by the getters are live views: copy them if they must outlive the next move.
+ */
+public class ConfigurationCursor {
+
+    private final ConfigurationSpace space;
+
+    // Current configuration (written by ConfigurationSpace)
+    final int[] rotorIds;        // Left to Right
+    final int[] positions;       // Left to Right keyboard indices, the rightmost changes fastest
+    int reflectorIndex;
+    long orderRank = -1;         // -1 until the first unrank
+    long index;
+    boolean setupChanged;        // Rotor order or reflector changed since the last takeSetupChanged()
+
+    final boolean[] usedScratch; // Reused by unrank to mark the rotors already picked
+
+    ConfigurationCursor(ConfigurationSpace space) {
+        this.space = space;
+        this.rotorIds = new int[space.getRotorsCount()];
+        this.positions = new int[space.getRotorsCount()];
+        this.usedScratch = new boolean[space.getPoolSize()];
+    }
+
+    // Moves to the configuration with the next index; returns false (without moving) at the end of the space
+    public boolean next() {
+        if (index + 1 >= space.size()) {
+            return false;
+        }
+        index++;
+
+        int alphabetSize = space.getAlphabetSize();
+        for (int i = positions.length - 1; i >= 0; i--) {
+            if (++positions[i] < alphabetSize) {
+                return true;
+            }
+            positions[i] = 0;
+        }
+
+        // Positions wrapped around: move on to the next reflector, then to the next rotor order
+        setupChanged = true;
+        if (++reflectorIndex < space.getReflectorsCount()) {
+            return true;
+        }
+        reflectorIndex = 0;
+        space.unrankRotorOrder(orderRank + 1, this);
+        return true;
+    }
+
+    // Jumps to any index of the space
+    public void moveTo(long newIndex) {
+        space.unrank(newIndex, this);
+    }
+
+    // True once after every change of rotor order or reflector, so workers reconfigure their machine only then
+    public boolean takeSetupChanged() {
+        boolean changed = setupChanged;
+        setupChanged = false;
+        return changed;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public int[] getRotorIds() {
+        return rotorIds;
+    }
+
+    public int[] getPositions() {
+        return positions;
+    }
+
+    public int getReflectorIndex() {
+        return reflectorIndex;
+    }
+
+    public String getReflectorId() {
+        return space.getReflectorId(reflectorIndex);
+    }
+}
@@ -0,0 +1,201 @@
+package logic.decryption.space;
+
+import logic.exceptions.EnigmaException;
+import logic.loader.dto.MachineDescriptor;
+import logic.loader.dto.ReflectorDescriptor;
+import logic.loader.dto.RotorDescriptor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Numbers every code of a machine with a single long: which rotors, in which order, their starting positions
+ * and the reflector. rank and unrank are exact inverses, so a search can be split into contiguous index ranges
+ * and a worker can jump straight to any point of it.
+ *
+ * Index layout (the starting positions change fastest):
+ *   index = (rotorOrderRank * reflectorsCount + reflectorIndex) * alphabetSize^rotorsCount + positionsRank
+ * rotorOrderRank numbers the ordered selections of rotorsCount rotors out of the pool (Lehmer code),
+ * positionsRank reads the positions Left to Right as digits in base alphabetSize.
+ *
+ * Immutable and thread-safe; the mutable side lives in ConfigurationCursor (one per worker).
+ */
+public class ConfigurationSpace {
+
+    private final int[] rotorPool;          // Sorted rotor IDs to choose from
+    private final boolean fixedOrder;       // The pool is used as-is, in this order (a single rotor order)
+    private final String[] reflectorIds;
+    private final int rotorsCount;
+    private final int alphabetSize;
+
+    private final long[] orderWeights;      // orderWeights[i] = P(poolSize - 1 - i, rotorsCount - 1 - i)
+    private final long rotorOrdersCount;
+    private final long positionsCount;      // alphabetSize ^ rotorsCount
+    private final long size;
+
+    private ConfigurationSpace(int[] rotorPool, boolean fixedOrder, String[] reflectorIds,
+                               int rotorsCount, int alphabetSize) {
+        this.rotorPool = rotorPool;
+        this.fixedOrder = fixedOrder;
+        this.reflectorIds = reflectorIds;
+        this.rotorsCount = rotorsCount;
+        this.alphabetSize = alphabetSize;
+
+        try {
+            this.orderWeights = new long[rotorsCount];
+            long weight = 1;
+            for (int i = rotorsCount - 1; i >= 0; i--) {
+                orderWeights[i] = fixedOrder ? 0 : weight;
+                weight = Math.multiplyExact(weight, rotorPool.length - i);
+            }
+            this.rotorOrdersCount = fixedOrder ? 1 : weight;
+
+            long positions = 1;
+            for (int i = 0; i < rotorsCount; i++) {
+                positions = Math.multiplyExact(positions, alphabetSize);
+            }
+            this.positionsCount = positions;
+            this.size = Math.multiplyExact(Math.multiplyExact(rotorOrdersCount, reflectorIds.length), positions);
+        } catch (ArithmeticException e) {
+            throw new EnigmaException(EnigmaException.ErrorCode.DECRYPTION_SPACE_TOO_LARGE);
+        }
+    }
+
+    // Every rotor order and every reflector of the machine
+    public static ConfigurationSpace of(MachineDescriptor descriptor) {
+        return of(descriptor, null, null);
+    }
+
+    // A null rotor list means "every rotor order", a null reflector means "every reflector"
+    public static ConfigurationSpace of(MachineDescriptor descriptor, List<Integer> rotorIDs, String reflectorId) {
+        int alphabetSize = descriptor.getAlphabet().replaceAll("\\s", "").length();
+        String[] reflectorIds = reflectorId != null
+                ? new String[]{reflectorId}
+                : descriptor.getReflectors().stream().map(ReflectorDescriptor::getId).toArray(String[]::new);
+
+        if (rotorIDs != null) {
+            int[] order = rotorIDs.stream().mapToInt(Integer::intValue).toArray();
+            return new ConfigurationSpace(order, true, reflectorIds, order.length, alphabetSize);
+        }
+        int[] pool = descriptor.getRotors().stream().mapToInt(RotorDescriptor::getId).sorted().toArray();
+        return new ConfigurationSpace(pool, false, reflectorIds, descriptor.getRotorsCount(), alphabetSize);
+    }
+
+    // Total number of configurations
+    public long size() {
+        return size;
+    }
+
+    public long getRotorOrdersCount() {
+        return rotorOrdersCount;
+    }
+
+    public long getPositionsCount() {
+        return positionsCount;
+    }
+
+    public int getReflectorsCount() {
+        return reflectorIds.length;
+    }
+
+    public String getReflectorId(int reflectorIndex) {
+        return reflectorIds[reflectorIndex];
+    }
+
+    public int getRotorsCount() {
+        return rotorsCount;
+    }
+
+    public int getAlphabetSize() {
+        return alphabetSize;
+    }
+
+    // A new cursor positioned on index 0
+    public ConfigurationCursor cursor() {
+        ConfigurationCursor cursor = new ConfigurationCursor(this);
+        unrank(0, cursor);
+        return cursor;
+    }
+
+    // Index of a configuration. rotorIds and positions are Left to Right, positions as keyboard indices
+    public long rank(int[] rotorIds, int[] positions, int reflectorIndex) {
+        long orderRank = 0;
+        if (!fixedOrder) {
+            for (int i = 0; i < rotorsCount; i++) {
+                // Lehmer digit: how many still unused pool rotors come before this one
+                int poolIndex = Arrays.binarySearch(rotorPool, rotorIds[i]);
+                int digit = poolIndex;
+                for (int j = 0; j < i; j++) {
+                    if (Arrays.binarySearch(rotorPool, rotorIds[j]) < poolIndex) {
+                        digit--;
+                    }
+                }
+                orderRank += digit * orderWeights[i];
+            }
+        }
+
+        long positionsRank = 0;
+        for (int i = 0; i < rotorsCount; i++) {
+            positionsRank = positionsRank * alphabetSize + positions[i];
+        }
+        return (orderRank * reflectorIds.length + reflectorIndex) * positionsCount + positionsRank;
+    }
+
+    // Moves the cursor to the configuration with the given index (no allocation)
+    public void unrank(long index, ConfigurationCursor cursor) {
+        if (index < 0 || index >= size) {
+            throw new EnigmaException(EnigmaException.ErrorCode.DECRYPTION_INDEX_OUT_OF_RANGE, index, size - 1);
+        }
+        long setup = index / positionsCount;
+        unrankPositions(index % positionsCount, cursor.positions);
+        cursor.index = index;
+
+        // Rotor order and reflector are only rebuilt (and reported as changed) when they really differ
+        int reflectorIndex = (int) (setup % reflectorIds.length);
+        long orderRank = setup / reflectorIds.length;
+        if (orderRank != cursor.orderRank || reflectorIndex != cursor.reflectorIndex) {
+            cursor.reflectorIndex = reflectorIndex;
+            unrankRotorOrder(orderRank, cursor);
+            cursor.setupChanged = true;
+        }
+    }
+
+    // Fills positions (Left to Right) from a positions rank
+    void unrankPositions(long positionsRank, int[] positions) {
+        for (int i = rotorsCount - 1; i >= 0; i--) {
+            positions[i] = (int) (positionsRank % alphabetSize);
+            positionsRank /= alphabetSize;
+        }
+    }
+
+    // Fills the cursor's rotor IDs from a rotor order rank
+    void unrankRotorOrder(long orderRank, ConfigurationCursor cursor) {
+        int[] rotorIds = cursor.rotorIds;
+        cursor.orderRank = orderRank;
+        if (fixedOrder) {
+            System.arraycopy(rotorPool, 0, rotorIds, 0, rotorsCount);
+            return;
+        }
+
+        boolean[] used = cursor.usedScratch;
+        Arrays.fill(used, false);
+        for (int i = 0; i < rotorsCount; i++) {
+            int digit = (int) (orderRank / orderWeights[i]);
+            orderRank %= orderWeights[i];
+
+            // Take the digit-th rotor that is still unused
+            int poolIndex = -1;
+            for (int remaining = digit; remaining >= 0; ) {
+                if (!used[++poolIndex]) {
+                    remaining--;
+                }
+            }
+            used[poolIndex] = true;
+            rotorIds[i] = rotorPool[poolIndex];
+        }
+    }
+
+    int getPoolSize() {
+        return rotorPool.length;
+    }
+}
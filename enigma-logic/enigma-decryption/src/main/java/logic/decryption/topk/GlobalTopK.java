@@ -0,0 +1,83 @@
+package logic.decryption.topk;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Best k (score, configuration index) pairs of a whole search, merged from the threads' TopKHeaps.
+ * The current list is an immutable TopKSnapshot behind an AtomicReference: a merge builds a new list and
+ * publishes it with compareAndSet (retrying if another thread merged meanwhile), so neither merging threads
+ * nor status readers ever block. Threads merge once per chunk, which keeps the copying cost negligible.
+ */
+public class GlobalTopK {
+
+    private final int capacity;
+    private final AtomicReference<TopKSnapshot> current = new AtomicReference<>(TopKSnapshot.EMPTY);
+
+    public GlobalTopK(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Top-K capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    // Merges the heap's entries into the global list and clears the heap
+    public void merge(TopKHeap local) {
+        if (local.size() == 0) {
+            return;
+        }
+        double[] localScores = new double[local.size()];
+        long[] localIndices = new long[local.size()];
+        // Draining the min-heap yields the entries weakest first, so fill from the end
+        for (int i = localScores.length - 1; i >= 0; i--) {
+            localScores[i] = local.scoreAt(0);
+            localIndices[i] = local.indexAt(0);
+            local.removeMin();
+        }
+
+        while (true) {
+            TopKSnapshot before = current.get();
+            if (before.size() == capacity && localScores[0] <= before.lowestScore()) {
+                return; // Nothing in the heap makes it into the list
+            }
+            TopKSnapshot after = mergeSorted(before, localScores, localIndices);
+            if (current.compareAndSet(before, after)) {
+                return;
+            }
+        }
+    }
+
+    // Score a new entry must beat to enter the global list; threads can use it to skip hopeless offers
+    public double threshold() {
+        TopKSnapshot snapshot = current.get();
+        return snapshot.size() < capacity ? Double.NEGATIVE_INFINITY : snapshot.lowestScore();
+    }
+
+    // The current list, best first (never blocks)
+    public TopKSnapshot snapshot() {
+        return current.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // Two-way merge of the published list and the sorted heap entries, keeping the best capacity
+    private TopKSnapshot mergeSorted(TopKSnapshot list, double[] scores, long[] indices) {
+        int size = Math.min(capacity, list.size() + scores.length);
+        double[] mergedScores = new double[size];
+        long[] mergedIndices = new long[size];
+        int a = 0;
+        int b = 0;
+        for (int i = 0; i < size; i++) {
+            boolean takeList = b == scores.length || (a < list.size() && list.getScore(a) >= scores[b]);
+            if (takeList) {
+                mergedScores[i] = list.getScore(a);
+                mergedIndices[i] = list.getIndex(a++);
+            } else {
+                mergedScores[i] = scores[b];
+                mergedIndices[i] = indices[b++];
+            }
+        }
+        return new TopKSnapshot(mergedScores, mergedIndices);
+    }
+}
@@ -0,0 +1,101 @@
+package logic.decryption.topk;
+
+/**
+ * Bounded min-heap of (score, configuration index) pairs kept in two primitive arrays, one per search thread.
+ * The root is the weakest entry kept, so a new pair costs one comparison when it is not good enough
+ * and O(log k) when it replaces the root. Not thread-safe; no allocation after construction.
+ */
+public class TopKHeap {
+
+    private final double[] scores;
+    private final long[] indices;
+    private int size;
+
+    public TopKHeap(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Top-K capacity must be positive");
+        }
+        this.scores = new double[capacity];
+        this.indices = new long[capacity];
+    }
+
+    // Keeps the pair if it is among the best capacity pairs seen since the last clear
+    public boolean offer(double score, long index) {
+        if (size < scores.length) {
+            int i = size++;
+            // Sift up
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= score) {
+                    break;
+                }
+                scores[i] = scores[parent];
+                indices[i] = indices[parent];
+                i = parent;
+            }
+            scores[i] = score;
+            indices[i] = index;
+            return true;
+        }
+        if (score <= scores[0]) {
+            return false;
+        }
+        siftDown(score, index);
+        return true;
+    }
+
+    // Score an entry must beat to get in (negative infinity while the heap is not full)
+    public double threshold() {
+        return size < scores.length ? Double.NEGATIVE_INFINITY : scores[0];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return scores.length;
+    }
+
+    // Entries in heap order (not sorted)
+    public double scoreAt(int i) {
+        return scores[i];
+    }
+
+    public long indexAt(int i) {
+        return indices[i];
+    }
+
+    // Removes the weakest entry (the root, read it first with scoreAt(0) / indexAt(0))
+    public void removeMin() {
+        size--;
+        if (size > 0) {
+            siftDown(scores[size], indices[size]);
+        }
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // Replaces the root and restores the heap order
+    private void siftDown(double score, long index) {
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && scores[right] < scores[child]) {
+                child = right;
+            }
+            if (score <= scores[child]) {
+                break;
+            }
+            scores[i] = scores[child];
+            indices[i] = indices[child];
+            i = child;
+        }
+        scores[i] = score;
+        indices[i] = index;
+    }
+}
@@ -0,0 +1,34 @@
+package logic.decryption.topk;
+
+/**
+ * Immutable top-K list, best score first. Published by GlobalTopK, so it can be read without any locking.
+ */
+public class TopKSnapshot {
+
+    static final TopKSnapshot EMPTY = new TopKSnapshot(new double[0], new long[0]);
+
+    private final double[] scores;
+    private final long[] indices;
+
+    TopKSnapshot(double[] scores, long[] indices) {
+        this.scores = scores;
+        this.indices = indices;
+    }
+
+    public int size() {
+        return scores.length;
+    }
+
+    public double getScore(int rank) {
+        return scores[rank];
+    }
+
+    public long getIndex(int rank) {
+        return indices[rank];
+    }
+
+    // Weakest score in the list
+    double lowestScore() {
+        return scores[scores.length - 1];
+    }
+}
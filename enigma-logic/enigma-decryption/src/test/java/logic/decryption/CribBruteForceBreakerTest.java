@@ -0,0 +1,128 @@
+package logic.decryption;
+
+import logic.decryption.checkpoint.CheckpointStore;
+import logic.loader.dto.MachineDescriptor;
+import logic.loader.dto.RotorDescriptor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checkpoint and resume of the exhaustive crib search: a search cancelled after its first chunk is continued by
+ * a new breaker from the saved checkpoint, and a checkpoint is ignored by a machine that is wired differently.
+ * Also covers a cancel that arrives before the search starts and ciphertext with characters outside the keyboard.
+ */
+class CribBruteForceBreakerTest {
+
+    private static final List<Integer> ROTORS = List.of(1, 2, 3);
+    private static final List<Character> POSITIONS = List.of('A', 'C', 'F');   // Index 57, in the first chunk
+    private static final String REFLECTOR = "I";
+    private static final long SPACE_SIZE = 26L * 26 * 26;
+    private static final long CHUNK_SIZE = 4096;
+
+    private static MachineDescriptor descriptor;
+    private static CribSearchRequest request;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        descriptor = TestMachines.paperEnigma();
+        String plaintext = TestMachines.englishLetters().substring(0, 60);
+        String ciphertext = TestMachines.encrypt(descriptor, ROTORS, POSITIONS, REFLECTOR, "", plaintext);
+        request = new CribSearchRequest(ciphertext, plaintext.substring(0, 8), 0, ROTORS, REFLECTOR, "");
+    }
+
+    @Test
+    void resumesFromTheCheckpointOfACancelledSearch() throws Exception {
+        Set<String> expected = codes(new CribBruteForceBreaker(descriptor, 1).search(request, null));
+        assertTrue(expected.contains(codeOf(POSITIONS)), "the true setting should be found: " + expected);
+
+        CheckpointStore store = new CheckpointStore(tempDir.resolve("search.ckpt"));
+        CribBruteForceBreaker first = new CribBruteForceBreaker(descriptor, 1);
+        CribSearchResult cancelled = first.search(request, candidate -> first.cancel(), store);
+        assertTrue(cancelled.isCancelled());
+        assertEquals(CHUNK_SIZE, cancelled.getConfigurationsChecked());
+
+        // A new breaker (as after a restart) only searches what the first one did not finish
+        CribSearchResult resumed = new CribBruteForceBreaker(descriptor, 1).search(request, null, store);
+        assertEquals(SPACE_SIZE - CHUNK_SIZE, resumed.getConfigurationsChecked());
+        assertEquals(expected, codes(resumed));
+
+        // Once finished, a further run has nothing left to check
+        CribSearchResult finished = new CribBruteForceBreaker(descriptor, 1).search(request, null, store);
+        assertEquals(0, finished.getConfigurationsChecked());
+        assertEquals(expected, codes(finished));
+    }
+
+    @Test
+    void ignoresTheCheckpointOfADifferentlyWiredMachine() throws Exception {
+        CheckpointStore store = new CheckpointStore(tempDir.resolve("search.ckpt"));
+        new CribBruteForceBreaker(descriptor, 1).search(request, null, store);
+
+        // Same name, alphabet and component counts; only one rotor's notch differs
+        List<RotorDescriptor> rotors = new ArrayList<>(descriptor.getRotors());
+        RotorDescriptor rotor = rotors.get(0);
+        rotors.set(0, new RotorDescriptor(rotor.getId(), rotor.getMapping(), (rotor.getNotchPosition() + 1) % 26));
+        MachineDescriptor rewired = new MachineDescriptor(descriptor.getRotorsCount(), rotors,
+                descriptor.getReflectors(), descriptor.getAlphabet(), descriptor.getPlugs());
+        rewired.setName(descriptor.getName());
+
+        CribSearchResult result = new CribBruteForceBreaker(rewired, 1).search(request, null, store);
+        assertEquals(SPACE_SIZE, result.getConfigurationsChecked());
+    }
+
+    @Test
+    void cancelBeforeSearchIsNotLost() throws Exception {
+        CribBruteForceBreaker breaker = new CribBruteForceBreaker(descriptor, 1);
+        breaker.cancel();
+
+        CribSearchResult result = breaker.search(request, null);
+        assertTrue(result.isCancelled());
+        assertEquals(0, result.getConfigurationsChecked());
+        assertTrue(result.getCandidates().isEmpty());
+    }
+
+    @Test
+    void skipsCharactersOutsideTheKeyboard() throws Exception {
+        String letters = TestMachines.englishLetters().substring(0, 60);
+        String plaintext = letters.substring(0, 5) + " " + letters.substring(5, 20) + ", " + letters.substring(20) + ".";
+        String ciphertext = TestMachines.encrypt(descriptor, ROTORS, POSITIONS, REFLECTOR, "", plaintext);
+
+        // The crib starts at the 10th keyboard letter, after the space that is not counted
+        CribSearchRequest punctuated = new CribSearchRequest(ciphertext, letters.substring(10, 18), 10,
+                ROTORS, REFLECTOR, "");
+        CribSearchResult result = new CribBruteForceBreaker(descriptor, 1).search(punctuated, null);
+
+        assertTrue(codes(result).contains(codeOf(POSITIONS)), "the true setting should be found: " + codes(result));
+        for (DecryptionCandidate candidate : result.getCandidates()) {
+            if (codeOf(candidate.getPositions()).equals(codeOf(POSITIONS))) {
+                assertEquals(plaintext, candidate.getPlaintext());
+            }
+        }
+    }
+
+    private static Set<String> codes(CribSearchResult result) {
+        Set<String> codes = new TreeSet<>();
+        for (DecryptionCandidate candidate : result.getCandidates()) {
+            codes.add(codeOf(candidate.getPositions()));
+        }
+        return codes;
+    }
+
+    private static String codeOf(List<Character> positions) {
+        StringBuilder code = new StringBuilder();
+        positions.forEach(code::append);
+        return code.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package logic.decryption;
+
+import logic.decryption.scoring.IndexOfCoincidence;
+import logic.decryption.topk.TopKSnapshot;
+import logic.loader.dto.MachineDescriptor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A cancel that arrives before the ciphertext-only search starts (e.g. right after the job is registered) is kept.
+ */
+class ScoredSearchTest {
+
+    @Test
+    void cancelBeforeSearchIsNotLost() throws Exception {
+        MachineDescriptor descriptor = TestMachines.paperEnigma();
+        String ciphertext = TestMachines.encrypt(descriptor, List.of(1, 2, 3), List.of('A', 'C', 'F'), "I", "",
+                TestMachines.englishLetters().substring(0, 60));
+
+        ScoredSearch search = new ScoredSearch(descriptor, 1, 5, () -> new IndexOfCoincidence(26));
+        search.cancel();
+
+        TopKSnapshot top = search.search(ciphertext, List.of(1, 2, 3), "I", "");
+        assertTrue(search.isCancelled());
+        assertEquals(0, search.getConfigurationsChecked());
+        assertEquals(0, top.size());
+    }
+}
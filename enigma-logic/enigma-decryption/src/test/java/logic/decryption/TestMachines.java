@@ -0,0 +1,52 @@
+package logic.decryption;
+
+import logic.loader.XmlMachineConfigLoader;
+import logic.loader.dto.MachineDescriptor;
+import logic.machine.Machine;
+import logic.machine.MachineImpl;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Machine and sample text shared by the decryption tests: the 26-letter paper Enigma bundled with the loader
+ * (rotors 1-3, reflector I) and an English passage used both as a training corpus and as messages.
+ */
+public final class TestMachines {
+
+    public static final String PAPER_ENIGMA_XML = "ex3/ex3-sanity-paper-enigma.xml";
+
+    public static final String ENGLISH =
+            "IT WAS THE BEST OF TIMES IT WAS THE WORST OF TIMES IT WAS THE AGE OF WISDOM IT WAS THE AGE OF "
+            + "FOOLISHNESS IT WAS THE EPOCH OF BELIEF IT WAS THE EPOCH OF INCREDULITY IT WAS THE SEASON OF LIGHT "
+            + "IT WAS THE SEASON OF DARKNESS IT WAS THE SPRING OF HOPE IT WAS THE WINTER OF DESPAIR WE HAD "
+            + "EVERYTHING BEFORE US WE HAD NOTHING BEFORE US WE WERE ALL GOING DIRECT TO HEAVEN WE WERE ALL GOING "
+            + "DIRECT THE OTHER WAY IN SHORT THE PERIOD WAS SO FAR LIKE THE PRESENT PERIOD THAT SOME OF ITS "
+            + "NOISIEST AUTHORITIES INSISTED ON ITS BEING RECEIVED FOR GOOD OR FOR EVIL IN THE SUPERLATIVE DEGREE "
+            + "OF COMPARISON ONLY THERE WERE A KING WITH A LARGE JAW AND A QUEEN WITH A PLAIN FACE ON THE THRONE "
+            + "OF ENGLAND THERE WERE A KING WITH A LARGE JAW AND A QUEEN WITH A FAIR FACE ON THE THRONE OF "
+            + "FRANCE IN BOTH COUNTRIES IT WAS CLEARER THAN CRYSTAL TO THE LORDS OF THE STATE PRESERVES OF LOAVES "
+            + "AND FISHES THAT THINGS IN GENERAL WERE SETTLED FOR EVER";
+
+    private TestMachines() {
+    }
+
+    public static MachineDescriptor paperEnigma() throws Exception {
+        try (InputStream in = TestMachines.class.getClassLoader().getResourceAsStream(PAPER_ENIGMA_XML)) {
+            return new XmlMachineConfigLoader().loadDescriptor(in);
+        }
+    }
+
+    // The passage with everything but the letters removed
+    public static String englishLetters() {
+        return ENGLISH.replace(" ", "");
+    }
+
+    // Encrypts text on a fresh machine set to the given code (rotors and positions Left to Right)
+    public static String encrypt(MachineDescriptor descriptor, List<Integer> rotorIDs, List<Character> positions,
+                                 String reflectorId, String plugs, String text) {
+        Machine machine = new MachineImpl(descriptor);
+        machine.setConfiguration(rotorIDs, positions, reflectorId, plugs);
+        return machine.process(text);
+    }
+}
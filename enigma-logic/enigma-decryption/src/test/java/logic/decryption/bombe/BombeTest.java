@@ -0,0 +1,72 @@
+package logic.decryption.bombe;
+
+import logic.decryption.CribSearchRequest;
+import logic.decryption.TestMachines;
+import logic.loader.dto.MachineDescriptor;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the bombe over every starting position of a known rotor order with a crib taken from the plaintext,
+ * and checks that the true setting is among the stops with plugs that agree with the real plugboard.
+ */
+class BombeTest {
+
+    private static final List<Integer> ROTORS = List.of(2, 3, 1);
+    private static final List<Character> POSITIONS = List.of('Q', 'E', 'V');
+    private static final String REFLECTOR = "I";
+    private static final String PLUGS = "AJCWEPGUNS";
+    private static final int CRIB_OFFSET = 12;
+    private static final int CRIB_LENGTH = 26;
+
+    @Test
+    void reportsTheTrueSettingAsAStop() throws Exception {
+        MachineDescriptor descriptor = TestMachines.paperEnigma();
+        String plaintext = TestMachines.englishLetters().substring(0, 120);
+        String ciphertext = TestMachines.encrypt(descriptor, ROTORS, POSITIONS, REFLECTOR, PLUGS, plaintext);
+        String crib = plaintext.substring(CRIB_OFFSET, CRIB_OFFSET + CRIB_LENGTH);
+
+        CribSearchRequest request = new CribSearchRequest(ciphertext, crib, CRIB_OFFSET, ROTORS, REFLECTOR, "");
+        BombeResult result = new Bombe(descriptor, 2).run(request, null);
+
+        assertTrue(result.getMenu().isPossible());
+        assertFalse(result.getMenu().getLoops().isEmpty(), "the crib should give the menu at least one loop");
+        assertEquals(26L * 26 * 26, result.getConfigurationsChecked());
+
+        BombeStop stop = result.getStops().stream()
+                .filter(candidate -> candidate.getPositions().equals(POSITIONS))
+                .findFirst()
+                .orElse(null);
+        assertNotNull(stop, "the true setting was ruled out; stops: " + result.getStops());
+        assertEquals(ROTORS, stop.getRotorIDs());
+        assertEquals(REFLECTOR, stop.getReflectorId());
+
+        Map<Character, Character> plugboard = plugboard(PLUGS);
+        assertEquals(plugboard.get(stop.getTestLetter()), stop.getTestLetterPlug());
+        String implied = stop.getImpliedPlugs();
+        for (int i = 0; i + 1 < implied.length(); i += 2) {
+            assertEquals(plugboard.get(implied.charAt(i)), implied.charAt(i + 1), "implied plugs " + implied);
+        }
+    }
+
+    // Every letter mapped to its plug (unplugged letters map to themselves)
+    private static Map<Character, Character> plugboard(String plugs) {
+        Map<Character, Character> plugboard = new HashMap<>();
+        for (char c = 'A'; c <= 'Z'; c++) {
+            plugboard.put(c, c);
+        }
+        for (int i = 0; i + 1 < plugs.length(); i += 2) {
+            plugboard.put(plugs.charAt(i), plugs.charAt(i + 1));
+            plugboard.put(plugs.charAt(i + 1), plugs.charAt(i));
+        }
+        return plugboard;
+    }
+}
@@ -0,0 +1,61 @@
+package logic.decryption.distributed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lease expiry of RangeCoordinator: a lease is kept alive only by heartbeats for that lease, so a range a worker
+ * lost track of is reclaimed even while the same worker keeps asking for new ranges.
+ */
+class RangeCoordinatorTest {
+
+    private static final long TIMEOUT_MILLIS = 50;
+
+    @Test
+    void reclaimsALostLeaseOfAWorkerThatKeepsPolling() throws InterruptedException {
+        RangeCoordinator coordinator = new RangeCoordinator(300, 100);
+        RangeLease lost = coordinator.lease("worker-1");
+
+        Thread.sleep(TIMEOUT_MILLIS * 2);
+        RangeLease current = coordinator.lease("worker-1");
+        assertTrue(coordinator.heartbeat("worker-1", current.getId()));
+
+        List<RangeLease> expired = coordinator.reclaimExpired(TIMEOUT_MILLIS);
+        assertEquals(List.of(lost.getId()), expired.stream().map(RangeLease::getId).toList());
+        assertFalse(coordinator.heartbeat("worker-1", lost.getId()));
+        assertTrue(coordinator.heartbeat("worker-1", current.getId()));
+
+        // The reclaimed range is handed out again before the untouched rest
+        RangeLease retry = coordinator.lease("worker-2");
+        assertEquals(lost.getStart(), retry.getStart());
+        assertEquals(lost.getEnd(), retry.getEnd());
+    }
+
+    @Test
+    void keepsALeaseWithRecentHeartbeats() throws InterruptedException {
+        RangeCoordinator coordinator = new RangeCoordinator(300, 100);
+        RangeLease lease = coordinator.lease("worker-1");
+
+        Thread.sleep(TIMEOUT_MILLIS * 2);
+        assertTrue(coordinator.heartbeat("worker-1", lease.getId()));
+
+        assertTrue(coordinator.reclaimExpired(TIMEOUT_MILLIS).isEmpty());
+        assertEquals(1, coordinator.getActiveLeases());
+    }
+
+    @Test
+    void heartbeatOfAnotherWorkerDoesNotKeepALeaseAlive() throws InterruptedException {
+        RangeCoordinator coordinator = new RangeCoordinator(300, 100);
+        RangeLease lease = coordinator.lease("worker-1");
+
+        Thread.sleep(TIMEOUT_MILLIS * 2);
+        assertFalse(coordinator.heartbeat("worker-2", lease.getId()));
+
+        assertEquals(1, coordinator.reclaimExpired(TIMEOUT_MILLIS).size());
+    }
+}
@@ -0,0 +1,53 @@
+package logic.decryption.plugboard;
+
+import logic.decryption.TestMachines;
+import logic.decryption.scoring.NGramModel;
+import logic.loader.dto.MachineDescriptor;
+import logic.machine.MachineImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Encrypts a known message with a plugboard and checks that hill climbing on the correct rotor setting
+ * recovers exactly those plugs and the plaintext.
+ */
+class PlugboardHillClimberTest {
+
+    private static final List<Integer> ROTORS = List.of(3, 1, 2);
+    private static final List<Character> POSITIONS = List.of('D', 'O', 'G');
+    private static final String REFLECTOR = "I";
+    private static final String PLUGS = "AMFQHTKZLX";
+
+    @Test
+    void recoversThePlugboardOfAKnownMessage() throws Exception {
+        MachineDescriptor descriptor = TestMachines.paperEnigma();
+        String plaintext = TestMachines.englishLetters();
+        String ciphertext = TestMachines.encrypt(descriptor, ROTORS, POSITIONS, REFLECTOR, PLUGS, plaintext);
+
+        // The scorer is trained on the passage the message comes from, so the true plaintext scores best
+        NGramModel model = NGramModel.train(3, new MachineImpl(descriptor).getKeyboard(), TestMachines.ENGLISH);
+        HillClimbSettings settings = new HillClimbSettings(16, 10, 1_000_000, 60_000, 2, 7);
+        PlugboardHillClimber climber = new PlugboardHillClimber(descriptor, settings, () -> model);
+
+        PlugboardSolution solution = climber.search(ciphertext, ROTORS, POSITIONS, REFLECTOR);
+
+        assertEquals(pairs(PLUGS), pairs(solution.getPlugs()));
+        assertEquals(plaintext, solution.getPlaintext());
+    }
+
+    // Plug pairs as an order-independent set ("AM" and "MA" are the same pair)
+    private static Set<String> pairs(String plugs) {
+        Set<String> pairs = new TreeSet<>();
+        for (int i = 0; i + 1 < plugs.length(); i += 2) {
+            char a = plugs.charAt(i);
+            char b = plugs.charAt(i + 1);
+            pairs.add(a < b ? "" + a + b : "" + b + a);
+        }
+        return pairs;
+    }
+}
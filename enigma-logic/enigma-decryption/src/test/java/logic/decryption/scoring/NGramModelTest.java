@@ -0,0 +1,90 @@
+package logic.decryption.scoring;
+
+import logic.decryption.TestMachines;
+import logic.machine.MachineImpl;
+import logic.machine.components.Keyboard;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the rolling-index score of NGramModel against a brute-force sum computed straight from the n-gram
+ * counts of the training text, for texts that contain both seen and unseen n-grams.
+ */
+class NGramModelTest {
+
+    private static Keyboard keyboard;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        keyboard = new MachineImpl(TestMachines.paperEnigma()).getKeyboard();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4})
+    void scoreEqualsBruteForceSum(int order) {
+        NGramModel model = NGramModel.train(order, keyboard, TestMachines.ENGLISH);
+
+        Random random = new Random(order);
+        String[] texts = {
+                TestMachines.englishLetters().substring(0, 200),
+                randomLetters(random, 200),
+                "THEQUEENOFENGLANDXQZ"
+        };
+        for (String text : texts) {
+            double expected = bruteForceScore(order, text);
+            double actual = model.score(toIndices(text), text.length());
+            assertEquals(expected, actual, Math.abs(expected) * 1e-4, "order " + order + ", text " + text);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4})
+    void textShorterThanOrderScoresZero(int order) {
+        NGramModel model = NGramModel.train(order, keyboard, TestMachines.ENGLISH);
+        String text = "THE".substring(0, order - 1);
+
+        assertEquals(0.0, model.score(toIndices(text), text.length()));
+    }
+
+    // Sum over every window of log10(count / total), with log10(0.01 / total) for n-grams never seen in training
+    private static double bruteForceScore(int order, String text) {
+        Map<String, Long> counts = new HashMap<>();
+        long total = 0;
+        for (String word : TestMachines.ENGLISH.split(" ")) {
+            for (int i = 0; i + order <= word.length(); i++) {
+                counts.merge(word.substring(i, i + order), 1L, Long::sum);
+                total++;
+            }
+        }
+
+        double sum = 0;
+        for (int i = 0; i + order <= text.length(); i++) {
+            long count = counts.getOrDefault(text.substring(i, i + order), 0L);
+            sum += Math.log10(count > 0 ? count : 0.01) - Math.log10(total);
+        }
+        return sum;
+    }
+
+    private static String randomLetters(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(keyboard.toChar(random.nextInt(keyboard.size())));
+        }
+        return text.toString();
+    }
+
+    private static int[] toIndices(String text) {
+        int[] indices = new int[text.length()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = keyboard.toIndex(text.charAt(i));
+        }
+        return indices;
+    }
+}
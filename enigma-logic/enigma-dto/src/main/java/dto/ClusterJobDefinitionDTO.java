@@ -0,0 +1,55 @@
+package dto;
+
+import java.util.List;
+
+public class ClusterJobDefinitionDTO {
+
+    private String jobId;
+    private String machineName;
+    private byte[] machineCatalog;  // The machine as a compiled catalog (.emc), so workers need no XML or DB
+    private String ciphertext;
+    private String crib;
+    private int cribOffset;
+    private List<Integer> rotors;
+    private String reflector;
+    private String plugs;
+
+    public ClusterJobDefinitionDTO() {
+    }
+
+    public String getJobId() { return jobId; }
+
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getMachineName() { return machineName; }
+
+    public void setMachineName(String machineName) { this.machineName = machineName; }
+
+    public byte[] getMachineCatalog() { return machineCatalog; }
+
+    public void setMachineCatalog(byte[] machineCatalog) { this.machineCatalog = machineCatalog; }
+
+    public String getCiphertext() { return ciphertext; }
+
+    public void setCiphertext(String ciphertext) { this.ciphertext = ciphertext; }
+
+    public String getCrib() { return crib; }
+
+    public void setCrib(String crib) { this.crib = crib; }
+
+    public int getCribOffset() { return cribOffset; }
+
+    public void setCribOffset(int cribOffset) { this.cribOffset = cribOffset; }
+
+    public List<Integer> getRotors() { return rotors; }
+
+    public void setRotors(List<Integer> rotors) { this.rotors = rotors; }
+
+    public String getReflector() { return reflector; }
+
+    public void setReflector(String reflector) { this.reflector = reflector; }
+
+    public String getPlugs() { return plugs; }
+
+    public void setPlugs(String plugs) { this.plugs = plugs; }
+}
@@ -0,0 +1,100 @@
+package dto;
+
+import java.util.List;
+
+public class DecryptionJobDTO {
+
+    private String machineName;
+    private String ciphertext;
+    private String crib;            // Known plaintext; when set the job is a crib search
+    private int cribOffset;         // Position of the crib among the ciphertext's keyboard letters (spaces etc. skipped)
+    private String dictionary;      // Whitespace separated words; used when there is no crib
+    private int topK;               // Without crib and dictionary: how many best-scoring codes to keep (0 for the default)
+    private List<Integer> rotors;   // Rotor IDs Left to Right, null to try every rotor order
+    private String reflector;       // Reflector ID, null to try every reflector
+    private String plugs;           // Plug pairs, e.g. "ATBQ"
+    private long budgetMillis;      // Time budget, 0 for the service default
+
+    public DecryptionJobDTO() {
+    }
+
+    public String getMachineName() {
+        return machineName;
+    }
+
+    public void setMachineName(String machineName) {
+        this.machineName = machineName;
+    }
+
+    public String getCiphertext() {
+        return ciphertext;
+    }
+
+    public void setCiphertext(String ciphertext) {
+        this.ciphertext = ciphertext;
+    }
+
+    public String getCrib() {
+        return crib;
+    }
+
+    public void setCrib(String crib) {
+        this.crib = crib;
+    }
+
+    public int getCribOffset() {
+        return cribOffset;
+    }
+
+    public void setCribOffset(int cribOffset) {
+        this.cribOffset = cribOffset;
+    }
+
+    public String getDictionary() {
+        return dictionary;
+    }
+
+    public void setDictionary(String dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public void setTopK(int topK) {
+        this.topK = topK;
+    }
+
+    public List<Integer> getRotors() {
+        return rotors;
+    }
+
+    public void setRotors(List<Integer> rotors) {
+        this.rotors = rotors;
+    }
+
+    public String getReflector() {
+        return reflector;
+    }
+
+    public void setReflector(String reflector) {
+        this.reflector = reflector;
+    }
+
+    public String getPlugs() {
+        return plugs;
+    }
+
+    public void setPlugs(String plugs) {
+        this.plugs = plugs;
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    public void setBudgetMillis(long budgetMillis) {
+        this.budgetMillis = budgetMillis;
+    }
+}
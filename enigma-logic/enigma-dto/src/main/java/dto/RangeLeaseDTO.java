@@ -0,0 +1,35 @@
+package dto;
+
+public class RangeLeaseDTO {
+
+    private String jobId;
+    private long leaseId;
+    private long start;     // First configuration index (inclusive)
+    private long end;       // Last configuration index (exclusive)
+
+    public RangeLeaseDTO() {
+    }
+
+    public RangeLeaseDTO(String jobId, long leaseId, long start, long end) {
+        this.jobId = jobId;
+        this.leaseId = leaseId;
+        this.start = start;
+        this.end = end;
+    }
+
+    public String getJobId() { return jobId; }
+
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public long getLeaseId() { return leaseId; }
+
+    public void setLeaseId(long leaseId) { this.leaseId = leaseId; }
+
+    public long getStart() { return start; }
+
+    public void setStart(long start) { this.start = start; }
+
+    public long getEnd() { return end; }
+
+    public void setEnd(long end) { this.end = end; }
+}
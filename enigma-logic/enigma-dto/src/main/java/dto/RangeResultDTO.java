@@ -0,0 +1,45 @@
+package dto;
+
+import java.util.List;
+
+public class RangeResultDTO {
+
+    private String workerId;
+    private long start;
+    private long end;
+    private long configurationsChecked;
+    private long elapsedNanos;
+    private List<CandidateResult> candidates;
+
+    public static class CandidateResult {
+        public String code;
+        public String plaintext;
+    }
+
+    public RangeResultDTO() {
+    }
+
+    public String getWorkerId() { return workerId; }
+
+    public void setWorkerId(String workerId) { this.workerId = workerId; }
+
+    public long getStart() { return start; }
+
+    public void setStart(long start) { this.start = start; }
+
+    public long getEnd() { return end; }
+
+    public void setEnd(long end) { this.end = end; }
+
+    public long getConfigurationsChecked() { return configurationsChecked; }
+
+    public void setConfigurationsChecked(long configurationsChecked) { this.configurationsChecked = configurationsChecked; }
+
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    public void setElapsedNanos(long elapsedNanos) { this.elapsedNanos = elapsedNanos; }
+
+    public List<CandidateResult> getCandidates() { return candidates; }
+
+    public void setCandidates(List<CandidateResult> candidates) { this.candidates = candidates; }
+}
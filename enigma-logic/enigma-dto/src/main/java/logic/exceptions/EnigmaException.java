@@ -14,6 +14,7 @@ public class EnigmaException extends RuntimeException {
         // ------------------------- XML Loading & Validation Errors -------------------------
         FILE_NOT_FOUND("Error: The file '%s' was not found."),
         FILE_NOT_XML_TYPE("Error: The file '%s' must be an XML file."),
+        XML_ABC_MISSING("Error: The machine definition does not contain an ABC element."),
         XML_ABC_ODD_LENGTH("Error: ABC size must be even. Current size: %d."),
         XML_ROTOR_COUNT_LOW("Error: Not enough rotors defined. Minimum %d expected."),
         XML_ROTOR_COUNT_LESS_THAN_ONE("Rotors count must be at least 1. Defined: %d"),
@@ -25,6 +26,9 @@ public class EnigmaException extends RuntimeException {
         XML_ROTOR_DUPLICATE_LEFT("Error: Rotor %d maps target char '%s' more than once (Target Duplicate)."),
         XML_REFLECTOR_ID_SEQUENCE("Error: Reflector IDs must be unique and sequential (I to N)."),
         XML_REFLECTOR_UNKNOWN_ID("Error: Unknown reflector ID: %s."),
+        XML_ELEMENT_MISPLACED("Error: Element '%s' must appear inside a '%s' element."),
+        XML_ATTRIBUTE_INVALID("Error: Element '%s' has a missing or non-numeric '%s' attribute."),
+        CATALOG_INVALID_FORMAT("Error: '%s' is not a valid compiled machine catalog."),
         USER_REFLECTOR_OUT_OF_RANGE("Error: The machine only has %d reflectors defined. You cannot select %d."),
         USER_REFLECTOR_ID_NOT_IN_MACHINE("Error: Reflector ID %d is not available in the machine. Available IDs: %s"),
         // ------------------------- Rotor Component Errors -------------------------
@@ -32,6 +36,8 @@ public class EnigmaException extends RuntimeException {
         ROTOR_NOTCH_OUT_OF_RANGE("Error: Notch position %d out of range (valid: 0..%d)."),
         ROTOR_POSITION_OUT_OF_RANGE("Error: Position %d out of range (valid: 0..%d)."),
         ROTOR_BROKEN_MAPPING("Error: Mapping error: Connection not found in Rotor %d."), // Critical logic error
+        ROTOR_STATE_TOO_LARGE("Error: The positions of %d rotors over a %d-letter alphabet do not fit in a 64-bit packed state."),
+        ROTOR_STATE_OUT_OF_RANGE("Error: Packed rotor state %d is out of range (0..%d)."),
 
         // ------------------------- Reflector Component Errors -------------------------
         REFLECTOR_OUT_OF_RANGE("Error: Index %d out of range for reflector."),
@@ -62,6 +68,16 @@ public class EnigmaException extends RuntimeException {
         USER_INVALID_POSITION_CHAR("Error: Character '%s' is not part of the machine's keyboard."),
         CONFIG_ARGS_NULL("Error: Code configuration arguments cannot be null."),
         USER_REFLECTOR_NOT_FOUND("Error: Reflector ID '%s' is not available."),
+        USER_INVALID_COMPACT_CODE("Error: '%s' is not a valid code. Expected <rotors><positions><reflector> and optional <plugs>, e.g. <3,2,1><A,B,C><I><A|B>."),
+
+        // ------------------------- Decryption Errors -------------------------
+        DECRYPTION_CRIB_EMPTY("Error: The crib (known plaintext) cannot be empty."),
+        DECRYPTION_CRIB_OUT_OF_RANGE("Error: A crib of length %d at offset %d does not fit in a ciphertext of length %d."),
+        DECRYPTION_SPACE_TOO_LARGE("Error: The configuration space of this machine does not fit in a 64-bit index."),
+        DECRYPTION_INDEX_OUT_OF_RANGE("Error: Configuration index %d is out of range (0..%d)."),
+        DECRYPTION_NGRAM_TABLE_TOO_LARGE("Error: A %d-gram table over a %d-letter alphabet is too large."),
+        DECRYPTION_NGRAM_INVALID_LINE("Error: Invalid n-gram count line: '%s'."),
+        CHECKPOINT_INVALID_FORMAT("Error: '%s' is not a valid search checkpoint."),
 
         // ------------------------- Engine State & Runtime Errors -------------------------
         MACHINE_NOT_LOADED("Error: Machine is not loaded. Please load an XML file first."),
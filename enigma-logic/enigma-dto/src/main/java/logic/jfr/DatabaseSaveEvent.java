@@ -0,0 +1,31 @@
+package logic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** A write to the database: a loaded machine (with its rotors and reflectors) or a processing record. */
+@Name("enigma.DatabaseSave")
+@Label("Database Save")
+@Category({"Enigma", "Database"})
+@Description("Entities saved to the database")
+@Enabled(false)
+@StackTrace(false)
+public class DatabaseSaveEvent extends jdk.jfr.Event {
+
+    public static final String MACHINE = "machine";
+    public static final String PROCESSING = "processing";
+
+    @Label("Entity")
+    public String entity;
+
+    @Label("Machine")
+    public String machine;
+
+    public DatabaseSaveEvent(String entity) {
+        this.entity = entity;
+    }
+}
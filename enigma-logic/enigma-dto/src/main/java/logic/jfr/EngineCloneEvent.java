@@ -0,0 +1,26 @@
+package logic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** The serialization copy of a machine's engine that every new session gets. */
+@Name("enigma.EngineClone")
+@Label("Engine Clone")
+@Category({"Enigma", "Session"})
+@Description("Deep copy of a loaded engine for a new session")
+@Enabled(false)
+@StackTrace(false)
+public class EngineCloneEvent extends jdk.jfr.Event {
+
+    @Label("Machine")
+    public String machine;
+
+    @Label("Serialized Size")
+    @DataAmount(DataAmount.BYTES)
+    public int serializedSize;
+}
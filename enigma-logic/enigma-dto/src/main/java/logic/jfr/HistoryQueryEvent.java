@@ -0,0 +1,36 @@
+package logic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** A history request, answered from a session's memory or from the database. */
+@Name("enigma.HistoryQuery")
+@Label("History Query")
+@Category({"Enigma", "Database"})
+@Description("History read for a session or a machine")
+@Enabled(false)
+@StackTrace(false)
+public class HistoryQueryEvent extends jdk.jfr.Event {
+
+    public static final String SESSION = "session";
+    public static final String DATABASE = "database";
+
+    @Label("Source")
+    public String source;
+
+    @Label("Key")
+    @Description("Session ID or machine name")
+    public String key;
+
+    @Label("Records")
+    public int records;
+
+    public HistoryQueryEvent(String source, String key) {
+        this.source = source;
+        this.key = key;
+    }
+}
@@ -0,0 +1,29 @@
+package logic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One phase of loading a machine XML with the JAXB loader. */
+@Name("enigma.MachineLoadPhase")
+@Label("Machine Load Phase")
+@Category({"Enigma", "Loader"})
+@Description("Unmarshalling, validating or converting a machine XML")
+@Enabled(false)
+@StackTrace(false)
+public class MachineLoadPhaseEvent extends jdk.jfr.Event {
+
+    public static final String UNMARSHAL = "unmarshal";
+    public static final String VALIDATE = "validate";
+    public static final String CONVERT = "convert";
+
+    @Label("Phase")
+    public String phase;
+
+    public MachineLoadPhaseEvent(String phase) {
+        this.phase = phase;
+    }
+}
@@ -0,0 +1,37 @@
+package logic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One EnigmaEngine.process call. The event spans the whole call (validation, code formatting, history);
+ * encryptionTime is the machine alone, so the difference is the engine overhead.
+ * Disabled unless a recording enables it (see enigma-app/jfr/enigma.jfc).
+ */
+@Name("enigma.Process")
+@Label("Process")
+@Category({"Enigma", "Engine"})
+@Description("Text processed by a session engine")
+@Enabled(false)
+@StackTrace(false)
+public class ProcessEvent extends jdk.jfr.Event {
+
+    @Label("Machine")
+    public String machine;
+
+    @Label("Characters")
+    public int characters;
+
+    @Label("Encryption Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long encryptionTime;
+
+    @Label("Cached Keystream")
+    @Description("The text was served from the shared keystream tables")
+    public boolean cachedKeystream;
+}
@@ -0,0 +1,24 @@
+package logic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Registration of a new session (the engine clone before it is a separate EngineCloneEvent). */
+@Name("enigma.SessionCreate")
+@Label("Session Create")
+@Category({"Enigma", "Session"})
+@Description("A session was created for an engine copy")
+@Enabled(false)
+@StackTrace(false)
+public class SessionCreateEvent extends jdk.jfr.Event {
+
+    @Label("Session ID")
+    public String sessionId;
+
+    @Label("Machine")
+    public String machine;
+}
@@ -57,4 +57,11 @@ public class MachineDescriptor implements Serializable {
     public void setName(String name) {
         this.name = name;
     }
+
+    // Creates a new descriptor with the given name that shares this descriptor's (immutable) rotors and reflectors
+    public MachineDescriptor withName(String newName) {
+        MachineDescriptor copy = new MachineDescriptor(rotorsCount, rotors, reflectors, alphabet, plugs);
+        copy.setName(newName);
+        return copy;
+    }
 }
\ No newline at end of file
@@ -18,13 +18,24 @@ public class RotorDescriptor implements Serializable {
     // mapping[i][1] = Row index of char 'i' in the Left column
     private final int[][] mapping;
 
+    // Optional precomputed row-to-row wiring (RIGHT row -> LEFT row and back), e.g. from a compiled catalog.
+    // Null when the rotor should derive them from the mapping itself.
+    private final int[] forwardWiring;
+    private final int[] backwardWiring;
+
     public RotorDescriptor(int id, int[][] mapping, int notchPosition) {
+        this(id, mapping, notchPosition, null, null);
+    }
+
+    public RotorDescriptor(int id, int[][] mapping, int notchPosition, int[] forwardWiring, int[] backwardWiring) {
         this.id = id;
         this.notchPosition = notchPosition;
 
         // Save the array (no need for deep copy if we trust the Loader,
         // but for safety/immutability we could clone it. Here we just assign it.)
         this.mapping = mapping;
+        this.forwardWiring = forwardWiring;
+        this.backwardWiring = backwardWiring;
     }
 
     public int getId() {
@@ -40,6 +51,14 @@ public class RotorDescriptor implements Serializable {
         return mapping;
     }
 
+    public int[] getForwardWiring() {
+        return forwardWiring;
+    }
+
+    public int[] getBackwardWiring() {
+        return backwardWiring;
+    }
+
     @Override
     public String toString() {
         return "RotorDescriptor{" +
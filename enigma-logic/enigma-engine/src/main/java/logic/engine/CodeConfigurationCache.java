@@ -0,0 +1,82 @@
+package logic.engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Validated CodeConfigurations of one machine, keyed by the code text they were parsed from.
+ * A code that was configured before skips parsing, validation and the defensive list copies entirely.
+ * Keys are either a compact code (see CompactCodeParser) or a manualKey; only codes that passed validation are stored.
+ * Bounded by entry count with least-recently-used eviction. Thread-safe, shared by every engine of the machine.
+ */
+public class CodeConfigurationCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private final int maxEntries;
+    private final Map<String, CodeConfiguration> codesByKey;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CodeConfigurationCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public CodeConfigurationCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.codesByKey = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CodeConfiguration> eldest) {
+                return size() > CodeConfigurationCache.this.maxEntries;
+            }
+        };
+    }
+
+    // Key of a code given as the separate manual fields. Compact codes start with '<' and never contain '\0'
+    public static String manualKey(String rotorIDs, String positions, int reflectorNum, String plugs) {
+        return rotorIDs + '\0' + positions + '\0' + reflectorNum + '\0' + plugs;
+    }
+
+    // The validated configuration for this key, or null on a miss
+    public CodeConfiguration get(String key) {
+        CodeConfiguration code;
+        synchronized (codesByKey) {
+            code = codesByKey.get(key);
+        }
+        if (code == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return code;
+    }
+
+    // Stores a configuration that passed validation
+    public void put(String key, CodeConfiguration code) {
+        synchronized (codesByKey) {
+            codesByKey.put(key, code);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        synchronized (codesByKey) {
+            return codesByKey.size();
+        }
+    }
+
+    // Fraction of lookups that were served from the cache (0 when nothing was looked up yet)
+    public double getHitRate() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+}
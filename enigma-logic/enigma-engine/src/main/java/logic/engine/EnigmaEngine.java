@@ -37,6 +37,12 @@ public interface EnigmaEngine {
     // Toggles the verbose debug mode on the internal machine
     void setDebugMode(boolean debugMode);
 
+    // Shares a keystream cache with this engine, so re-encrypting from a known code skips the rotors (null disables)
+    void setKeystreamCache(KeystreamCache keystreamCache);
+
+    // Shares the parsed-code cache of this machine, so codes configured before skip parsing and validation (null disables)
+    void setCodeCache(CodeConfigurationCache codeCache);
+
     // Returns the list of processed messages history and statistics
     List<MachineHistoryRecord> getHistory();
     public int getRequiredRotorCount();
@@ -6,10 +6,12 @@ import logic.engine.utils.CodeFormatter;
 import logic.engine.utils.InputParser;
 import logic.engine.validation.EnigmaCodeValidator;
 import logic.exceptions.EnigmaException;
+import logic.jfr.ProcessEvent;
 import logic.loader.MachineConfigLoader;
 import logic.loader.XmlMachineConfigLoader;
 import logic.loader.dto.MachineHistoryRecord;
 import logic.machine.Machine;
+import logic.machine.utils.KeystreamTables;
 
 import java.io.*;
 import java.util.ArrayList;
@@ -25,6 +27,10 @@ public class EnigmaEngineImpl implements EnigmaEngine, Serializable {
     private CodeConfiguration originalCode; // The code that was last chosen by the user (manual/automatic)
     private CodeConfiguration currentCode; // The code after rotor stepping during processing
     private final List<MachineHistoryRecord> historyList = new ArrayList<>();
+    private boolean atOriginalCode; // No text was processed since the code was set or reset
+    private boolean reusingCode; // ...and it was reached by reset, so the code is being used again
+    private transient KeystreamCache keystreamCache; // Shared between engines; null = disabled
+    private transient CodeConfigurationCache codeCache; // Shared by the engines of this machine; null = disabled
     private transient InputParser parser;
     private transient EnigmaCodeValidator validator;
     private transient AutomaticCodeGenerator autoGenerator;
@@ -57,6 +63,7 @@ public class EnigmaEngineImpl implements EnigmaEngine, Serializable {
         // Reset code information on new load
         this.originalCode = null;
         this.currentCode = null;
+        this.atOriginalCode = false;
         this.historyList.clear();
     }
 
@@ -66,11 +73,19 @@ public class EnigmaEngineImpl implements EnigmaEngine, Serializable {
         // Check if machine is loaded
         ensureMachineLoaded();
 
-        // Parse and Validate all inputs against machine rules
-        CodeConfiguration initialConfig = parseAndValidateManualInput(rotorIDsString, positionsString, reflectorNum, plugs);
+        // Parse and Validate all inputs against machine rules (a code configured before comes from the cache)
+        String cacheKey = CodeConfigurationCache.manualKey(rotorIDsString, positionsString, reflectorNum, plugs);
+        CodeConfiguration initialConfig = codeCache != null ? codeCache.get(cacheKey) : null;
+        boolean cached = initialConfig != null;
+        if (!cached) {
+            initialConfig = parseAndValidateManualInput(rotorIDsString, positionsString, reflectorNum, plugs);
+        }
 
-        // Physically configure the machine and update engine state
+        // Physically configure the machine and update engine state (this also checks the plugs)
         updateEngineConfiguration(initialConfig);
+        if (!cached && codeCache != null) {
+            codeCache.put(cacheKey, initialConfig);
+        }
 
         // Return the formatted current code for UI display
         return CodeFormatter.formatCode(machine, this.currentCode);
@@ -141,6 +156,9 @@ public class EnigmaEngineImpl implements EnigmaEngine, Serializable {
     // Processes the given text using the Enigma machine
     @Override
     public String process(String text) {
+        ProcessEvent event = new ProcessEvent();
+        event.begin();
+
         // Pre-process checks (Machine loaded, code set, input characters valid)
         String cleanedText = performPreProcessChecks(text);
 
@@ -149,16 +167,47 @@ public class EnigmaEngineImpl implements EnigmaEngine, Serializable {
 
         // Measure time and process text
         long start = System.nanoTime();
-        String output = machine.process(cleanedText);
+        KeystreamTables tables = atOriginalCode ? keystreamTablesFor(cleanedText) : null;
+        String output = tables != null ? machine.process(cleanedText, tables) : machine.process(cleanedText);
         long end = System.nanoTime();
+        atOriginalCode = false;
+        reusingCode = false;
         long duration = end - start;
 
         // Update the engine state and save the record to history
         updateStateAndHistory(cleanedText, output, duration, startConfigStr);
 
+        if (event.shouldCommit()) {
+            event.machine = machine.getName();
+            event.characters = cleanedText.length();
+            event.encryptionTime = duration;
+            event.cachedKeystream = tables != null;
+            event.commit();
+        }
         return output;
     }
 
+    // Cached tables of the original code for this text. They are only computed when the code is reused after a reset;
+    // a code that was just set is served only if some engine already cached it
+    private KeystreamTables keystreamTablesFor(String text) {
+        if (keystreamCache == null) {
+            return null;
+        }
+        int letters = 0;
+        String upperText = text.toUpperCase();
+        for (int i = 0; i < upperText.length(); i++) {
+            if (machine.getKeyboard().contains(upperText.charAt(i))) {
+                letters++;
+            }
+        }
+        if (letters == 0) {
+            return null;
+        }
+
+        String key = KeystreamCache.keyOf(machine.getName(), originalCode);
+        return reusingCode ? keystreamCache.getOrCompute(key, letters, machine) : keystreamCache.get(key, letters);
+    }
+
     // Performs all necessary validation checks before starting the processing
     // Returns the input text ready for processing (trimmed and clean)
     private String performPreProcessChecks(String text) {
@@ -209,9 +258,20 @@ public class EnigmaEngineImpl implements EnigmaEngine, Serializable {
 
         // Reset the Physical Machine
         updateEngineConfiguration(originalCode);
+        this.reusingCode = true;
 
     }
 
+    @Override
+    public void setKeystreamCache(KeystreamCache keystreamCache) {
+        this.keystreamCache = keystreamCache;
+    }
+
+    @Override
+    public void setCodeCache(CodeConfigurationCache codeCache) {
+        this.codeCache = codeCache;
+    }
+
     @Override
     public void setDebugMode(boolean debugMode) {
         if (machine != null) {
@@ -244,6 +304,8 @@ public class EnigmaEngineImpl implements EnigmaEngine, Serializable {
         // Save State
         this.originalCode = config;
         this.currentCode = config;
+        this.atOriginalCode = true;
+        this.reusingCode = false;
     }
 
     @Override
@@ -305,6 +367,10 @@ public class EnigmaEngineImpl implements EnigmaEngine, Serializable {
 
     // Re-initializes non-serialized (transient) utility fields after loading
     private void restoreTransientComponents() {
+        // The loaded machine may be anywhere after its original code
+        this.atOriginalCode = false;
+        this.reusingCode = false;
+
         // Re-create the validator with the newly loaded machine instance
         this.validator = new EnigmaCodeValidator(this.machine);
 
@@ -322,7 +388,9 @@ public class EnigmaEngineImpl implements EnigmaEngine, Serializable {
     // Helper method to check if all characters exist in the alphabet
     private void validateInputCharacters(String text) {
         // We iterate over the input (converted to UpperCase to match the keyboard)
-        for (char c : text.toUpperCase().toCharArray()) {
+        String upperText = text.toUpperCase();
+        for (int i = 0; i < upperText.length(); i++) {
+            char c = upperText.charAt(i);
             if (!machine.getKeyboard().contains(c)) {
                 throw new EnigmaException(EnigmaException.ErrorCode.
                         INPUT_INVALID_CHARACTER,
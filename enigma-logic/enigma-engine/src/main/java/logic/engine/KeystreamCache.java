@@ -0,0 +1,124 @@
+package logic.engine;
+
+import logic.machine.Machine;
+import logic.machine.utils.KeystreamTables;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared cache of KeystreamTables keyed by (machine name, code without plugs).
+ * The scrambler permutations after a code depend neither on the text nor on the plugboard, so every engine that
+ * encrypts again from a code it (or another session) already used pays one table lookup per letter.
+ * Tables cover at most maxLength key presses; longer messages continue on the regular machine path.
+ * Bounded by the bytes the tables hold, with least-recently-used eviction. Thread-safe.
+ */
+public class KeystreamCache {
+
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    public static final int DEFAULT_MAX_LENGTH = 4096;
+
+    private final long maxBytes;
+    private final int maxLength;
+    private final Map<String, KeystreamTables> tablesByCode = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes; // Guarded by tablesByCode
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public KeystreamCache() {
+        this(DEFAULT_MAX_BYTES, DEFAULT_MAX_LENGTH);
+    }
+
+    public KeystreamCache(long maxBytes, int maxLength) {
+        this.maxBytes = maxBytes;
+        this.maxLength = maxLength;
+    }
+
+    // Cache key of a code on a machine. The plugs are left out since the tables do not depend on them
+    public static String keyOf(String machineName, CodeConfiguration code) {
+        return machineName + new CodeConfiguration(code.getRotorIdsInOrder(), code.getRotorPositions(),
+                code.getReflectorId(), "").toCompactString();
+    }
+
+    // Tables covering the first letters of a message of this many letters (or maxLength), or null on a miss
+    public KeystreamTables get(String key, int letters) {
+        int needed = Math.min(letters, maxLength);
+        KeystreamTables tables;
+        synchronized (tablesByCode) {
+            tables = tablesByCode.get(key);
+        }
+        if (tables == null || tables.getLength() < needed) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return tables;
+    }
+
+    // Same as get, but computes and stores the tables on a miss. The machine must be at the code
+    // and is put back there afterwards
+    public KeystreamTables getOrCompute(String key, int letters, Machine machine) {
+        KeystreamTables tables = get(key, letters);
+        if (tables != null) {
+            return tables;
+        }
+        int[] codePositions = new int[machine.getRotorsCount()];
+        machine.fillRotorPositions(codePositions);
+        tables = KeystreamTables.compute(machine, Math.min(letters, maxLength));
+        machine.setRotorPositions(codePositions);
+        put(key, tables);
+        return tables;
+    }
+
+    // Stores (or replaces) the tables of a code and evicts the least recently used codes while over budget
+    private void put(String key, KeystreamTables tables) {
+        if (tables.sizeInBytes() > maxBytes) {
+            return; // Would evict everything else and still not fit
+        }
+        synchronized (tablesByCode) {
+            KeystreamTables previous = tablesByCode.put(key, tables);
+            if (previous != null) {
+                bytes -= previous.sizeInBytes();
+            }
+            bytes += tables.sizeInBytes();
+
+            Iterator<KeystreamTables> eldest = tablesByCode.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                KeystreamTables evicted = eldest.next();
+                if (evicted == tables) {
+                    continue;
+                }
+                bytes -= evicted.sizeInBytes();
+                eldest.remove();
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        synchronized (tablesByCode) {
+            return tablesByCode.size();
+        }
+    }
+
+    // Memory held by the cached tables, in bytes
+    public long getBytes() {
+        synchronized (tablesByCode) {
+            return bytes;
+        }
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
@@ -0,0 +1,71 @@
+package logic.engine;
+
+import logic.engine.utils.CompactCodeParser;
+import logic.engine.validation.EnigmaCodeValidator;
+import logic.exceptions.EnigmaException;
+import logic.loader.dto.MachineDescriptor;
+import logic.machine.Machine;
+import logic.machine.MachineImpl;
+import logic.machine.components.Keyboard;
+
+/**
+ * Stateless "process text T with code C" for one machine, without an EnigmaEngine or a session.
+ * Machines are stateful and not thread-safe, so every thread keeps its own MachineImpl built from the descriptor
+ * and a call only reconfigures it. Compact codes are parsed and validated once and then served from the machine's
+ * CodeConfigurationCache. Thread-safe.
+ */
+public class OneShotEncryptor {
+
+    private final ThreadLocal<Machine> machines;
+    private final Keyboard keyboard;
+    private final EnigmaCodeValidator validator;
+    private final CompactCodeParser parser = new CompactCodeParser();
+    private final CodeConfigurationCache codes;
+
+    public OneShotEncryptor(MachineDescriptor descriptor, CodeConfigurationCache codes) {
+        this.codes = codes;
+        this.machines = ThreadLocal.withInitial(() -> new MachineImpl(descriptor));
+
+        // The validator only reads the available rotors and reflectors, so one shared machine is enough
+        Machine reference = new MachineImpl(descriptor);
+        this.keyboard = reference.getKeyboard();
+        this.validator = new EnigmaCodeValidator(reference);
+    }
+
+    // Processes the text from the given code and returns the output. Nothing is kept between calls but the parsed code
+    public String process(String compactCode, String text) {
+        CodeConfiguration code = parse(compactCode);
+        String input = text == null ? "" : text.trim();
+        for (int i = 0; i < input.length(); i++) {
+            char c = Character.toUpperCase(input.charAt(i));
+            if (!keyboard.contains(c)) {
+                throw new EnigmaException(EnigmaException.ErrorCode.INPUT_INVALID_CHARACTER, c, keyboard.getABC());
+            }
+        }
+
+        Machine machine = machines.get();
+        machine.setConfiguration(code.getRotorIdsInOrder(), code.getRotorPositions(),
+                code.getReflectorId(), code.getPlugs());
+        return machine.process(input);
+    }
+
+    // Parsed and validated code for this machine, from the cache when it was seen recently
+    private CodeConfiguration parse(String compactCode) {
+        CodeConfiguration cached = codes.get(compactCode);
+        if (cached != null) {
+            return cached;
+        }
+
+        CodeConfiguration code = parser.parse(compactCode);
+        StringBuilder positions = new StringBuilder(code.getRotorPositions().size());
+        for (char position : code.getRotorPositions()) {
+            positions.append(position);
+        }
+        validator.validateAllManualCode(code.getRotorIdsInOrder(), positions.toString(), keyboard.asString());
+        validator.validateReflector(code.getReflectorId());
+        validator.validatePlugs(code.getPlugs(), keyboard.asString());
+
+        codes.put(compactCode, code);
+        return code;
+    }
+}
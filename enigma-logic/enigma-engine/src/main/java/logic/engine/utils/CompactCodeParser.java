@@ -0,0 +1,86 @@
+package logic.engine.utils;
+
+import logic.engine.CodeConfiguration;
+import logic.exceptions.EnigmaException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses a code in the compact format the engine reports, e.g. <3,2,1><A(5),B(2),C(12)><I><A|B,C|D>,
+ * back into a CodeConfiguration. The notch distances in parentheses are ignored, the plugs section is optional,
+ * and plugs may also be written as consecutive pairs (<ABCD>).
+ * Only the syntax is checked here; the rules of a specific machine are checked by EnigmaCodeValidator.
+ */
+public class CompactCodeParser {
+
+    public CodeConfiguration parse(String compactCode) {
+        if (compactCode == null) {
+            throw new EnigmaException(EnigmaException.ErrorCode.USER_INVALID_COMPACT_CODE, "null");
+        }
+        String code = compactCode.trim();
+        if (!code.startsWith("<") || !code.endsWith(">")) {
+            throw invalid(compactCode);
+        }
+
+        // "<a><b><c>" -> "a", "b", "c"
+        String[] sections = code.substring(1, code.length() - 1).split("><", -1);
+        if (sections.length < 3 || sections.length > 4) {
+            throw invalid(compactCode);
+        }
+
+        List<Integer> rotorIDs = parseRotorIDs(sections[0], compactCode);
+        List<Character> positions = parsePositions(sections[1], compactCode);
+        String reflectorId = sections[2].trim().toUpperCase();
+        String plugs = sections.length == 4 ? parsePlugs(sections[3]) : "";
+        if (reflectorId.isEmpty()) {
+            throw invalid(compactCode);
+        }
+        return new CodeConfiguration(rotorIDs, positions, reflectorId, plugs);
+    }
+
+    private List<Integer> parseRotorIDs(String section, String compactCode) {
+        List<Integer> ids = new ArrayList<>();
+        for (String token : section.split(",")) {
+            try {
+                ids.add(Integer.parseInt(token.trim()));
+            } catch (NumberFormatException e) {
+                throw invalid(compactCode);
+            }
+        }
+        return ids;
+    }
+
+    // "A(5),B(2)" or "A,B" -> [A, B]
+    private List<Character> parsePositions(String section, String compactCode) {
+        List<Character> positions = new ArrayList<>();
+        for (String token : section.split(",")) {
+            String position = token.trim();
+            int distance = position.indexOf('(');
+            if (distance != -1) {
+                position = position.substring(0, distance).trim();
+            }
+            if (position.length() != 1) {
+                throw invalid(compactCode);
+            }
+            positions.add(Character.toUpperCase(position.charAt(0)));
+        }
+        return positions;
+    }
+
+    // "A|B,C|D" or "ABCD" -> "ABCD"
+    private String parsePlugs(String section) {
+        StringBuilder plugs = new StringBuilder(section.length());
+        for (int i = 0; i < section.length(); i++) {
+            char c = section.charAt(i);
+            if (c != '|' && c != ',' && !Character.isWhitespace(c)) {
+                plugs.append(Character.toUpperCase(c));
+            }
+        }
+        return plugs.toString();
+    }
+
+    private static EnigmaException invalid(String compactCode) {
+        return new EnigmaException(EnigmaException.ErrorCode.USER_INVALID_COMPACT_CODE, compactCode);
+    }
+}
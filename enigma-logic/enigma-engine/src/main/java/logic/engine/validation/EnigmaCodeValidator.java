@@ -65,6 +65,37 @@ public class EnigmaCodeValidator {
         }
     }
 
+    public void validateReflector(String reflectorId) {
+        if (!machine.getAllAvailableReflectors().containsKey(reflectorId)) {
+            throw new EnigmaException(EnigmaException.ErrorCode.USER_REFLECTOR_NOT_FOUND, reflectorId);
+        }
+    }
+
+    // Plugs are consecutive pairs of distinct alphabet characters, each character used at most once
+    public void validatePlugs(String plugs, String alphabet) {
+        if (plugs.length() % 2 != 0) {
+            throw new EnigmaException(EnigmaException.ErrorCode.USER_PLUG_ODD_LENGTH);
+        }
+        boolean[] used = new boolean[alphabet.length()];
+        for (int i = 0; i < plugs.length(); i += 2) {
+            char c1 = plugs.charAt(i);
+            char c2 = plugs.charAt(i + 1);
+            int i1 = alphabet.indexOf(c1);
+            int i2 = alphabet.indexOf(c2);
+            if (i1 == -1 || i2 == -1) {
+                throw new EnigmaException(EnigmaException.ErrorCode.USER_PLUG_INVALID_CHAR);
+            }
+            if (i1 == i2) {
+                throw new EnigmaException(EnigmaException.ErrorCode.USER_PLUG_SELF_MAPPING, c1);
+            }
+            if (used[i1] || used[i2]) {
+                throw new EnigmaException(EnigmaException.ErrorCode.USER_PLUG_ALREADY_USED, used[i1] ? c1 : c2);
+            }
+            used[i1] = true;
+            used[i2] = true;
+        }
+    }
+
     private void validateCharacter(String positionsString, String alphabet) {
         for (char c : positionsString.toUpperCase().toCharArray()) {
             if (alphabet.indexOf(c) == -1) {
@@ -0,0 +1,99 @@
+package logic.engine;
+
+import logic.loader.XmlMachineConfigLoader;
+import logic.machine.Machine;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Fails when MachineImpl.process or EnigmaEngineImpl.process allocates more bytes per letter than the budget in
+ * allocation-budget.properties. Allocation is read from the test thread's ThreadMXBean counter around many runs.
+ */
+class AllocationBudgetTest {
+
+    private static final String MACHINE_XML = "ex3/ex3-sanity-paper-enigma.xml";
+    private static final int MESSAGE_LENGTH = 4096;
+    private static final int WARMUP_RUNS = 200;
+    private static final int MEASURED_RUNS = 100;
+
+    private static com.sun.management.ThreadMXBean threadBean;
+    private static Properties budget;
+    private static String message;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "Per-thread allocation counters are not available on this JVM");
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported(), "Per-thread allocation counters are not supported");
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        budget = new Properties();
+        try (InputStream in = AllocationBudgetTest.class.getClassLoader()
+                .getResourceAsStream("allocation-budget.properties")) {
+            budget.load(in);
+        }
+
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(MESSAGE_LENGTH);
+        for (int i = 0; i < MESSAGE_LENGTH; i++) {
+            text.append((char) ('A' + random.nextInt(26)));
+        }
+        message = text.toString();
+    }
+
+    @Test
+    void machineProcessStaysWithinBudget() throws Exception {
+        Machine machine = loadMachine();
+        machine.setConfiguration(List.of(1, 2, 3), List.of('A', 'B', 'C'), "I", "AZ");
+
+        double bytesPerChar = bytesPerChar(() -> machine.process(message));
+        assertWithinBudget("machine.process.bytes-per-char", bytesPerChar);
+    }
+
+    @Test
+    void engineProcessStaysWithinBudget() throws Exception {
+        EnigmaEngineImpl engine = new EnigmaEngineImpl(loadMachine());
+        engine.setManualCode("1,2,3", "ABC", 1, "AZ");
+
+        double bytesPerChar = bytesPerChar(() -> engine.process(message));
+        assertWithinBudget("engine.process.bytes-per-char", bytesPerChar);
+    }
+
+    private static Machine loadMachine() throws Exception {
+        try (InputStream in = AllocationBudgetTest.class.getClassLoader().getResourceAsStream(MACHINE_XML)) {
+            return new XmlMachineConfigLoader().load(in);
+        }
+    }
+
+    // Average bytes the current thread allocates per letter of the message
+    private static double bytesPerChar(Runnable run) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            run.run();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            run.run();
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+        return (double) allocated / ((long) MEASURED_RUNS * MESSAGE_LENGTH);
+    }
+
+    private static void assertWithinBudget(String key, double bytesPerChar) {
+        double limit = Double.parseDouble(budget.getProperty(key));
+        assertTrue(bytesPerChar <= limit,
+                String.format("%s is %.2f bytes per letter, over the budget of %.2f in allocation-budget.properties",
+                        key, bytesPerChar, limit));
+    }
+}
@@ -0,0 +1,146 @@
+package logic.engine;
+
+import logic.loader.XmlMachineConfigLoader;
+import logic.machine.Machine;
+import logic.machine.utils.KeystreamTables;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Encrypting through cached KeystreamTables must give the same text and leave the rotors in the same state as the
+ * regular machine path: for messages longer than the tables, with characters outside the keyboard, with plugs the
+ * tables were not computed with, after byte-bounded LRU eviction, and through EnigmaEngineImpl after a reset.
+ */
+class KeystreamCacheTest {
+
+    private static final String MACHINE_XML = "ex3/ex3-sanity-paper-enigma.xml";
+    private static final List<Integer> ROTORS = List.of(3, 1, 2);
+    private static final List<Character> POSITIONS = List.of('Q', 'D', 'V');
+    private static final String REFLECTOR = "I";
+    private static final int MAX_LENGTH = 64;
+
+    @Test
+    void tablesMatchTheMachinePath() throws Exception {
+        KeystreamCache cache = new KeystreamCache(KeystreamCache.DEFAULT_MAX_BYTES, MAX_LENGTH);
+        String key = "code";
+
+        // Computed on a machine without plugs, then used with and without plugs
+        Machine source = configuredMachine("");
+        List<Character> codePositions = source.getCurrentRotorPositions();
+        KeystreamTables tables = cache.getOrCompute(key, MAX_LENGTH, source);
+        assertEquals(MAX_LENGTH, tables.getLength());
+        assertEquals(codePositions, source.getCurrentRotorPositions(), "the machine is put back at the code");
+
+        Random random = new Random(7);
+        String[] texts = {
+                randomText(random, 10, false),
+                randomText(random, MAX_LENGTH, false),
+                randomText(random, 500, false),             // Continues on the machine path after the tables
+                randomText(random, 500, true)               // Spaces and punctuation do not use up table entries
+        };
+        for (String plugs : new String[]{"", "AZ", "QWERTYUIOPLK"}) {
+            for (String text : texts) {
+                assertSameAsMachinePath(tables, plugs, text);
+            }
+        }
+    }
+
+    @Test
+    void evictedTablesAreRecomputedTheSame() throws Exception {
+        KeystreamTables probe = KeystreamTables.compute(configuredMachine(""), MAX_LENGTH);
+        // Room for two codes' tables
+        KeystreamCache cache = new KeystreamCache(probe.sizeInBytes() * 2, MAX_LENGTH);
+
+        Machine first = configuredMachine("");
+        KeystreamTables firstTables = cache.getOrCompute("first", MAX_LENGTH, first);
+        cache.getOrCompute("second", MAX_LENGTH, machineAt(List.of('A', 'A', 'A')));
+        assertSame(firstTables, cache.get("first", MAX_LENGTH)); // "first" is now the most recently used
+        cache.getOrCompute("third", MAX_LENGTH, machineAt(List.of('B', 'B', 'B')));
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.getBytes() <= cache.getMaxBytes());
+        assertNull(cache.get("second", MAX_LENGTH));
+        assertNotNull(cache.get("first", MAX_LENGTH));
+        assertNotNull(cache.get("third", MAX_LENGTH));
+
+        // Pushed out by two more codes, then computed again from a fresh machine
+        cache.getOrCompute("fourth", MAX_LENGTH, machineAt(List.of('C', 'C', 'C')));
+        cache.getOrCompute("fifth", MAX_LENGTH, machineAt(List.of('D', 'D', 'D')));
+        assertNull(cache.get("first", MAX_LENGTH));
+        KeystreamTables recomputed = cache.getOrCompute("first", MAX_LENGTH, configuredMachine(""));
+
+        String text = randomText(new Random(11), 300, true);
+        assertSameAsMachinePath(recomputed, "AZ", text);
+    }
+
+    @Test
+    void engineResetUsesTheCacheAndKeepsTheRotorState() throws Exception {
+        String first = randomText(new Random(3), 200, false);
+        String second = randomText(new Random(4), 50, false);
+
+        EnigmaEngineImpl plain = new EnigmaEngineImpl(loadMachine());
+        plain.setManualCode("3,1,2", "QDV", 1, "AZ");
+        String expectedFirst = plain.process(first);
+        String expectedSecond = plain.process(second);
+
+        KeystreamCache cache = new KeystreamCache(KeystreamCache.DEFAULT_MAX_BYTES, MAX_LENGTH);
+        EnigmaEngineImpl cached = new EnigmaEngineImpl(loadMachine());
+        cached.setKeystreamCache(cache);
+        cached.setManualCode("3,1,2", "QDV", 1, "AZ");
+        for (int run = 0; run < 3; run++) {
+            assertEquals(expectedFirst, cached.process(first), "run " + run);
+            assertEquals(expectedSecond, cached.process(second), "run " + run);
+            cached.reset();
+        }
+        assertTrue(cache.getHits() > 0, "the runs after a reset should be served from the cache");
+    }
+
+    // Two machines at the same code, one encrypting through the tables: same text, then same rotor state
+    private static void assertSameAsMachinePath(KeystreamTables tables, String plugs, String text) throws Exception {
+        Machine cached = configuredMachine(plugs);
+        Machine regular = configuredMachine(plugs);
+        String message = "plugs '" + plugs + "', " + text.length() + " characters";
+
+        assertEquals(regular.process(text), cached.process(text, tables), message);
+        assertEquals(regular.getCurrentRotorPositions(), cached.getCurrentRotorPositions(), message);
+        String next = "THENEXTMESSAGE";
+        assertEquals(regular.process(next), cached.process(next), message);
+    }
+
+    private static Machine configuredMachine(String plugs) throws Exception {
+        Machine machine = loadMachine();
+        machine.setConfiguration(ROTORS, POSITIONS, REFLECTOR, plugs);
+        return machine;
+    }
+
+    private static Machine machineAt(List<Character> positions) throws Exception {
+        Machine machine = loadMachine();
+        machine.setConfiguration(ROTORS, positions, REFLECTOR, "");
+        return machine;
+    }
+
+    private static Machine loadMachine() throws Exception {
+        try (InputStream in = KeystreamCacheTest.class.getClassLoader().getResourceAsStream(MACHINE_XML)) {
+            return new XmlMachineConfigLoader().load(in);
+        }
+    }
+
+    private static String randomText(Random random, int length, boolean withPunctuation) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(withPunctuation && random.nextInt(8) == 0
+                    ? " .,?".charAt(random.nextInt(4))
+                    : (char) ('A' + random.nextInt(26)));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,315 @@
+package logic.engine;
+
+import logic.loader.XmlMachineConfigLoader;
+import logic.loader.dto.MachineDescriptor;
+import logic.loader.dto.ReflectorDescriptor;
+import logic.loader.dto.RotorDescriptor;
+import logic.machine.MachineImpl;
+import logic.machine.components.Keyboard;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks MachineImpl, which scrambles through cached core tables that are rebuilt only for the rotors that moved,
+ * against a reference machine that walks every rotor and the reflector for every letter, straight from the
+ * descriptor tables. Long messages carry into the middle and left rotors many times; the rotors are also
+ * re-positioned mid-stream and the same machine is reconfigured with the rotors in other slots.
+ */
+class MachineCoreCacheTest {
+
+    private static final int MESSAGE_LENGTH = 3000;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ex3/ex3-sanity-paper-enigma.xml", "ex3/ex3-sanity-small.xml"})
+    void longMessagesMatchTheReference(String xml) throws Exception {
+        MachineDescriptor descriptor = loadDescriptor(xml);
+        MachineImpl machine = new MachineImpl(descriptor);
+        Random random = new Random(xml.hashCode());
+
+        for (int run = 0; run < 20; run++) {
+            Setup setup = Setup.random(descriptor, machine.getKeyboard(), random);
+            setup.apply(machine);
+            ReferenceMachine reference = new ReferenceMachine(descriptor, machine.getKeyboard(), setup);
+
+            String message = randomMessage(machine.getKeyboard(), random, MESSAGE_LENGTH);
+            assertEquals(reference.process(message), machine.process(message), setup.toString());
+            assertArrayEquals(reference.positions(), positions(machine), setup.toString());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ex3/ex3-sanity-paper-enigma.xml", "ex3/ex3-sanity-small.xml"})
+    void carriesThroughEverySlowerRotor(String xml) throws Exception {
+        MachineDescriptor descriptor = loadDescriptor(xml);
+        MachineImpl machine = new MachineImpl(descriptor);
+        Keyboard keyboard = machine.getKeyboard();
+        Random random = new Random(xml.hashCode());
+
+        for (int run = 0; run < 20; run++) {
+            // Every rotor one step before its notch, so the first letter moves all of them at once
+            Setup setup = Setup.random(descriptor, keyboard, random);
+            for (int slot = 0; slot < setup.rotorIds.size(); slot++) {
+                int[][] mapping = rotor(descriptor, setup.rotorIds.get(slot)).getMapping();
+                int notchRow = rotor(descriptor, setup.rotorIds.get(slot)).getNotchPosition() - 1;
+                int beforeNotch = (notchRow - 1 + keyboard.size()) % keyboard.size();
+                setup.positions.set(slot, keyboard.toChar(letterInRightRow(mapping, beforeNotch)));
+            }
+            setup.apply(machine);
+            ReferenceMachine reference = new ReferenceMachine(descriptor, keyboard, setup);
+
+            String message = randomMessage(keyboard, random, 200);
+            assertEquals(reference.process(message), machine.process(message), setup.toString());
+            assertArrayEquals(reference.positions(), positions(machine), setup.toString());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ex3/ex3-sanity-paper-enigma.xml", "ex3/ex3-sanity-small.xml"})
+    void repositionedRotorsMatchTheReference(String xml) throws Exception {
+        MachineDescriptor descriptor = loadDescriptor(xml);
+        MachineImpl machine = new MachineImpl(descriptor);
+        Keyboard keyboard = machine.getKeyboard();
+        Random random = new Random(xml.hashCode());
+
+        Setup setup = Setup.random(descriptor, keyboard, random);
+        setup.apply(machine);
+        ReferenceMachine reference = new ReferenceMachine(descriptor, keyboard, setup);
+
+        // Alternates whole messages, single letters through convertIndex and jumps (often of one rotor only)
+        for (int step = 0; step < 500; step++) {
+            switch (step % 3) {
+                case 0 -> {
+                    String message = randomMessage(keyboard, random, 1 + random.nextInt(80));
+                    assertEquals(reference.process(message), machine.process(message), "step " + step);
+                }
+                case 1 -> {
+                    int letter = random.nextInt(keyboard.size());
+                    assertEquals(reference.convertIndex(letter), machine.convertIndex(letter), "step " + step);
+                }
+                default -> {
+                    int[] jump = positions(machine);
+                    jump[random.nextInt(jump.length)] = random.nextInt(keyboard.size());
+                    machine.setRotorPositions(jump);
+                    reference.setPositions(jump);
+                }
+            }
+            assertArrayEquals(reference.positions(), positions(machine), "step " + step);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ex3/ex3-sanity-paper-enigma.xml", "ex3/ex3-sanity-small.xml"})
+    void reconfiguredMachineMatchesTheReference(String xml) throws Exception {
+        MachineDescriptor descriptor = loadDescriptor(xml);
+        MachineImpl machine = new MachineImpl(descriptor);
+        Keyboard keyboard = machine.getKeyboard();
+        Random random = new Random(xml.hashCode());
+
+        // One machine reconfigured after every message, so the same rotor objects move between slots
+        for (int run = 0; run < 50; run++) {
+            Setup setup = Setup.random(descriptor, keyboard, random);
+            setup.apply(machine);
+            ReferenceMachine reference = new ReferenceMachine(descriptor, keyboard, setup);
+
+            String message = randomMessage(keyboard, random, 300);
+            assertEquals(reference.process(message), machine.process(message), setup.toString());
+            assertArrayEquals(reference.positions(), positions(machine), setup.toString());
+        }
+    }
+
+    private static MachineDescriptor loadDescriptor(String xml) throws Exception {
+        try (InputStream in = MachineCoreCacheTest.class.getClassLoader().getResourceAsStream(xml)) {
+            return new XmlMachineConfigLoader().loadDescriptor(in);
+        }
+    }
+
+    private static RotorDescriptor rotor(MachineDescriptor descriptor, int id) {
+        return descriptor.getRotors().stream().filter(rotor -> rotor.getId() == id).findFirst().orElseThrow();
+    }
+
+    private static int letterInRightRow(int[][] mapping, int row) {
+        for (int letter = 0; letter < mapping.length; letter++) {
+            if (mapping[letter][0] == row) {
+                return letter;
+            }
+        }
+        throw new IllegalStateException("No letter in right row " + row);
+    }
+
+    private static int[] positions(MachineImpl machine) {
+        int[] positions = new int[machine.getRotorsCount()];
+        machine.fillRotorPositions(positions);
+        return positions;
+    }
+
+    // Keyboard letters with a space or punctuation mark in about one place out of ten
+    private static String randomMessage(Keyboard keyboard, Random random, int length) {
+        StringBuilder message = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            message.append(random.nextInt(10) == 0 ? " .,!".charAt(random.nextInt(4))
+                    : keyboard.toChar(random.nextInt(keyboard.size())));
+        }
+        return message.toString();
+    }
+
+    // Rotor ids and start positions (Left to Right), reflector and plugs of one configuration
+    private static final class Setup {
+        private final List<Integer> rotorIds;
+        private final List<Character> positions;
+        private final String reflectorId;
+        private final String plugs;
+
+        private Setup(List<Integer> rotorIds, List<Character> positions, String reflectorId, String plugs) {
+            this.rotorIds = rotorIds;
+            this.positions = positions;
+            this.reflectorId = reflectorId;
+            this.plugs = plugs;
+        }
+
+        private static Setup random(MachineDescriptor descriptor, Keyboard keyboard, Random random) {
+            List<Integer> ids = new ArrayList<>();
+            descriptor.getRotors().forEach(rotor -> ids.add(rotor.getId()));
+            Collections.shuffle(ids, random);
+            List<Integer> rotorIds = new ArrayList<>(ids.subList(0, descriptor.getRotorsCount()));
+
+            List<Character> positions = new ArrayList<>();
+            for (int i = 0; i < rotorIds.size(); i++) {
+                positions.add(keyboard.toChar(random.nextInt(keyboard.size())));
+            }
+            List<ReflectorDescriptor> reflectors = descriptor.getReflectors();
+            String reflectorId = reflectors.get(random.nextInt(reflectors.size())).getId();
+
+            // Up to a third of the letters plugged in pairs
+            List<Integer> letters = new ArrayList<>();
+            for (int i = 0; i < keyboard.size(); i++) {
+                letters.add(i);
+            }
+            Collections.shuffle(letters, random);
+            StringBuilder plugs = new StringBuilder();
+            int pairs = random.nextInt(keyboard.size() / 3 / 2 + 1);
+            for (int i = 0; i < pairs * 2; i++) {
+                plugs.append(keyboard.toChar(letters.get(i)));
+            }
+            return new Setup(rotorIds, positions, reflectorId, plugs.toString());
+        }
+
+        private void apply(MachineImpl machine) {
+            machine.setConfiguration(rotorIds, positions, reflectorId, plugs);
+        }
+
+        @Override
+        public String toString() {
+            return rotorIds + " " + positions + " " + reflectorId + " plugs '" + plugs + "'";
+        }
+    }
+
+    // Rotor by rotor, with no tables combined or cached: the fastest rotor steps before every keyboard letter and
+    // carries into the next one when it lands on its notch row
+    private static final class ReferenceMachine {
+        private final Keyboard keyboard;
+        private final int size;
+        private final int[][][] mappings;   // Per slot Left to Right: [letter] -> {right row, left row}
+        private final int[] notchRows;
+        private final int[] rows;           // Row under the window of every slot
+        private final int[] reflector;
+        private final int[] plugboard;
+
+        private ReferenceMachine(MachineDescriptor descriptor, Keyboard keyboard, Setup setup) {
+            this.keyboard = keyboard;
+            this.size = keyboard.size();
+            int count = setup.rotorIds.size();
+            this.mappings = new int[count][][];
+            this.notchRows = new int[count];
+            this.rows = new int[count];
+            for (int slot = 0; slot < count; slot++) {
+                RotorDescriptor rotor = rotor(descriptor, setup.rotorIds.get(slot));
+                mappings[slot] = rotor.getMapping();
+                notchRows[slot] = rotor.getNotchPosition() - 1;
+                rows[slot] = mappings[slot][keyboard.toIndex(setup.positions.get(slot))][0];
+            }
+
+            this.reflector = new int[size];
+            ReflectorDescriptor reflectorDescriptor = descriptor.getReflectors().stream()
+                    .filter(candidate -> candidate.getId().equals(setup.reflectorId)).findFirst().orElseThrow();
+            for (int[] pair : reflectorDescriptor.getPairs()) {
+                reflector[pair[0]] = pair[1];
+                reflector[pair[1]] = pair[0];
+            }
+
+            this.plugboard = new int[size];
+            Arrays.setAll(plugboard, i -> i);
+            for (int i = 0; i + 1 < setup.plugs.length(); i += 2) {
+                int a = keyboard.toIndex(setup.plugs.charAt(i));
+                int b = keyboard.toIndex(setup.plugs.charAt(i + 1));
+                plugboard[a] = b;
+                plugboard[b] = a;
+            }
+        }
+
+        private String process(String message) {
+            StringBuilder result = new StringBuilder(message.length());
+            for (char c : message.toCharArray()) {
+                result.append(keyboard.contains(c) ? keyboard.toChar(convertIndex(keyboard.toIndex(c))) : c);
+            }
+            return result.toString();
+        }
+
+        private int convertIndex(int letter) {
+            step();
+            int index = plugboard[letter];
+            for (int slot = rows.length - 1; slot >= 0; slot--) {
+                index = through(slot, index, 0, 1);
+            }
+            index = reflector[index];
+            for (int slot = 0; slot < rows.length; slot++) {
+                index = through(slot, index, 1, 0);
+            }
+            return plugboard[index];
+        }
+
+        private void step() {
+            for (int slot = rows.length - 1; slot >= 0; slot--) {
+                rows[slot] = (rows[slot] + 1) % size;
+                if (rows[slot] != notchRows[slot]) {
+                    return;
+                }
+            }
+        }
+
+        // Enters the rotor at a contact of one side and leaves at the row the same letter has on the other side
+        private int through(int slot, int index, int fromSide, int toSide) {
+            int contact = (index + rows[slot]) % size;
+            for (int[] rowsOfLetter : mappings[slot]) {
+                if (rowsOfLetter[fromSide] == contact) {
+                    return (rowsOfLetter[toSide] - rows[slot] + size) % size;
+                }
+            }
+            throw new IllegalStateException("No letter in row " + contact);
+        }
+
+        private void setPositions(int[] letters) {
+            for (int slot = 0; slot < rows.length; slot++) {
+                rows[slot] = mappings[slot][letters[slot]][0];
+            }
+        }
+
+        // Letter under the window of every slot, Left to Right
+        private int[] positions() {
+            int[] letters = new int[rows.length];
+            for (int slot = 0; slot < rows.length; slot++) {
+                letters[slot] = letterInRightRow(mappings[slot], rows[slot]);
+            }
+            return letters;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package logic.loader;
+
+import logic.exceptions.EnigmaException;
+import logic.loader.catalog.MachineCatalogFormat;
+import logic.loader.dto.MachineDescriptor;
+import logic.loader.dto.ReflectorDescriptor;
+import logic.loader.dto.RotorDescriptor;
+import logic.machine.Machine;
+import logic.machine.MachineImpl;
+
+import java.io.File;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads machines from a compiled binary catalog (see MachineCatalogFormat) instead of XML.
+ * The file is memory-mapped and its tables are bulk-copied straight into the descriptors,
+ * including the precomputed rotor wiring, so no JAXB, validation or conversion runs at startup.
+ * The catalog is produced by MachineCatalogCompiler from XML that was already validated, so only its
+ * structure and table values are checked: a count that does not fit in the remaining bytes, a row or letter
+ * index outside the alphabet, or wiring tables that are not inverse permutations are reported as
+ * CATALOG_INVALID_FORMAT.
+ */
+public class BinaryMachineConfigLoader implements MachineConfigLoader {
+
+    // Loads the first machine of the catalog at the specified path
+    @Override
+    public Machine load(String filePath) throws Exception {
+        List<MachineDescriptor> descriptors = loadDescriptors(filePath);
+        if (descriptors.isEmpty()) {
+            throw new EnigmaException(EnigmaException.ErrorCode.CATALOG_INVALID_FORMAT, filePath);
+        }
+        return new MachineImpl(descriptors.get(0));
+    }
+
+    // Loads every machine descriptor of the catalog at the specified path (memory-mapped)
+    public List<MachineDescriptor> loadDescriptors(String filePath) throws Exception {
+        File file = new File(filePath);
+        if (!file.exists())
+            throw new EnigmaException(EnigmaException.ErrorCode.FILE_NOT_FOUND, filePath);
+        if (!filePath.endsWith(MachineCatalogFormat.FILE_EXTENSION))
+            throw new EnigmaException(EnigmaException.ErrorCode.CATALOG_INVALID_FORMAT, filePath);
+
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return readCatalog(mapped, filePath);
+        }
+    }
+
+    // Loads every machine descriptor from catalog bytes that are already in memory
+    public List<MachineDescriptor> loadDescriptors(byte[] catalog) {
+        return readCatalog(ByteBuffer.wrap(catalog), "<memory>");
+    }
+
+    private List<MachineDescriptor> readCatalog(ByteBuffer buffer, String source) {
+        try {
+            if (buffer.getInt(0) != MachineCatalogFormat.MAGIC || buffer.getInt(4) != MachineCatalogFormat.VERSION) {
+                throw new EnigmaException(EnigmaException.ErrorCode.CATALOG_INVALID_FORMAT, source);
+            }
+
+            int machineCount = buffer.getInt(8);
+            checkCount(buffer.position(12), machineCount, Integer.BYTES);
+            List<MachineDescriptor> machines = new ArrayList<>(machineCount);
+            for (int i = 0; i < machineCount; i++) {
+                int offset = buffer.getInt(12 + i * Integer.BYTES);
+                machines.add(readMachine(buffer.position(offset)));
+            }
+            return machines;
+        } catch (IndexOutOfBoundsException | BufferUnderflowException | IllegalArgumentException e) {
+            throw new EnigmaException(EnigmaException.ErrorCode.CATALOG_INVALID_FORMAT, source);
+        }
+    }
+
+    private MachineDescriptor readMachine(ByteBuffer buffer) {
+        String name = readString(buffer);
+        int rotorsCount = buffer.getInt();
+        String alphabet = readString(buffer);
+        String plugs = readString(buffer);
+        int rotorCount = checkCount(buffer, buffer.getInt(), Integer.BYTES);
+        int reflectorCount = checkCount(buffer, buffer.getInt(), Integer.BYTES);
+        int size = alphabet.length();
+        checkRange(rotorsCount, 1, rotorCount + 1);
+
+        List<RotorDescriptor> rotors = new ArrayList<>(rotorCount);
+        for (int i = 0; i < rotorCount; i++) {
+            rotors.add(readRotor(buffer, size));
+        }
+
+        List<ReflectorDescriptor> reflectors = new ArrayList<>(reflectorCount);
+        for (int i = 0; i < reflectorCount; i++) {
+            String id = readString(buffer);
+            int pairCount = checkCount(buffer, buffer.getInt(), 2 * Integer.BYTES);
+            int[] flat = readInts(buffer, pairCount * 2);
+            for (int value : flat) {
+                checkRange(value, 0, size);
+            }
+            List<int[]> pairs = new ArrayList<>(pairCount);
+            for (int p = 0; p < pairCount; p++) {
+                pairs.add(new int[]{flat[p * 2], flat[p * 2 + 1]});
+            }
+            reflectors.add(new ReflectorDescriptor(id, pairs));
+        }
+
+        MachineDescriptor descriptor = new MachineDescriptor(rotorsCount, rotors, reflectors, alphabet, plugs);
+        descriptor.setName(name);
+        return descriptor;
+    }
+
+    private RotorDescriptor readRotor(ByteBuffer buffer, int size) {
+        int id = buffer.getInt();
+        // The notch is stored as written in the XML, which is 1-based
+        int notch = checkRange(buffer.getInt(), 1, size + 1);
+
+        int[] interleaved = readInts(buffer, size * 2);
+        int[][] mapping = new int[size][2];
+        for (int i = 0; i < size; i++) {
+            mapping[i][0] = checkRange(interleaved[i * 2], 0, size);
+            mapping[i][1] = checkRange(interleaved[i * 2 + 1], 0, size);
+        }
+
+        int[] forward = readInts(buffer, size);
+        int[] backward = readInts(buffer, size);
+        checkInverse(forward, backward);
+        return new RotorDescriptor(id, mapping, notch, forward, backward);
+    }
+
+    // Bulk-copies count ints from the current position through an IntBuffer view and advances the buffer
+    private int[] readInts(ByteBuffer buffer, int count) {
+        checkCount(buffer, count, Integer.BYTES);
+        int[] values = new int[count];
+        IntBuffer view = buffer.slice().asIntBuffer();
+        view.get(values);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        checkCount(buffer, length + length % 2, Character.BYTES);
+        char[] chars = new char[length];
+        buffer.asCharBuffer().get(chars);
+        buffer.position(buffer.position() + (length + length % 2) * Character.BYTES);
+        return new String(chars);
+    }
+
+    // Rejects a count that is negative or needs more bytes than are left, before anything is allocated for it
+    // (the IllegalArgumentException is reported as CATALOG_INVALID_FORMAT by readCatalog)
+    private static int checkCount(ByteBuffer buffer, int count, int elementBytes) {
+        if (count < 0 || (long) count * elementBytes > buffer.remaining()) {
+            throw new IllegalArgumentException("Count " + count + " exceeds the remaining catalog bytes");
+        }
+        return count;
+    }
+
+    // Rejects a table value outside [from, to)
+    private static int checkRange(int value, int from, int to) {
+        if (value < from || value >= to) {
+            throw new IllegalArgumentException("Value " + value + " is outside [" + from + ", " + to + ")");
+        }
+        return value;
+    }
+
+    // Rejects forward/backward wiring tables that are not each other's inverse permutation
+    private static void checkInverse(int[] forward, int[] backward) {
+        for (int row = 0; row < forward.length; row++) {
+            int left = checkRange(forward[row], 0, forward.length);
+            if (checkRange(backward[left], 0, backward.length) != row) {
+                throw new IllegalArgumentException("Wiring tables are not inverse at row " + row);
+            }
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package logic.loader;
+
+import logic.exceptions.EnigmaException;
+import logic.loader.dto.MachineDescriptor;
+import logic.loader.dto.ReflectorDescriptor;
+import logic.loader.dto.RotorDescriptor;
+import logic.loader.validation.AlphabetIndex;
+import logic.machine.Machine;
+import logic.machine.MachineImpl;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Streaming alternative to XmlMachineConfigLoader for very large machine definitions.
+ * Parses the XML with StAX and writes every positioning row straight into the rotor's [ABC][2] table
+ * (and every reflect element straight into its pair list), validating as the elements stream by.
+ * No JAXB tree is built, so peak memory stays proportional to the final machine instead of the XML document.
+ * Applies the same rules as XmlValidationRules.
+ */
+public class StaxMachineConfigLoader implements MachineConfigLoader {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    // Machine definitions never need DTDs or external entities; disabling them also blocks XXE
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    // Loads the machine configuration from the specified XML file path
+    @Override
+    public Machine load(String filePath) throws Exception {
+        File file = new File(filePath);
+        if (!file.exists())
+            throw new EnigmaException(EnigmaException.ErrorCode.FILE_NOT_FOUND, filePath);
+        if (!filePath.endsWith(".xml"))
+            throw new EnigmaException(EnigmaException.ErrorCode.FILE_NOT_XML_TYPE, filePath);
+
+        try (InputStream in = new FileInputStream(file)) {
+            return load(in);
+        }
+    }
+
+    // Loads directly from an InputStream (uploaded file)
+    public Machine load(InputStream inputStream) throws Exception {
+        return new MachineImpl(loadDescriptor(inputStream));
+    }
+
+    // Streams the XML into a validated MachineDescriptor
+    public MachineDescriptor loadDescriptor(InputStream inputStream) throws Exception {
+        XMLStreamReader reader = FACTORY.createXMLStreamReader(inputStream);
+        try {
+            return new StreamState().read(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    // Holds the state of a single streaming pass over one document
+    private static class StreamState {
+        private String name;
+        private int rotorsCount = -1;
+        private AlphabetIndex abc;
+
+        private final List<RotorDescriptor> rotors = new ArrayList<>();
+        private final List<ReflectorDescriptor> reflectors = new ArrayList<>();
+
+        // Rotors that appear before the ABC element keep their raw rows until the alphabet is known
+        private final List<PendingRotor> pendingRotors = new ArrayList<>();
+
+        // Current rotor being streamed
+        private int rotorId;
+        private int rotorNotch;
+        private int rowIndex;
+        private int[][] rotorMapping;
+        private PendingRotor pendingRotor;
+        private final BitSet seenRight = new BitSet();
+        private final BitSet seenLeft = new BitSet();
+
+        // Current reflector being streamed
+        private String reflectorId;
+        private List<int[]> reflectorPairs;
+
+        private MachineDescriptor read(XMLStreamReader reader) throws XMLStreamException {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    onStart(reader);
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    onEnd(reader.getLocalName());
+                }
+            }
+            return finish();
+        }
+
+        private void onStart(XMLStreamReader reader) throws XMLStreamException {
+            switch (reader.getLocalName()) {
+                case "BTE-Enigma" -> {
+                    name = reader.getAttributeValue(null, "name");
+                    rotorsCount = reader.getAttributeValue(null, "rotors-count") != null
+                            ? intAttribute(reader, "rotors-count") : -1;
+                }
+                case "ABC" -> onAlphabet(reader.getElementText().trim());
+                case "BTE-Rotor" -> startRotor(
+                        intAttribute(reader, "id"),
+                        intAttribute(reader, "notch"));
+                case "BTE-Positioning" -> onPositioning(
+                        reader.getAttributeValue(null, "right"),
+                        reader.getAttributeValue(null, "left"));
+                case "BTE-Reflector" -> {
+                    reflectorId = reader.getAttributeValue(null, "id");
+                    reflectorPairs = new ArrayList<>();
+                }
+                case "BTE-Reflect" -> {
+                    if (reflectorPairs == null) {
+                        throw new EnigmaException(EnigmaException.ErrorCode.XML_ELEMENT_MISPLACED, "BTE-Reflect", "BTE-Reflector");
+                    }
+                    reflectorPairs.add(new int[]{
+                            intAttribute(reader, "input") - 1,   // XML uses 1-based index, we convert to 0-based
+                            intAttribute(reader, "output") - 1});
+                }
+                default -> { }
+            }
+        }
+
+        private void onEnd(String localName) {
+            switch (localName) {
+                case "BTE-Rotor" -> endRotor();
+                case "BTE-Reflector" -> {
+                    reflectors.add(new ReflectorDescriptor(reflectorId, reflectorPairs));
+                    reflectorPairs = null;
+                }
+                default -> { }
+            }
+        }
+
+        // Validation: alphabet length must be an even number
+        private void onAlphabet(String alphabet) {
+            if (alphabet.length() % 2 != 0) {
+                throw new EnigmaException(EnigmaException.ErrorCode.XML_ABC_ODD_LENGTH, alphabet.length());
+            }
+            abc = new AlphabetIndex(alphabet);
+
+            // Resolve rotors that were streamed before the alphabet
+            for (PendingRotor pending : pendingRotors) {
+                startRotor(pending.id, pending.notch);
+                for (int i = 0; i < pending.rows; i++) {
+                    addRow(String.valueOf(pending.right[i]), String.valueOf(pending.left[i]));
+                }
+                endRotor();
+            }
+            pendingRotors.clear();
+        }
+
+        private void startRotor(int id, int notch) {
+            rotorId = id;
+            rotorNotch = notch;
+            rowIndex = 0;
+            if (abc == null) {
+                pendingRotor = new PendingRotor(id, notch);
+                return;
+            }
+            rotorMapping = new int[abc.size()][2];
+            seenRight.clear();
+            seenLeft.clear();
+        }
+
+        private void onPositioning(String right, String left) {
+            if (rotorMapping == null && pendingRotor == null) {
+                throw new EnigmaException(EnigmaException.ErrorCode.XML_ELEMENT_MISPLACED, "BTE-Positioning", "BTE-Rotor");
+            }
+            // A row without both sides can never match the ABC
+            if (right == null || left == null) {
+                throw new EnigmaException(EnigmaException.ErrorCode.XML_ROTOR_INVALID_CHARS, rotorId, right, left);
+            }
+            if (pendingRotor != null) {
+                pendingRotor.add(right, left);
+                return;
+            }
+            addRow(right, left);
+        }
+
+        // Validates a single positioning row and stores it in the rotor's [ABC][2] table
+        private void addRow(String right, String left) {
+            if (rowIndex >= abc.size()) {
+                throw new EnigmaException(EnigmaException.ErrorCode.XML_ROTOR_MAPPING_SIZE, rotorId);
+            }
+
+            String rightUpper = right.toUpperCase();
+            String leftUpper = left.toUpperCase();
+            int rightIndex = abc.indexOf(rightUpper);
+            int leftIndex = abc.indexOf(leftUpper);
+
+            // Check if characters are valid (exist in ABC)
+            if (rightIndex == -1 || leftIndex == -1) {
+                throw new EnigmaException(EnigmaException.ErrorCode.XML_ROTOR_INVALID_CHARS, rotorId, rightUpper, leftUpper);
+            }
+
+            // Rotors must be bijective (1-to-1), so a char may appear only once in each column
+            if (seenRight.get(rightIndex)) {
+                throw new EnigmaException(EnigmaException.ErrorCode.XML_ROTOR_DUPLICATE_RIGHT, rotorId, rightUpper);
+            }
+            if (seenLeft.get(leftIndex)) {
+                throw new EnigmaException(EnigmaException.ErrorCode.XML_ROTOR_DUPLICATE_LEFT, rotorId, leftUpper);
+            }
+            seenRight.set(rightIndex);
+            seenLeft.set(leftIndex);
+
+            rotorMapping[rightIndex][0] = rowIndex; // Right column position for this char
+            rotorMapping[leftIndex][1] = rowIndex;  // Left column position for this char
+            rowIndex++;
+        }
+
+        private void endRotor() {
+            if (pendingRotor != null) {
+                pendingRotors.add(pendingRotor);
+                pendingRotor = null;
+                return;
+            }
+            if (rowIndex != abc.size()) {
+                throw new EnigmaException(EnigmaException.ErrorCode.XML_ROTOR_MAPPING_SIZE, rotorId);
+            }
+            rotors.add(new RotorDescriptor(rotorId, rotorMapping, rotorNotch));
+            rotorMapping = null;
+        }
+
+        // Runs the whole-document rules once everything has been streamed
+        private MachineDescriptor finish() {
+            if (abc == null) {
+                throw new EnigmaException(EnigmaException.ErrorCode.XML_ABC_MISSING);
+            }
+            validateRotorIds();
+            validateRotorsCount();
+            validateReflectorIds();
+
+            MachineDescriptor descriptor = new MachineDescriptor(rotorsCount, rotors, reflectors, abc.getAlphabet(), "");
+            descriptor.setName(name);
+            return descriptor;
+        }
+
+        // Rotor IDs must be unique and sequential (1 to N)
+        private void validateRotorIds() {
+            BitSet ids = new BitSet(rotors.size() + 1);
+            for (RotorDescriptor rotor : rotors) {
+                int id = rotor.getId();
+                if (id < 1 || id > rotors.size() || ids.get(id)) {
+                    throw new EnigmaException(EnigmaException.ErrorCode.XML_ROTOR_ID_SEQUENCE);
+                }
+                ids.set(id);
+            }
+        }
+
+        // Validates that rotors-count is within valid range
+        private void validateRotorsCount() {
+            if (rotorsCount < 1) {
+                throw new EnigmaException(EnigmaException.ErrorCode.XML_ROTOR_COUNT_LESS_THAN_ONE, rotorsCount);
+            }
+            if (rotorsCount > rotors.size()) {
+                throw new EnigmaException(EnigmaException.ErrorCode.XML_ROTOR_COUNT_HIGHER_THAN_DEFINED, rotorsCount, rotors.size());
+            }
+        }
+
+        // Reflector IDs must be unique and sequential Roman numerals (I, II, III...)
+        private void validateReflectorIds() {
+            BitSet ids = new BitSet(reflectors.size() + 1);
+            for (ReflectorDescriptor reflector : reflectors) {
+                int id = convertRomanToInt(reflector.getId());
+                if (id > reflectors.size() || ids.get(id)) {
+                    throw new EnigmaException(EnigmaException.ErrorCode.XML_REFLECTOR_ID_SEQUENCE);
+                }
+                ids.set(id);
+            }
+        }
+
+        // Reads a required integer attribute of the current element
+        private static int intAttribute(XMLStreamReader reader, String attribute) {
+            String value = reader.getAttributeValue(null, attribute);
+            try {
+                if (value != null) {
+                    return Integer.parseInt(value.trim());
+                }
+            } catch (NumberFormatException ignored) {
+                // Reported below together with the missing case
+            }
+            throw new EnigmaException(EnigmaException.ErrorCode.XML_ATTRIBUTE_INVALID, reader.getLocalName(), attribute);
+        }
+
+        // Converts Roman numeral strings (I-V) to their integer representation
+        private static int convertRomanToInt(String roman) {
+            if (roman == null) {
+                throw new EnigmaException(EnigmaException.ErrorCode.XML_REFLECTOR_UNKNOWN_ID, "(missing)");
+            }
+            return switch (roman.toUpperCase()) {
+                case "I" -> 1;
+                case "II" -> 2;
+                case "III" -> 3;
+                case "IV" -> 4;
+                case "V" -> 5;
+                default -> throw new EnigmaException(EnigmaException.ErrorCode.XML_REFLECTOR_UNKNOWN_ID, roman);
+            };
+        }
+    }
+
+    // Raw rows of a rotor that was streamed before the ABC element (only the first char of each side is kept)
+    private static class PendingRotor {
+        private final int id;
+        private final int notch;
+        private char[] right = new char[16];
+        private char[] left = new char[16];
+        private int rows;
+
+        private PendingRotor(int id, int notch) {
+            this.id = id;
+            this.notch = notch;
+        }
+
+        private void add(String rightValue, String leftValue) {
+            if (rightValue.length() != 1 || leftValue.length() != 1) {
+                throw new EnigmaException(EnigmaException.ErrorCode.XML_ROTOR_INVALID_CHARS, id, rightValue, leftValue);
+            }
+            if (rows == right.length) {
+                right = Arrays.copyOf(right, rows * 2);
+                left = Arrays.copyOf(left, rows * 2);
+            }
+            right[rows] = rightValue.charAt(0);
+            left[rows] = leftValue.charAt(0);
+            rows++;
+        }
+    }
+}
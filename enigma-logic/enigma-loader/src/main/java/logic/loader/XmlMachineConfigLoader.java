@@ -5,7 +5,9 @@ import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Unmarshaller;
 import jaxb.schema.generated.*;
 import logic.exceptions.EnigmaException;
+import logic.jfr.MachineLoadPhaseEvent;
 import logic.loader.converters.XmlDtoConverter;
+import logic.loader.validation.AlphabetIndex;
 import logic.loader.validation.XmlValidationRules;
 import logic.machine.Machine;
 import logic.loader.dto.MachineDescriptor;
@@ -13,9 +15,16 @@ import logic.loader.dto.MachineDescriptor;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /** Validates and loads the Enigma Machine configuration from an XML file.*/
 public class XmlMachineConfigLoader implements MachineConfigLoader {
+    private static final String JAXB_PACKAGE = "jaxb.schema.generated";
+
+    // Unmarshallers are not thread-safe, so idle ones are pooled and each load borrows its own
+    private static final Queue<Unmarshaller> UNMARSHALLER_POOL = new ConcurrentLinkedQueue<>();
+
     private final XmlValidationRules validator; // Responsible for XML validation logic
     private final XmlDtoConverter converter;   // Responsible for converting JAXB objects to DTOs
 
@@ -24,6 +33,19 @@ public class XmlMachineConfigLoader implements MachineConfigLoader {
         this.converter = new XmlDtoConverter();
     }
 
+    // Holds the shared JAXBContext. Building it is expensive, so it is created once on first use (thread-safe)
+    private static final class ContextHolder {
+        private static final JAXBContext CONTEXT = createContext();
+
+        private static JAXBContext createContext() {
+            try {
+                return JAXBContext.newInstance(JAXB_PACKAGE);
+            } catch (JAXBException e) {
+                throw new IllegalStateException("Failed to create JAXB context for " + JAXB_PACKAGE, e);
+            }
+        }
+    }
+
     // Loads the machine configuration from the specified XML file path
     @Override
     public Machine load(String filePath) throws Exception {
@@ -39,21 +61,49 @@ public class XmlMachineConfigLoader implements MachineConfigLoader {
                     filePath);
 
         // JAXB Unmarshalling: Convert XML file to auto-generated Java objects
-        BTEEnigma bteEnigma = deserializeFromXML(new FileInputStream(file));
+        BTEEnigma bteEnigma;
+        try (InputStream in = new FileInputStream(file)) {
+            bteEnigma = deserializeFromXML(in);
+        }
 
         // Logic Validation: Check against exercise rules (e.g., even ABC length)
-        validator.validateMachineSpecs(bteEnigma);
+        AlphabetIndex abc = validate(bteEnigma);
 
         // Object Conversion: Convert JAXB objects to Domain objects (Machine, Rotor, etc.)
-        return converter.createMachineFromBTE(bteEnigma);
+        MachineLoadPhaseEvent event = new MachineLoadPhaseEvent(MachineLoadPhaseEvent.CONVERT);
+        event.begin();
+        Machine machine = converter.createMachineFromBTE(bteEnigma, abc);
+        event.commit();
+        return machine;
     }
 
     // Unmarshals the XML input stream into the auto-generated JAXB classes
     private BTEEnigma deserializeFromXML(InputStream in) throws JAXBException {
-        // Ensure the context path matches the package of your generated classes
-        JAXBContext jc = JAXBContext.newInstance("jaxb.schema.generated");
-        Unmarshaller u = jc.createUnmarshaller();
-        return (BTEEnigma) u.unmarshal(in);
+        MachineLoadPhaseEvent event = new MachineLoadPhaseEvent(MachineLoadPhaseEvent.UNMARSHAL);
+        event.begin();
+        Unmarshaller u = borrowUnmarshaller();
+        try {
+            return (BTEEnigma) u.unmarshal(in);
+        } finally {
+            UNMARSHALLER_POOL.offer(u);
+            event.commit();
+        }
+    }
+
+    // Checks the exercise rules and returns the ABC lookup table, which is shared by validation and conversion
+    private AlphabetIndex validate(BTEEnigma bteEnigma) throws Exception {
+        MachineLoadPhaseEvent event = new MachineLoadPhaseEvent(MachineLoadPhaseEvent.VALIDATE);
+        event.begin();
+        AlphabetIndex abc = new AlphabetIndex(bteEnigma.getABC().trim());
+        validator.validateMachineSpecs(bteEnigma, abc);
+        event.commit();
+        return abc;
+    }
+
+    // Takes an idle unmarshaller from the pool, or creates a new one from the shared context
+    private static Unmarshaller borrowUnmarshaller() throws JAXBException {
+        Unmarshaller u = UNMARSHALLER_POOL.poll();
+        return u != null ? u : ContextHolder.CONTEXT.createUnmarshaller();
     }
 
     // Loads directly from an InputStream (uploaded file)
@@ -62,10 +112,14 @@ public class XmlMachineConfigLoader implements MachineConfigLoader {
         BTEEnigma bteEnigma = deserializeFromXML(inputStream);
 
         // Logic Validation
-        validator.validateMachineSpecs(bteEnigma);
+        AlphabetIndex abc = validate(bteEnigma);
 
         // Object Conversion: Convert JAXB objects to Domain objects
-        return converter.createMachineFromBTE(bteEnigma);
+        MachineLoadPhaseEvent event = new MachineLoadPhaseEvent(MachineLoadPhaseEvent.CONVERT);
+        event.begin();
+        Machine machine = converter.createMachineFromBTE(bteEnigma, abc);
+        event.commit();
+        return machine;
     }
 
     // Add this method to XmlMachineConfigLoader.java
@@ -74,10 +128,14 @@ public class XmlMachineConfigLoader implements MachineConfigLoader {
         // Note: Since deserializeFromXML is private, make sure this method is in the same class
         BTEEnigma bteEnigma = deserializeFromXML(inputStream);
 
-        // 2. Validate (uses your existing validator)
-        validator.validateMachineSpecs(bteEnigma);
+        // 2. Validate (uses your existing validator), sharing one ABC lookup table with the converter
+        AlphabetIndex abc = validate(bteEnigma);
 
         // 3. Convert to DTO instead of full Machine logic object
-        return converter.convertToDescriptor(bteEnigma);
+        MachineLoadPhaseEvent event = new MachineLoadPhaseEvent(MachineLoadPhaseEvent.CONVERT);
+        event.begin();
+        MachineDescriptor descriptor = converter.convertToDescriptor(bteEnigma, abc);
+        event.commit();
+        return descriptor;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package logic.loader.catalog;
+
+import logic.loader.XmlMachineConfigLoader;
+import logic.loader.dto.MachineDescriptor;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line tool that compiles machine XML files into one binary catalog.
+ * Usage: MachineCatalogCompiler &lt;output.emc&gt; &lt;machine1.xml&gt; [machine2.xml ...]
+ * Machines without a name are named after their file, the same way EngineManager names uploads.
+ */
+public class MachineCatalogCompiler {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: MachineCatalogCompiler <output" + MachineCatalogFormat.FILE_EXTENSION + "> <machine.xml>...");
+            System.exit(1);
+        }
+
+        List<MachineDescriptor> machines = new ArrayList<>();
+        XmlMachineConfigLoader loader = new XmlMachineConfigLoader();
+        for (int i = 1; i < args.length; i++) {
+            File file = new File(args[i]);
+            try (InputStream in = new FileInputStream(file)) {
+                MachineDescriptor descriptor = loader.loadDescriptor(in);
+                if (descriptor.getName() == null || descriptor.getName().trim().isEmpty()) {
+                    descriptor.setName(file.getName().replace(".xml", ""));
+                }
+                machines.add(descriptor);
+                System.out.println("Compiled machine: " + descriptor.getName());
+            }
+        }
+
+        new MachineCatalogWriter().write(Path.of(args[0]), machines);
+        System.out.println("Wrote " + machines.size() + " machine(s) to " + args[0]);
+    }
+}
@@ -0,0 +1,26 @@
+package logic.loader.catalog;
+
+/**
+ * Layout of the compiled binary machine catalog (.emc files).
+ * All values are big-endian ints and every section starts on a 4-byte boundary,
+ * so a memory-mapped file can be read with direct IntBuffer views.
+ *
+ * <pre>
+ * header:   MAGIC, VERSION, machineCount, machineCount x int offset (byte offset of each machine section)
+ * machine:  string name, int rotorsCount, string abc, string plugs, int rotorCount, int reflectorCount
+ *           rotorCount x rotor, reflectorCount x reflector
+ * rotor:    int id, int notch (1-based, as in the XML), int[ABC x 2] position table ([i][0], [i][1] interleaved),
+ *           int[ABC] forward wiring, int[ABC] backward wiring
+ * reflector: string id, int pairCount, int[pairCount x 2] pairs (0-based)
+ * string:   int length (-1 for null), length chars, one padding char when length is odd
+ * </pre>
+ */
+public final class MachineCatalogFormat {
+
+    public static final int MAGIC = 0x454E4D43; // "ENMC"
+    public static final int VERSION = 1;
+    public static final String FILE_EXTENSION = ".emc";
+
+    private MachineCatalogFormat() {
+    }
+}
@@ -0,0 +1,113 @@
+package logic.loader.catalog;
+
+import logic.loader.dto.MachineDescriptor;
+import logic.loader.dto.ReflectorDescriptor;
+import logic.loader.dto.RotorDescriptor;
+import logic.machine.components.RotorImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes MachineDescriptors into the compiled binary catalog format described in MachineCatalogFormat.
+ * Rotor wiring tables are computed here once, so loading the catalog needs no further processing.
+ */
+public class MachineCatalogWriter {
+
+    // Writes the catalog to the given file, replacing it if it exists
+    public void write(Path target, List<MachineDescriptor> machines) throws IOException {
+        try (OutputStream out = Files.newOutputStream(target)) {
+            out.write(toBytes(machines));
+        }
+    }
+
+    // Serializes the catalog into a byte array
+    public byte[] toBytes(List<MachineDescriptor> machines) throws IOException {
+        List<byte[]> sections = new ArrayList<>(machines.size());
+        for (MachineDescriptor machine : machines) {
+            sections.add(writeMachine(machine));
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MachineCatalogFormat.MAGIC);
+        out.writeInt(MachineCatalogFormat.VERSION);
+        out.writeInt(sections.size());
+
+        // Offsets table: each machine section follows the header, back to back
+        int offset = Integer.BYTES * (3 + sections.size());
+        for (byte[] section : sections) {
+            out.writeInt(offset);
+            offset += section.length;
+        }
+        for (byte[] section : sections) {
+            out.write(section);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private byte[] writeMachine(MachineDescriptor machine) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        writeString(out, machine.getName());
+        out.writeInt(machine.getRotorsCount());
+        writeString(out, machine.getAlphabet());
+        writeString(out, machine.getPlugs());
+        out.writeInt(machine.getRotors().size());
+        out.writeInt(machine.getReflectors().size());
+
+        for (RotorDescriptor rotor : machine.getRotors()) {
+            writeRotor(out, rotor);
+        }
+        for (ReflectorDescriptor reflector : machine.getReflectors()) {
+            writeString(out, reflector.getId());
+            out.writeInt(reflector.getPairs().size());
+            for (int[] pair : reflector.getPairs()) {
+                out.writeInt(pair[0]);
+                out.writeInt(pair[1]);
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private void writeRotor(DataOutputStream out, RotorDescriptor rotor) throws IOException {
+        int[][] mapping = rotor.getMapping();
+        int[] forward = rotor.getForwardWiring() != null ? rotor.getForwardWiring() : RotorImpl.computeForwardWiring(mapping);
+        int[] backward = rotor.getBackwardWiring() != null ? rotor.getBackwardWiring() : RotorImpl.computeBackwardWiring(mapping);
+
+        out.writeInt(rotor.getId());
+        out.writeInt(rotor.getNotchPosition());
+        for (int[] row : mapping) {
+            out.writeInt(row[0]);
+            out.writeInt(row[1]);
+        }
+        for (int value : forward) {
+            out.writeInt(value);
+        }
+        for (int value : backward) {
+            out.writeInt(value);
+        }
+    }
+
+    // Strings are stored as UTF-16 chars, padded to keep the next section 4-byte aligned
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(value.length());
+        out.writeChars(value);
+        if (value.length() % 2 != 0) {
+            out.writeChar(0);
+        }
+    }
+}
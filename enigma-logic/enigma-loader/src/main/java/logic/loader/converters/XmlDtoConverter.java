@@ -8,6 +8,7 @@ import jaxb.schema.generated.BTERotor;
 import logic.loader.dto.MachineDescriptor;
 import logic.loader.dto.ReflectorDescriptor;
 import logic.loader.dto.RotorDescriptor;
+import logic.loader.validation.AlphabetIndex;
 import logic.machine.Machine;
 import logic.machine.MachineImpl;
 
@@ -22,7 +23,11 @@ public class XmlDtoConverter implements Serializable {
 
     // Converts the raw BTEEnigma object into a MachineDescriptor and initializes the MachineImpl
     public Machine createMachineFromBTE(BTEEnigma bteEnigma) {
-        String abc = bteEnigma.getABC().trim();
+        return createMachineFromBTE(bteEnigma, new AlphabetIndex(bteEnigma.getABC().trim()));
+    }
+
+    // Same as createMachineFromBTE, reusing the ABC lookup table built for this load
+    public Machine createMachineFromBTE(BTEEnigma bteEnigma, AlphabetIndex abc) {
 
         // Create rotor descriptors
         List<RotorDescriptor> rotorDescriptors = getRotorDescriptors(bteEnigma, abc);
@@ -42,7 +47,7 @@ public class XmlDtoConverter implements Serializable {
                 requiredRotorsCount,   // Dynamic count from XML
                 rotorDescriptors,
                 reflectorDescriptors,
-                abc,
+                abc.getAlphabet(),
                 ""
         );
 
@@ -52,7 +57,7 @@ public class XmlDtoConverter implements Serializable {
     }
 
     // Helper method to parse BTE rotors into RotorDescriptor objects.
-    private List<RotorDescriptor> getRotorDescriptors(BTEEnigma bteEnigma, String abc) {
+    private List<RotorDescriptor> getRotorDescriptors(BTEEnigma bteEnigma, AlphabetIndex abc) {
         List<RotorDescriptor> result = new ArrayList<>();
         for (BTERotor bteRotor : bteEnigma.getBTERotors().getBTERotor()) {
             result.add(createSingleRotorDescriptor(bteRotor, abc));
@@ -61,7 +66,7 @@ public class XmlDtoConverter implements Serializable {
     }
 
     // Converts a single BTERotor JAXB object into a RotorDescriptor DTO.
-    private RotorDescriptor createSingleRotorDescriptor(BTERotor bteRotor, String abc) {
+    private RotorDescriptor createSingleRotorDescriptor(BTERotor bteRotor, AlphabetIndex abc) {
         int id = bteRotor.getId();
         int notch = bteRotor.getNotch();
 
@@ -76,15 +81,15 @@ public class XmlDtoConverter implements Serializable {
     // The resulting array allows the Rotor component to map forward and backward quickly.
     // Cell [i][0] holds the row index where char 'i' appears in the RIGHT column (forward path)
     // Cell [i][1] holds the row index where char 'i' appears in the LEFT column (backward path)
-    private int[][] calculateLocationMapping(List<BTEPositioning> positions, String abc) {
-        int length = abc.length();
+    private int[][] calculateLocationMapping(List<BTEPositioning> positions, AlphabetIndex abc) {
+        int length = abc.size();
         int[][] mapping = new int[length][2];
 
         for (int i = 0; i < positions.size(); i++) {
             BTEPositioning pos = positions.get(i);
 
-            char rightChar = pos.getRight().charAt(0);
-            char leftChar = pos.getLeft().charAt(0);
+            char rightChar = Character.toUpperCase(pos.getRight().charAt(0));
+            char leftChar = Character.toUpperCase(pos.getLeft().charAt(0));
 
             int rightIndex = abc.indexOf(rightChar);
             int leftIndex = abc.indexOf(leftChar);
@@ -107,7 +112,11 @@ public class XmlDtoConverter implements Serializable {
     }
 
     public MachineDescriptor convertToDescriptor(BTEEnigma bteEnigma) {
-        String abc = bteEnigma.getABC().trim();
+        return convertToDescriptor(bteEnigma, new AlphabetIndex(bteEnigma.getABC().trim()));
+    }
+
+    // Same as convertToDescriptor, reusing the ABC lookup table built for this load
+    public MachineDescriptor convertToDescriptor(BTEEnigma bteEnigma, AlphabetIndex abc) {
 
         // Reusing your existing logic to get rotor descriptors
         List<RotorDescriptor> rotorDescriptors = getRotorDescriptors(bteEnigma, abc);
@@ -121,6 +130,6 @@ public class XmlDtoConverter implements Serializable {
         int requiredRotorsCount = bteEnigma.getRotorsCount().intValue();
 
         // Return the descriptor (the 'plugs' field is empty string for now as it's a static machine definition)
-        return new MachineDescriptor(requiredRotorsCount, rotorDescriptors, reflectorDescriptors, abc, "");
+        return new MachineDescriptor(requiredRotorsCount, rotorDescriptors, reflectorDescriptors, abc.getAlphabet(), "");
     }
 }
\ No newline at end of file
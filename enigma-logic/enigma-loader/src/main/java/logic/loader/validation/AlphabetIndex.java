@@ -0,0 +1,49 @@
+package logic.loader.validation;
+
+import java.util.Arrays;
+
+/**
+ * A char to index lookup table for one machine alphabet.
+ * Built once per load so validation and conversion can resolve every positioning row in O(1)
+ * instead of scanning the ABC string with indexOf.
+ */
+public class AlphabetIndex {
+
+    private final String alphabet;
+    private final int[] indexByChar; // indexByChar[c] = position of c in the alphabet, or -1
+
+    public AlphabetIndex(String alphabet) {
+        this.alphabet = alphabet;
+
+        int maxChar = 0;
+        for (int i = 0; i < alphabet.length(); i++) {
+            maxChar = Math.max(maxChar, alphabet.charAt(i));
+        }
+
+        this.indexByChar = new int[maxChar + 1];
+        Arrays.fill(indexByChar, -1);
+
+        // On duplicate symbols the first occurrence wins, the same as abc.indexOf
+        for (int i = alphabet.length() - 1; i >= 0; i--) {
+            indexByChar[alphabet.charAt(i)] = i;
+        }
+    }
+
+    // Returns the index of the given character, or -1 if it is not part of the alphabet
+    public int indexOf(char c) {
+        return c < indexByChar.length ? indexByChar[c] : -1;
+    }
+
+    // Returns the index of a single-character XML value (e.g. a positioning attribute), or -1 if it is not a single ABC char
+    public int indexOf(String value) {
+        return value != null && value.length() == 1 ? indexOf(value.charAt(0)) : -1;
+    }
+
+    public int size() {
+        return alphabet.length();
+    }
+
+    public String getAlphabet() {
+        return alphabet;
+    }
+}
@@ -6,20 +6,25 @@ import jaxb.schema.generated.BTEReflector;
 import jaxb.schema.generated.BTERotor;
 import logic.exceptions.EnigmaException;
 
-import java.util.HashSet;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 // Utility class responsible for performing the logical validation rules for XML
 public class XmlValidationRules {
 
+    // From this many rotors on, the per-rotor mapping checks run in parallel
+    private static final int PARALLEL_ROTORS_THRESHOLD = 32;
+
     // Validates the logical integrity of the loaded XML data
     public void validateMachineSpecs(BTEEnigma enigma) throws Exception {
-        String abc = enigma.getABC().trim();
+        validateMachineSpecs(enigma, new AlphabetIndex(enigma.getABC().trim()));
+    }
 
-        validateABC(abc);
-        validateRotors(enigma.getBTERotors().getBTERotor(), abc); // Updated to pass ABC string
+    // Validates the loaded XML data using an ABC lookup table that was already built for this load
+    public void validateMachineSpecs(BTEEnigma enigma, AlphabetIndex abc) throws Exception {
+        validateABC(abc.getAlphabet());
+        validateRotors(enigma.getBTERotors().getBTERotor(), abc);
         validateRotorsCount(enigma);
         validateReflectors(enigma.getBTEReflectors().getBTEReflector());
     }
@@ -48,9 +53,7 @@ public class XmlValidationRules {
     }
 
     // Validates the loaded rotors against multiple rules: min count, sequential IDs, mapping size, and internal logic.
-    private void validateRotors(List<BTERotor> rotors, String abc) throws Exception {
-        int expectedMappingSize = abc.length();
-
+    private void validateRotors(List<BTERotor> rotors, AlphabetIndex abc) throws Exception {
         // Check sequential IDs (1, 2, 3...)
         List<Integer> ids = rotors.stream().map(BTERotor::getId).sorted().collect(Collectors.toList());
         for (int i = 0; i < ids.size(); i++) {
@@ -59,52 +62,63 @@ public class XmlValidationRules {
             }
         }
 
-        // Check mapping size matches ABC and logical validity (no duplicates)
-        for (BTERotor rotor : rotors) {
-            if (rotor.getBTEPositioning().size() != expectedMappingSize) {
-                throw new EnigmaException(EnigmaException.ErrorCode.
-                        XML_ROTOR_MAPPING_SIZE,
-                        rotor.getId());
+        // Check mapping size matches ABC and logical validity (no duplicates).
+        // Rotors are independent of each other, so large machines check them in parallel
+        if (rotors.size() >= PARALLEL_ROTORS_THRESHOLD) {
+            rotors.parallelStream().forEach(rotor -> validateSingleRotor(rotor, abc));
+        } else {
+            for (BTERotor rotor : rotors) {
+                validateSingleRotor(rotor, abc);
             }
+        }
+    }
 
-            // Validate mapping logic (Duplicate keys in Right/Left)
-            validateRotorMappingLogic(rotor, abc);
+    private void validateSingleRotor(BTERotor rotor, AlphabetIndex abc) {
+        if (rotor.getBTEPositioning().size() != abc.size()) {
+            throw new EnigmaException(EnigmaException.ErrorCode.
+                    XML_ROTOR_MAPPING_SIZE,
+                    rotor.getId());
         }
+
+        // Validate mapping logic (Duplicate keys in Right/Left)
+        validateRotorMappingLogic(rotor, abc);
     }
 
-    // Validates that a single rotor has a valid 1-to-1 mapping (bijective)
-    private void validateRotorMappingLogic(BTERotor rotor, String abc) throws Exception {
-        Set<String> rightSideChars = new HashSet<>();
-        Set<String> leftSideChars = new HashSet<>();
+    // Validates that a single rotor has a valid 1-to-1 mapping (bijective) in O(ABC) using one bit per ABC char
+    private void validateRotorMappingLogic(BTERotor rotor, AlphabetIndex abc) {
+        BitSet rightSideChars = new BitSet(abc.size());
+        BitSet leftSideChars = new BitSet(abc.size());
 
         for (BTEPositioning pos : rotor.getBTEPositioning()) {
             String right = pos.getRight().toUpperCase();
             String left = pos.getLeft().toUpperCase();
+            int rightIndex = abc.indexOf(right);
+            int leftIndex = abc.indexOf(left);
 
             // Check if characters are valid (exist in ABC)
-            if (abc.indexOf(right) == -1 || abc.indexOf(left) == -1) {
+            if (rightIndex == -1 || leftIndex == -1) {
                 throw new EnigmaException(EnigmaException.ErrorCode.
                         XML_ROTOR_INVALID_CHARS
-                        , right, left);
+                        , rotor.getId(), right, left);
             }
 
             // Check for duplicates in the RIGHT column (Source)
             // If "A" appears twice in 'right', it means 'A' maps to two different things to Invalid
-            if (rightSideChars.contains(right)) {
+            if (rightSideChars.get(rightIndex)) {
                 throw new EnigmaException(EnigmaException.ErrorCode.
                         XML_ROTOR_DUPLICATE_RIGHT
                         , rotor.getId(), right);
             }
-            rightSideChars.add(right);
+            rightSideChars.set(rightIndex);
 
             // Check for duplicates in the LEFT column (Target)
             // In Enigma, rotors must be bijective (1-to-1), so duplicates here are also invalid
-            if (leftSideChars.contains(left)) {
+            if (leftSideChars.get(leftIndex)) {
                 throw new EnigmaException(EnigmaException.ErrorCode.
                         XML_ROTOR_DUPLICATE_LEFT,
                         rotor.getId(), left);
             }
-            leftSideChars.add(left);
+            leftSideChars.set(leftIndex);
         }
     }
 
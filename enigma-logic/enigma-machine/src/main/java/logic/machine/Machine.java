@@ -4,6 +4,7 @@ import logic.machine.components.Keyboard;
 import logic.machine.components.Plugboard;
 import logic.machine.components.Reflector;
 import logic.machine.components.Rotor;
+import logic.machine.utils.KeystreamTables;
 
 import java.util.List;
 import java.util.Map;
@@ -13,6 +14,10 @@ public interface Machine {
     // Process a full string (encrypt/decrypt)
     String process(String input);
 
+    // Same as process, but the first tables.getLength() letters use the precomputed scrambler tables,
+    // which must start at the current rotor positions (see KeystreamTables.compute)
+    String process(String input, KeystreamTables tables);
+
     int getProcessedMessages();
 
     List<Character> getCurrentRotorPositions();
@@ -39,6 +44,28 @@ public interface Machine {
 
     public char convert(char input);
 
+    // Index-based fast path (no boxing, no chars): sets the active rotors' positions as keyboard indices, Left to Right
+    void setRotorPositions(int[] positionIndices);
+
+    // Writes the active rotors' positions as keyboard indices, Left to Right (any machine size, no allocation)
+    void fillRotorPositions(int[] out);
+
+    // The active rotors' positions as one mixed-radix number: digits in base alphabet size, read Left to Right.
+    // Cheap to hash and compare; only for machines where alphabetSize ^ rotorsCount fits in a long
+    long getPackedRotorState();
+
+    // Restores positions exported by getPackedRotorState
+    void setPackedRotorState(long packedState);
+
+    // Index-based fast path: runs one keyboard index through plugboard, rotors and reflector (stepping first)
+    int convertIndex(int index);
+
+    // Steps the rotors exactly like one key press, without converting anything
+    void advanceRotors();
+
+    // Writes the rotors + reflector permutation of the current rotor state (no plugboard, no stepping) into out
+    void fillScramblerPermutation(int[] out);
+
     public Plugboard getPlugboard();
 
     public int getRotorsCount();
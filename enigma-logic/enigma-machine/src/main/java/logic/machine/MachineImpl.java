@@ -1,6 +1,7 @@
 package logic.machine;
 
 import logic.machine.utils.CodeFormatter;
+import logic.machine.utils.KeystreamTables;
 import logic.exceptions.EnigmaException;
 import logic.loader.dto.MachineDescriptor;
 import logic.loader.dto.ReflectorDescriptor;
@@ -21,7 +22,14 @@ public class MachineImpl implements Machine, Serializable {
     private boolean debugMode = false; // Default to true for logs
     private final CodeFormatter formatter;
     private final Plugboard plugboard; // Used for swapping characters before and after the rotors
+    private final int[] plugTable; // Index view of the plugboard (plugTable[i] = swapped index) for convertIndex
+    // coreTables[i] = combined permutation of rotors i..leftmost + the reflector + the way back (i >= 1).
+    // coreTables[1] is "everything except the fastest rotor", and each level is built from the next one,
+    // so a level is only rebuilt when its own rotor (or a slower one) moves: rarely, for the slow rotors
+    private final int[][] coreTables;
+    private int dirtyCoreLevels; // coreTables[1..dirtyCoreLevels] are stale
     private final int rotorsCount;
+    private final long packedStateLimit; // alphabetSize ^ rotorsCount, or -1 when it does not fit in a long
     private final String name;
 
     // Main constructor from XML Descriptor
@@ -34,7 +42,11 @@ public class MachineImpl implements Machine, Serializable {
         this.activeReflector = null;
         this.formatter = new CodeFormatter(this.allAvailableRotors, this.keyboard);
         this.plugboard = new PlugboardImpl();
+        this.plugTable = new int[keyboard.size()];
+        this.coreTables = new int[Math.max(1, descriptor.getRotorsCount())][keyboard.size()];
+        resetPlugTable();
         this.rotorsCount = descriptor.getRotorsCount();
+        this.packedStateLimit = computePackedStateLimit(keyboard.size(), rotorsCount);
         this.name = descriptor.getName();
 
         // Load Rotors
@@ -59,7 +71,9 @@ public class MachineImpl implements Machine, Serializable {
 
             // 2. Create the Rotor using the updated constructor that accepts int[][]
             // Note: We subtract 1 from the notch position because XML is 1-based, but our internal logic is 0-based.
-            Rotor rotor = new RotorImpl(desc.getId(), mapping, desc.getNotchPosition() - 1, 0);
+            // Precomputed wiring tables (when the descriptor carries them) are used as-is
+            Rotor rotor = new RotorImpl(desc.getId(), mapping, desc.getForwardWiring(), desc.getBackwardWiring(),
+                    desc.getNotchPosition() - 1, 0);
 
             this.allAvailableRotors.put(rotor.getId(), rotor);
         }
@@ -100,6 +114,33 @@ public class MachineImpl implements Machine, Serializable {
             char c1 = plugsString.charAt(i);
             char c2 = plugsString.charAt(i + 1);
             this.plugboard.addPlug(c1, c2);
+
+            // Plugs outside the alphabet can never be reached by an index, so the table ignores them
+            if (keyboard.contains(c1) && keyboard.contains(c2)) {
+                int i1 = keyboard.toIndex(c1);
+                int i2 = keyboard.toIndex(c2);
+                plugTable[i1] = i2;
+                plugTable[i2] = i1;
+            }
+        }
+    }
+
+    private static long computePackedStateLimit(int alphabetSize, int rotorsCount) {
+        long limit = 1;
+        try {
+            for (int i = 0; i < rotorsCount; i++) {
+                limit = Math.multiplyExact(limit, alphabetSize);
+            }
+        } catch (ArithmeticException e) {
+            return -1;
+        }
+        return limit;
+    }
+
+    // Identity plug table (no plugs connected)
+    private void resetPlugTable() {
+        for (int i = 0; i < plugTable.length; i++) {
+            plugTable[i] = i;
         }
     }
 
@@ -111,64 +152,209 @@ public class MachineImpl implements Machine, Serializable {
             return "";
 
         String normalized = input.toUpperCase();
-        StringBuilder result = new StringBuilder();
+        StringBuilder result = new StringBuilder(normalized.length());
 
-        logDebug("--- [START] Processing String: %s ---", normalized);
+        if (debugMode) logDebug("--- [START] Processing String: %s ---", normalized);
 
         // Ignore characters not in the keyboard alphabet
-        for (char c : normalized.toCharArray()) {
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
             if (!keyboard.contains(c)) {
                 result.append(c);
                 continue;
             }
 
-            result.append(convert(c));
+            // Without logging, the same flow runs on keyboard indices (no plugboard map lookups)
+            result.append(debugMode ? convert(c) : keyboard.toChar(convertIndex(keyboard.toIndex(c))));
         }
 
-        logDebug("--- [END] Process Completed. Result: %s ---\n", result.toString());
+        if (debugMode) logDebug("--- [END] Process Completed. Result: %s ---\n", result);
+        return result.toString();
+    }
+
+    @Override
+    // One table lookup per letter while the tables last, then the regular path (the rotors are stepped either way)
+    public String process(String input, KeystreamTables tables) {
+        if (debugMode || tables == null) {
+            return process(input);
+        }
+        processedMessages++;
+        if (input == null || input.isEmpty())
+            return "";
+
+        String normalized = input.toUpperCase();
+        StringBuilder result = new StringBuilder(normalized.length());
+        int offset = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (!keyboard.contains(c)) {
+                result.append(c);
+                continue;
+            }
+            if (offset < tables.getLength()) {
+                stepRotorsChain();
+                int index = plugTable[tables.map(offset++, plugTable[keyboard.toIndex(c)])];
+                result.append(keyboard.toChar(index));
+            } else {
+                result.append(convert(c));
+            }
+        }
         return result.toString();
     }
 
     @Override
     // Handles the complete flow of a single character through the machine
     public char convert(char inputChar) {
-        logDebug("\n[CHAR] Processing character: '%c'", inputChar);
+        if (debugMode) logDebug("\n[CHAR] Processing character: '%c'", inputChar);
 
         // Plugboard (First Pass)- Before entering the rotors
         char afterPlugboard = plugboard.convert(inputChar);
-        logDebug("  [PLUG]  Input '%c' -> Plugboard -> '%c'", inputChar, afterPlugboard);
+        if (debugMode) logDebug("  [PLUG]  Input '%c' -> Plugboard -> '%c'", inputChar, afterPlugboard);
 
         // Rotors Logic
         char afterRotors = processRotorsLogic(afterPlugboard);
 
         // Plugboard (Second Pass)- After exiting the rotors
         char result = plugboard.convert(afterRotors);
-        logDebug("  [PLUG]  Rotors '%c' -> Plugboard -> '%c'", afterRotors, result);
+        if (debugMode) logDebug("  [PLUG]  Rotors '%c' -> Plugboard -> '%c'", afterRotors, result);
 
         return result;
     }
 
+    @Override
+    // Same flow as convert, but on keyboard indices and without debug logging (used by the code breakers)
+    public int convertIndex(int index) {
+        stepRotorsChain();
+        return plugTable[scramble(plugTable[index])];
+    }
+
+    // Rotors -> reflector -> rotors back, as fast rotor -> cached core -> fast rotor inverse
+    private int scramble(int index) {
+        if (dirtyCoreLevels > 0) {
+            rebuildCore();
+        }
+        Rotor fastest = activeRotors.get(0);
+        int core = activeRotors.size() > 1
+                ? coreTables[1][fastest.mapForward(index)]
+                : activeReflector.getPairedIndex(fastest.mapForward(index));
+        return fastest.mapBackward(core);
+    }
+
+    // Rebuilds the stale levels from the slowest one down, each from the level above it
+    private void rebuildCore() {
+        int last = activeRotors.size() - 1;
+        for (int level = dirtyCoreLevels; level >= 1; level--) {
+            Rotor rotor = activeRotors.get(level);
+            int[] table = coreTables[level];
+            int[] above = level < last ? coreTables[level + 1] : null;
+            for (int input = 0; input < table.length; input++) {
+                int index = rotor.mapForward(input);
+                index = above != null ? above[index] : activeReflector.getPairedIndex(index);
+                table[input] = rotor.mapBackward(index);
+            }
+        }
+        dirtyCoreLevels = 0;
+    }
+
+    @Override
+    public void advanceRotors() {
+        stepRotorsChain();
+    }
+
+    @Override
+    // The plugboard only wraps this permutation, so code breakers can precompute it once per message position
+    public void fillScramblerPermutation(int[] out) {
+        for (int input = 0; input < out.length; input++) {
+            out[input] = scramble(input);
+        }
+    }
+
+    @Override
+    // Re-positions the already configured rotors; positionIndices is Left to Right like setConfiguration
+    public void setRotorPositions(int[] positionIndices) {
+        int last = activeRotors.size() - 1;
+        if (positionIndices.length != activeRotors.size()) {
+            throw new EnigmaException(EnigmaException.ErrorCode.USER_POSITION_COUNT_MISMATCH,
+                    activeRotors.size(), positionIndices.length);
+        }
+        for (int i = 0; i <= last; i++) {
+            moveRotor(last - i, positionIndices[i]);
+        }
+    }
+
+    @Override
+    public void fillRotorPositions(int[] out) {
+        int last = activeRotors.size() - 1;
+        for (int i = 0; i <= last; i++) {
+            out[i] = activeRotors.get(last - i).getPositionIndex();
+        }
+    }
+
+    @Override
+    // Same digits as ConfigurationSpace's positions rank: the rightmost (fastest) rotor is the least significant
+    public long getPackedRotorState() {
+        ensurePackable();
+        long packed = 0;
+        for (int i = activeRotors.size() - 1; i >= 0; i--) {
+            packed = packed * keyboard.size() + activeRotors.get(i).getPositionIndex();
+        }
+        return packed;
+    }
+
+    @Override
+    public void setPackedRotorState(long packedState) {
+        ensurePackable();
+        if (packedState < 0 || packedState >= packedStateLimit) {
+            throw new EnigmaException(EnigmaException.ErrorCode.ROTOR_STATE_OUT_OF_RANGE,
+                    packedState, packedStateLimit - 1);
+        }
+        for (int i = 0; i < activeRotors.size(); i++) {
+            moveRotor(i, (int) (packedState % keyboard.size()));
+            packedState /= keyboard.size();
+        }
+    }
+
+    private void ensurePackable() {
+        if (packedStateLimit < 0) {
+            throw new EnigmaException(EnigmaException.ErrorCode.ROTOR_STATE_TOO_LARGE, rotorsCount, keyboard.size());
+        }
+    }
+
+    // Code breakers mostly change only the fastest rotor, so the core is kept when the slower ones stay put
+    private void moveRotor(int activeIndex, int position) {
+        Rotor rotor = activeRotors.get(activeIndex);
+        int before = rotor.getPosition();
+        rotor.setPosition(position);
+        if (activeIndex > 0 && rotor.getPosition() != before) {
+            dirtyCoreLevels = Math.max(dirtyCoreLevels, activeIndex);
+        }
+    }
+
     // Handles the passage of a character through the rotors and reflector
     private char processRotorsLogic(char input) {
         // Log state before stepping
-        logDebug("  [STATE] Rotors BEFORE process (Left->Right): %s", getCurrentRotorPositions());
+        if (debugMode) logDebug("  [STATE] Rotors BEFORE process (Left->Right): %s", getCurrentRotorPositions());
 
         // Step Rotors (Post-processing step logic)
         stepRotorsChain();
-        logDebug("  [STEP]  Rotors moved to next position: %s", getCurrentRotorPositions());
+        if (debugMode) logDebug("  [STEP]  Rotors moved to next position: %s", getCurrentRotorPositions());
 
         // Convert char to index for rotor processing
         int currentIndex = keyboard.toIndex(input);
-        logDebug("  [IN]    Rotor Input index: %d ('%c')", currentIndex, input);
-
-        // Electrical Path
-        currentIndex = passThroughRotorsForward(currentIndex);
-        currentIndex = passThroughReflector(currentIndex);
-        currentIndex = passThroughRotorsBackward(currentIndex);
+        if (debugMode) logDebug("  [IN]    Rotor Input index: %d ('%c')", currentIndex, input);
+
+        // Electrical Path (rotor by rotor only when it is being logged)
+        if (debugMode) {
+            currentIndex = passThroughRotorsForward(currentIndex);
+            currentIndex = passThroughReflector(currentIndex);
+            currentIndex = passThroughRotorsBackward(currentIndex);
+        } else {
+            currentIndex = scramble(currentIndex);
+        }
 
         // Convert back to Char
         char outputChar = keyboard.toChar(currentIndex);
-        logDebug("  [OUT]   Rotor output: %d ('%c')", currentIndex, outputChar);
+        if (debugMode) logDebug("  [OUT]   Rotor output: %d ('%c')", currentIndex, outputChar);
 
         return outputChar;
     }
@@ -178,13 +364,11 @@ public class MachineImpl implements Machine, Serializable {
         if (activeRotors == null || activeRotors.isEmpty())
             return;
 
-        boolean carry = true;
-        for (Rotor activeRotor : activeRotors) {
-            if (carry) {
-                carry = activeRotor.step();
-            } else {
-                break;
-            }
+        // The fastest rotor always steps; a carry that moves rotor i makes core levels 1..i stale
+        boolean carry = activeRotors.get(0).step();
+        for (int i = 1; carry && i < activeRotors.size(); i++) {
+            carry = activeRotors.get(i).step();
+            dirtyCoreLevels = Math.max(dirtyCoreLevels, i);
         }
     }
 
@@ -225,6 +409,7 @@ public class MachineImpl implements Machine, Serializable {
     @Override
     public void setConfiguration(List<Integer> rotorIDs, List<Character> startingPositions, String reflectorID, String plugs) {
         this.activeReflector = allAvailableReflectors.get(reflectorID);
+        this.dirtyCoreLevels = Math.max(0, activeRotors.size() - 1); // Every core level ends in the reflector
         if (this.activeReflector == null) {
             throw new EnigmaException(EnigmaException.ErrorCode.
                  USER_REFLECTOR_NOT_FOUND, reflectorID );
@@ -243,6 +428,7 @@ public class MachineImpl implements Machine, Serializable {
 
         // Define plugin board
         this.plugboard.clear(); // Clear the last plugin board
+        resetPlugTable();
         if (plugs != null && !plugs.isEmpty()) {
             loadPlugs(plugs);
         }
@@ -268,12 +454,15 @@ public class MachineImpl implements Machine, Serializable {
             this.activeRotors.add(rotor);
 
         }
+        this.dirtyCoreLevels = activeRotors.size() - 1;
     }
 
     @Override
     public void setDebugMode(boolean debugMode) {
         this.debugMode = debugMode; }
 
+    // Call sites check debugMode first, so the boxed arguments, the varargs array and any rotor position lists
+    // are only built when something is printed
     private void logDebug(String format, Object... args) {
 
         if (debugMode) System.out.printf(format + "%n", args);
@@ -18,7 +18,11 @@ import java.util.stream.Collectors;
  */
 public class KeyboardImpl implements Keyboard, Serializable {
     private final List<Character> symbols;
-    private final Map<Character, Integer> charToIndex;
+
+    // Character <-> index mapping as arrays, so the per-letter lookups neither box nor allocate
+    private final char[] letters;
+    private final int[] indexByChar; // -1 for characters that are not on the keyboard
+    private final String abc;
 
     // Initializes the keyboard from a raw string
     public KeyboardImpl(String rawKeyboard) {
@@ -31,7 +35,18 @@ public class KeyboardImpl implements Keyboard, Serializable {
         validateForDuplicates(this.symbols);
 
         // Create final mapping
-        this.charToIndex = createMapping(this.symbols);
+        this.letters = new char[symbols.size()];
+        int maxChar = 0;
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = symbols.get(i);
+            maxChar = Math.max(maxChar, letters[i]);
+        }
+        this.indexByChar = new int[maxChar + 1];
+        Arrays.fill(indexByChar, -1);
+        for (int i = 0; i < letters.length; i++) {
+            indexByChar[letters[i]] = i;
+        }
+        this.abc = new String(letters);
     }
 
     private List<Character> createSymbolsList(String rawKeyboard) {
@@ -56,15 +71,6 @@ public class KeyboardImpl implements Keyboard, Serializable {
         }
     }
 
-    private Map<Character, Integer> createMapping(List<Character> symbols) {
-        Map<Character, Integer> mapping = new HashMap<>();
-        int index = 0;
-        for (char c : symbols) {
-            mapping.put(c, index++);
-        }
-        return mapping;
-    }
-
     // Return the number of symbols in the Keyboard
     @Override
     public int size() {
@@ -75,37 +81,36 @@ public class KeyboardImpl implements Keyboard, Serializable {
     // Return the index of the given character
     @Override
     public int toIndex(char c) {
-        return Optional.ofNullable(charToIndex.get(c))
-                .orElseThrow(() -> new EnigmaException(EnigmaException.ErrorCode.
-                        KEYBOARD_INVALID_CHAR,
-                        c));
-
+        int index = c < indexByChar.length ? indexByChar[c] : -1;
+        if (index < 0) {
+            throw new EnigmaException(EnigmaException.ErrorCode.
+                    KEYBOARD_INVALID_CHAR,
+                    c);
+        }
+        return index;
     }
 
     // Return the character of the given index
     @Override
     public char toChar(int index) {
-        return Optional.of(index)
-                .filter(i -> i >= 0 && i < symbols.size())
-                .map(symbols::get)
-                .orElseThrow(() -> new EnigmaException(EnigmaException.ErrorCode.
-                        KEYBOARD_OUT_OF_RANGE,
-                        index,symbols.size()-1
-                        ));
+        if (index < 0 || index >= letters.length) {
+            throw new EnigmaException(EnigmaException.ErrorCode.
+                    KEYBOARD_OUT_OF_RANGE,
+                    index, letters.length - 1);
+        }
+        return letters[index];
     }
 
     // Checks whether a given character exists in the Keyboard
     @Override
     public boolean contains(char c) {
-        return charToIndex.containsKey(c);
+        return c < indexByChar.length && indexByChar[c] >= 0;
     }
 
     // Returns the entire Keyboard as a single continuous string
     @Override
     public String asString() {
-        return symbols.stream()
-                .map(String::valueOf)
-                .collect(Collectors.joining());
+        return abc;
     }
 
     @Override
@@ -21,6 +21,9 @@ public interface Rotor {
     // Returns current rotational position of the rotor
     int getPosition();
 
+    // Character index of the current position, in the same terms as setPosition
+    int getPositionIndex();
+
     // Returns total size of the alphabet used by the rotor
     int getKeyboardSize();
 
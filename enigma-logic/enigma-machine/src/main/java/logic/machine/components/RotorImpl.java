@@ -3,6 +3,8 @@ package logic.machine.components;
 import logic.exceptions.EnigmaException;
 
 import java.io.Serializable;
+import java.util.Arrays;
+
 /**
  * Represents a single Enigma rotor.
  * Updated to use a Position-Based Mapping (Lookup Table) instead of simple index arrays.
@@ -19,10 +21,25 @@ public class RotorImpl implements Rotor , Serializable {
     // col[1] = Row index in the LEFT column
     private final int[][] letterPositions;
 
+    // Row-to-row wiring derived from letterPositions so each pass through the rotor is a single lookup
+    // forwardWiring[r]  = LEFT row of the char sitting in RIGHT row r
+    // backwardWiring[l] = RIGHT row of the char sitting in LEFT row l
+    private final int[] forwardWiring;
+    private final int[] backwardWiring;
+
+    // windowLetters[r] = character index sitting in RIGHT row r (the inverse of setPosition)
+    private final int[] windowLetters;
+
     private final int keyboardSize; // Total alphabet size
 
     // Constructor updated to accept int[][] mapping
     public RotorImpl(int id, int[][] letterPositions, int notchPosition, int initialPosition) {
+        this(id, letterPositions, null, null, notchPosition, initialPosition);
+    }
+
+    // Accepts wiring tables that were already computed (e.g. by a compiled machine catalog); null means compute them here
+    public RotorImpl(int id, int[][] letterPositions, int[] forwardWiring, int[] backwardWiring,
+                     int notchPosition, int initialPosition) {
         if (letterPositions == null || letterPositions.length == 0) {
             throw new EnigmaException(EnigmaException.ErrorCode.ROTOR_MAPPING_MISSING);
         }
@@ -34,10 +51,44 @@ public class RotorImpl implements Rotor , Serializable {
         // Save the mapping table directly
         this.letterPositions = letterPositions;
 
+        if (forwardWiring == null || backwardWiring == null) {
+            forwardWiring = computeForwardWiring(letterPositions);
+            backwardWiring = computeBackwardWiring(letterPositions);
+        }
+        this.forwardWiring = forwardWiring;
+        this.backwardWiring = backwardWiring;
+        this.windowLetters = new int[keyboardSize];
+        for (int letter = 0; letter < keyboardSize; letter++) {
+            windowLetters[letterPositions[letter][0]] = letter;
+        }
+
         this.notchPosition = validateAndSetNotch(notchPosition, keyboardSize);
         this.position = validateAndSetPosition(initialPosition, keyboardSize);
     }
 
+    // Builds the RIGHT row -> LEFT row table from the [ABC][2] position table
+    public static int[] computeForwardWiring(int[][] letterPositions) {
+        return computeWiring(letterPositions, 0, 1);
+    }
+
+    // Builds the LEFT row -> RIGHT row table from the [ABC][2] position table
+    public static int[] computeBackwardWiring(int[][] letterPositions) {
+        return computeWiring(letterPositions, 1, 0);
+    }
+
+    private static int[] computeWiring(int[][] letterPositions, int fromColumn, int toColumn) {
+        int size = letterPositions.length;
+        int[] wiring = new int[size];
+        Arrays.fill(wiring, -1);
+        for (int charId = 0; charId < size; charId++) {
+            int fromRow = letterPositions[charId][fromColumn];
+            if (fromRow >= 0 && fromRow < size) {
+                wiring[fromRow] = letterPositions[charId][toColumn];
+            }
+        }
+        return wiring;
+    }
+
     // Validate notch position
     private int validateAndSetNotch(int notchPosition, int size) {
         if (notchPosition < 0 || notchPosition >= size) {
@@ -71,17 +122,8 @@ public class RotorImpl implements Rotor , Serializable {
         // Calculate physical contact point on the Right side
         int contactIndex = (inputIndex + position) % keyboardSize;
 
-        // Find which character connects to this Right contact index
-        int outputLeftIndex = -1;
-
-        for (int charId = 0; charId < keyboardSize; charId++) {
-            // Check column 0 (Right Position)
-            if (letterPositions[charId][0] == contactIndex) {
-                // Found the character! Get its Left Position (column 1)
-                outputLeftIndex = letterPositions[charId][1];
-                break;
-            }
-        }
+        // Find the Left row wired to this Right contact
+        int outputLeftIndex = forwardWiring[contactIndex];
 
         if (outputLeftIndex == -1) {
             throw new EnigmaException(EnigmaException.ErrorCode.
@@ -99,17 +141,8 @@ public class RotorImpl implements Rotor , Serializable {
         // Calculate physical contact point on the Left side
         int contactIndex = (inputIndex + position) % keyboardSize;
 
-        // Find which character connects to this Left contact index
-        int outputRightIndex = -1;
-
-        for (int charId = 0; charId < keyboardSize; charId++) {
-            // Check column 1 (Left Position)
-            if (letterPositions[charId][1] == contactIndex) {
-                // Found the character! Get its Right Position (column 0)
-                outputRightIndex = letterPositions[charId][0];
-                break;
-            }
-        }
+        // Find the Right row wired to this Left contact
+        int outputRightIndex = backwardWiring[contactIndex];
 
         if (outputRightIndex == -1) {
             throw new EnigmaException(EnigmaException.ErrorCode.
@@ -133,6 +166,11 @@ public class RotorImpl implements Rotor , Serializable {
         return position;
     }
 
+    @Override
+    public int getPositionIndex() {
+        return windowLetters[position];
+    }
+
     @Override
     public int getKeyboardSize() {
 
@@ -0,0 +1,58 @@
+package logic.machine.utils;
+
+import logic.machine.Machine;
+
+/**
+ * The scrambler (rotors + reflector) permutations a configured machine applies at each of the next
+ * length key presses. They depend only on the code, not on the text or the plugboard, so they can be
+ * computed once and then used for any message: output = plug[ permutation(t)[ plug[input] ] ].
+ * Stored as one flat array (offset-major) for cache-friendly lookups. Immutable once computed.
+ */
+public class KeystreamTables {
+
+    private final int alphabetSize;
+    private final int length;
+    private final int[] table;     // table[t * alphabetSize + input] = output at key press t
+
+    private KeystreamTables(int alphabetSize, int length, int[] table) {
+        this.alphabetSize = alphabetSize;
+        this.length = length;
+        this.table = table;
+    }
+
+    // Runs the machine forward length key presses from its current rotor positions (the machine is advanced)
+    public static KeystreamTables compute(Machine machine, int length) {
+        int alphabetSize = machine.getKeyboard().size();
+        int[] table = new int[length * alphabetSize];
+        int[] permutation = new int[alphabetSize];
+        for (int t = 0; t < length; t++) {
+            machine.advanceRotors();
+            machine.fillScramblerPermutation(permutation);
+            System.arraycopy(permutation, 0, table, t * alphabetSize, alphabetSize);
+        }
+        return new KeystreamTables(alphabetSize, length, table);
+    }
+
+    // Scrambler output for an (already plugged) input index at key press offset
+    public int map(int offset, int input) {
+        return table[offset * alphabetSize + input];
+    }
+
+    // Raw table for tight loops: entry [offset * alphabetSize + input]
+    public int[] getTable() {
+        return table;
+    }
+
+    public int getAlphabetSize() {
+        return alphabetSize;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    // Memory held by the table, in bytes
+    public long sizeInBytes() {
+        return (long) table.length * Integer.BYTES;
+    }
+}
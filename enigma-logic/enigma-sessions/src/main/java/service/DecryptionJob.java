@@ -0,0 +1,249 @@
+package service;
+
+import logic.decryption.DecryptionCandidate;
+import logic.decryption.ScoredCandidate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A code-breaking job submitted through DecryptionJobService: its state, live progress and the candidates found.
+ * Candidates are kept for polling and pushed to subscribers (e.g. an SSE stream) as they arrive;
+ * a late subscriber first gets every candidate found so far.
+ * Listeners are called outside the job's monitor, so a slow subscriber only holds up the thread delivering to it
+ * and never the other search threads, polling or new subscribers.
+ */
+public class DecryptionJob {
+
+    public enum State { QUEUED, RUNNING, DONE, CANCELLED, FAILED }
+
+    public enum Type { CRIB, DICTIONARY, SCORED }
+
+    // Receives the candidates of a job and its end (called from the job's search threads)
+    public interface Listener {
+        void onCandidate(DecryptionJob job, DecryptionCandidate candidate);
+
+        void onFinished(DecryptionJob job);
+    }
+
+    private final String id;
+    private final String machineName;
+    private final Type type;
+    private final long spaceSize;
+    private final long budgetMillis;
+
+    private final List<DecryptionCandidate> candidates = new ArrayList<>();   // Guarded by this
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private volatile State state = State.QUEUED;
+    private volatile String error;
+    private volatile boolean budgetExhausted;
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile LongSupplier configurationsChecked = () -> 0;
+    private volatile Runnable canceller = () -> { };
+    private volatile Supplier<List<ScoredCandidate>> top = List::of;
+
+    public DecryptionJob(String id, String machineName, Type type, long spaceSize, long budgetMillis) {
+        this.id = id;
+        this.machineName = machineName;
+        this.type = type;
+        this.spaceSize = spaceSize;
+        this.budgetMillis = budgetMillis;
+    }
+
+    // Called by the job thread when the search starts; false if the job was cancelled while queued
+    synchronized boolean markRunning(LongSupplier configurationsChecked, Runnable canceller) {
+        if (state != State.QUEUED) {
+            return false;
+        }
+        this.configurationsChecked = configurationsChecked;
+        this.canceller = canceller;
+        this.startNanos = System.nanoTime();
+        this.state = State.RUNNING;
+        return true;
+    }
+
+    // Scored searches: where the live top-K list comes from
+    void setTopSource(Supplier<List<ScoredCandidate>> top) {
+        this.top = top;
+    }
+
+    // Called by the job thread when the search returns
+    void markFinished(State finalState, String error) {
+        List<Subscription> targets;
+        synchronized (this) {
+            if (isFinished()) {
+                return;
+            }
+            this.error = error;
+            this.endNanos = System.nanoTime();
+            this.state = state == State.CANCELLED ? State.CANCELLED : finalState;
+            targets = List.copyOf(subscriptions);
+        }
+        for (Subscription subscription : targets) {
+            subscription.finished(this);
+        }
+    }
+
+    // Stops the search (or drops the job if it has not started yet)
+    public void cancel() {
+        Runnable stop;
+        List<Subscription> targets = null;
+        synchronized (this) {
+            if (isFinished()) {
+                return;
+            }
+            boolean queued = state == State.QUEUED;
+            state = State.CANCELLED;
+            stop = canceller;
+            if (queued) {
+                endNanos = System.nanoTime();
+                targets = List.copyOf(subscriptions);
+            }
+        }
+        if (targets == null) {
+            stop.run();
+            return;
+        }
+        for (Subscription subscription : targets) {
+            subscription.finished(this);
+        }
+    }
+
+    // Called when the time budget runs out: the search stops, but the job counts as done, not cancelled
+    void expire() {
+        if (state == State.RUNNING) {
+            budgetExhausted = true;
+            canceller.run();
+        }
+    }
+
+    // Stores the candidate and takes the subscribers under the monitor, then notifies them outside it.
+    // A subscriber either saw the candidate in its replay or is in the snapshot, never both
+    void addCandidate(DecryptionCandidate candidate) {
+        List<Subscription> targets;
+        synchronized (this) {
+            candidates.add(candidate);
+            targets = List.copyOf(subscriptions);
+        }
+        for (Subscription subscription : targets) {
+            subscription.candidate(this, candidate);
+        }
+    }
+
+    // Replays the candidates found so far, then keeps the listener informed until the job ends.
+    // The replay runs outside the job's monitor; holding the subscription meanwhile makes live events wait for it
+    public void subscribe(Listener listener) {
+        Subscription subscription = new Subscription(listener);
+        synchronized (subscription) {
+            List<DecryptionCandidate> replay;
+            boolean finished;
+            synchronized (this) {
+                replay = new ArrayList<>(candidates);
+                finished = isFinished();
+                if (!finished) {
+                    subscriptions.add(subscription);
+                }
+            }
+            for (DecryptionCandidate candidate : replay) {
+                listener.onCandidate(this, candidate);
+            }
+            if (finished) {
+                listener.onFinished(this);
+            }
+        }
+    }
+
+    public void unsubscribe(Listener listener) {
+        subscriptions.removeIf(subscription -> subscription.listener == listener);
+    }
+
+    public synchronized List<DecryptionCandidate> getCandidates() {
+        return new ArrayList<>(candidates);
+    }
+
+    // Best candidates of a scored search right now, best first (empty for other job types)
+    public List<ScoredCandidate> getTop() {
+        return top.get();
+    }
+
+    public synchronized int getCandidatesCount() {
+        return candidates.size();
+    }
+
+    public boolean isFinished() {
+        State current = state;
+        return current == State.DONE || current == State.FAILED || (current == State.CANCELLED && endNanos != 0);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getMachineName() {
+        return machineName;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isBudgetExhausted() {
+        return budgetExhausted;
+    }
+
+    public long getSpaceSize() {
+        return spaceSize;
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    public long getConfigurationsChecked() {
+        return configurationsChecked.getAsLong();
+    }
+
+    public long getElapsedMillis() {
+        if (startNanos == 0) {
+            return 0;
+        }
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+    }
+
+    public double getConfigurationsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed == 0 ? 0 : getConfigurationsChecked() * 1000.0 / elapsed;
+    }
+
+    // One subscriber; its monitor keeps the events it receives in order (replay first, then live events)
+    private static final class Subscription {
+        private final Listener listener;
+
+        private Subscription(Listener listener) {
+            this.listener = listener;
+        }
+
+        private synchronized void candidate(DecryptionJob job, DecryptionCandidate candidate) {
+            listener.onCandidate(job, candidate);
+        }
+
+        private synchronized void finished(DecryptionJob job) {
+            listener.onFinished(job);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package service;
+
+import dto.DecryptionJobDTO;
+import jakarta.annotation.PreDestroy;
+import logic.decryption.CribBruteForceBreaker;
+import logic.decryption.CribSearchRequest;
+import logic.decryption.CribSearchResult;
+import logic.decryption.DecryptionManager;
+import logic.decryption.DecryptionSettings;
+import logic.decryption.ScoredCandidate;
+import logic.decryption.ScoredSearch;
+import logic.decryption.WordDictionary;
+import logic.decryption.scoring.IndexOfCoincidence;
+import logic.decryption.space.ConfigurationSpace;
+import logic.decryption.topk.TopKSnapshot;
+import logic.loader.dto.MachineDescriptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs code-breaking jobs (crib, dictionary or scored ciphertext-only searches) in the background.
+ * Jobs run on their own bounded executor: at most maxJobs at once, a bounded queue behind them, and submissions
+ * beyond that are rejected instead of piling up. Each job's search threads are created by the job itself,
+ * so the web request threads never run search work.
+ */
+@Service
+public class DecryptionJobService {
+
+    // Finished jobs kept for polling before the oldest ones are forgotten
+    private static final int MAX_FINISHED_JOBS = 100;
+
+    // Best candidates a scored search keeps when the request does not say
+    private static final int DEFAULT_TOP_K = 20;
+
+    private final EngineManager engineManager;
+    private final ThreadPoolExecutor jobExecutor;
+    private final ScheduledExecutorService budgetTimer;
+    private final Map<String, DecryptionJob> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<DecryptionJob> submissionOrder = new ConcurrentLinkedQueue<>();
+    private final Map<String, Runnable> queuedTasks = new ConcurrentHashMap<>();   // Jobs that have not started yet
+
+    private final int threadsPerJob;
+    private final long defaultBudgetMillis;
+
+    public DecryptionJobService(EngineManager engineManager,
+                                @Value("${enigma.decryption.max-jobs:2}") int maxJobs,
+                                @Value("${enigma.decryption.queue-capacity:16}") int queueCapacity,
+                                @Value("${enigma.decryption.threads-per-job:0}") int threadsPerJob,
+                                @Value("${enigma.decryption.default-budget-millis:600000}") long defaultBudgetMillis) {
+        this.engineManager = engineManager;
+        // By default a job leaves one core free for the request threads
+        this.threadsPerJob = threadsPerJob > 0 ? threadsPerJob : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        this.defaultBudgetMillis = defaultBudgetMillis;
+        this.jobExecutor = new ThreadPoolExecutor(maxJobs, maxJobs, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads("enigma-decryption-job"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.budgetTimer = Executors.newSingleThreadScheduledExecutor(daemonThreads("enigma-decryption-budget"));
+    }
+
+    // Validates the request and queues the job. Throws IllegalArgumentException for a bad request
+    // and RejectedExecutionException when the job queue is full
+    public DecryptionJob submit(DecryptionJobDTO request) {
+        MachineDescriptor descriptor = engineManager.getMachineDescriptor(request.getMachineName());
+        if (descriptor == null) {
+            throw new IllegalArgumentException("Machine not found: " + request.getMachineName());
+        }
+        if (request.getCiphertext() == null || request.getCiphertext().isEmpty()) {
+            throw new IllegalArgumentException("Ciphertext is required");
+        }
+        boolean crib = request.getCrib() != null && !request.getCrib().isEmpty();
+        boolean dictionary = request.getDictionary() != null && !request.getDictionary().isBlank();
+        DecryptionJob.Type type = crib ? DecryptionJob.Type.CRIB
+                : dictionary ? DecryptionJob.Type.DICTIONARY : DecryptionJob.Type.SCORED;
+
+        ConfigurationSpace space = ConfigurationSpace.of(descriptor, request.getRotors(), request.getReflector());
+        long budget = request.getBudgetMillis() > 0 ? request.getBudgetMillis() : defaultBudgetMillis;
+        DecryptionJob job = new DecryptionJob(UUID.randomUUID().toString(), request.getMachineName(),
+                type, space.size(), budget);
+
+        evictFinishedJobs();
+        Runnable task = () -> {
+            queuedTasks.remove(job.getId());
+            run(job, descriptor, request);
+        };
+        // Registered before it can start, so a job that runs (or finishes) at once is already visible to getJob
+        jobs.put(job.getId(), job);
+        submissionOrder.add(job);
+        queuedTasks.put(job.getId(), task);
+        try {
+            jobExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            queuedTasks.remove(job.getId());
+            jobs.remove(job.getId());
+            submissionOrder.remove(job);
+            throw e;
+        }
+        return job;
+    }
+
+    public DecryptionJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    public Collection<DecryptionJob> getJobs() {
+        return jobs.values();
+    }
+
+    // Cancels a job; returns false if there is no such job
+    public boolean cancel(String jobId) {
+        DecryptionJob job = jobs.get(jobId);
+        if (job == null) {
+            return false;
+        }
+        job.cancel();
+        // A queued job also gives its place in the queue back
+        Runnable task = queuedTasks.remove(jobId);
+        if (task != null) {
+            jobExecutor.remove(task);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(DecryptionJob::cancel);
+        jobExecutor.shutdownNow();
+        budgetTimer.shutdownNow();
+    }
+
+    // Body of a job on the job executor
+    private void run(DecryptionJob job, MachineDescriptor descriptor, DecryptionJobDTO request) {
+        try {
+            switch (job.getType()) {
+                case CRIB -> runCribSearch(job, descriptor, request);
+                case DICTIONARY -> runDictionarySearch(job, descriptor, request);
+                case SCORED -> runScoredSearch(job, descriptor, request);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.markFinished(DecryptionJob.State.CANCELLED, null);
+        } catch (Exception e) {
+            job.markFinished(DecryptionJob.State.FAILED, e.getMessage());
+        }
+    }
+
+    private void runCribSearch(DecryptionJob job, MachineDescriptor descriptor, DecryptionJobDTO request)
+            throws InterruptedException {
+        CribBruteForceBreaker breaker = new CribBruteForceBreaker(descriptor, threadsPerJob);
+        if (!job.markRunning(breaker::getConfigurationsChecked, breaker::cancel)) {
+            return;
+        }
+        scheduleBudget(job);
+        CribSearchRequest search = new CribSearchRequest(request.getCiphertext(), request.getCrib(),
+                request.getCribOffset(), request.getRotors(), request.getReflector(), request.getPlugs());
+        CribSearchResult result = breaker.search(search, job::addCandidate);
+        job.markFinished(result.isCancelled() && !job.isBudgetExhausted()
+                ? DecryptionJob.State.CANCELLED : DecryptionJob.State.DONE, null);
+    }
+
+    private void runDictionarySearch(DecryptionJob job, MachineDescriptor descriptor, DecryptionJobDTO request)
+            throws InterruptedException {
+        DecryptionSettings defaults = DecryptionSettings.defaults();
+        DecryptionSettings settings = new DecryptionSettings(defaults.getTaskSize(), threadsPerJob, threadsPerJob * 4);
+        DecryptionManager manager = new DecryptionManager(descriptor,
+                WordDictionary.fromText(request.getDictionary().toUpperCase()), settings);
+        if (!job.markRunning(() -> manager.getProgress().getConfigurationsChecked(), manager::stop)) {
+            return;
+        }
+        scheduleBudget(job);
+        String plugs = request.getPlugs() == null ? "" : request.getPlugs();
+        manager.start(request.getCiphertext(), request.getRotors(), request.getReflector(), plugs, job::addCandidate);
+        try {
+            while (!manager.awaitCompletion(1, TimeUnit.SECONDS)) {
+                // Wait for the agents; cancel and the budget stop them through the manager
+            }
+        } finally {
+            manager.stop();
+        }
+        job.markFinished(DecryptionJob.State.DONE, null);
+    }
+
+    // Ranks every configuration by the index of coincidence of its plaintext; the top-K is live in the job status
+    private void runScoredSearch(DecryptionJob job, MachineDescriptor descriptor, DecryptionJobDTO request)
+            throws InterruptedException {
+        int alphabetSize = descriptor.getAlphabet().replaceAll("\\s", "").length();
+        int k = request.getTopK() > 0 ? request.getTopK() : DEFAULT_TOP_K;
+        ScoredSearch search = new ScoredSearch(descriptor, threadsPerJob, k, () -> new IndexOfCoincidence(alphabetSize));
+        String plugs = request.getPlugs() == null ? "" : request.getPlugs();
+        job.setTopSource(new DescribedTop(snapshot -> search.describe(snapshot, request.getCiphertext(),
+                request.getRotors(), request.getReflector(), plugs), search::getTop));
+        if (!job.markRunning(search::getConfigurationsChecked, search::cancel)) {
+            return;
+        }
+        scheduleBudget(job);
+        search.search(request.getCiphertext(), request.getRotors(), request.getReflector(), plugs);
+
+        // The final list also becomes the job's candidates (for polling and the SSE stream)
+        List<ScoredCandidate> top = job.getTop();
+        for (ScoredCandidate candidate : top) {
+            job.addCandidate(candidate.getCandidate());
+        }
+        job.markFinished(search.isCancelled() && !job.isBudgetExhausted()
+                ? DecryptionJob.State.CANCELLED : DecryptionJob.State.DONE, null);
+    }
+
+    private void scheduleBudget(DecryptionJob job) {
+        budgetTimer.schedule(job::expire, job.getBudgetMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Forgets the oldest finished jobs once too many are kept
+    private synchronized void evictFinishedJobs() {
+        long finished = submissionOrder.stream().filter(DecryptionJob::isFinished).count();
+        Iterator<DecryptionJob> iterator = submissionOrder.iterator();
+        while (finished > MAX_FINISHED_JOBS && iterator.hasNext()) {
+            DecryptionJob job = iterator.next();
+            if (job.isFinished()) {
+                iterator.remove();
+                jobs.remove(job.getId());
+                finished--;
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Live top-K of a scored search for status polls and the SSE "done" event. Describing decrypts every entry,
+    // so the list is rebuilt only when the search publishes a new snapshot and reused otherwise
+    private static final class DescribedTop implements Supplier<List<ScoredCandidate>> {
+        private final Function<TopKSnapshot, List<ScoredCandidate>> describe;
+        private final Supplier<TopKSnapshot> snapshots;
+
+        // Guarded by this
+        private TopKSnapshot describedSnapshot;
+        private List<ScoredCandidate> described = List.of();
+
+        private DescribedTop(Function<TopKSnapshot, List<ScoredCandidate>> describe, Supplier<TopKSnapshot> snapshots) {
+            this.describe = describe;
+            this.snapshots = snapshots;
+        }
+
+        @Override
+        public synchronized List<ScoredCandidate> get() {
+            TopKSnapshot snapshot = snapshots.get();
+            if (snapshot != describedSnapshot) {
+                described = List.copyOf(describe.apply(snapshot));  // Shared by every caller
+                describedSnapshot = snapshot;
+            }
+            return described;
+        }
+    }
+}
@@ -1,17 +1,33 @@
 package service;
 
 import logic.engine.EnigmaEngine;
+import logic.engine.CodeConfigurationCache;
 import logic.engine.EnigmaEngineImpl;
+import logic.engine.KeystreamCache;
+import logic.engine.OneShotEncryptor;
+import logic.jfr.DatabaseSaveEvent;
+import logic.jfr.EngineCloneEvent;
 import logic.loader.XmlMachineConfigLoader;
 import logic.machine.Machine;
 import logic.machine.MachineImpl;
 import logic.loader.dto.MachineDescriptor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import logic.loader.BinaryMachineConfigLoader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
 import java.io.*;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Acts as the global repository for all loaded Enigma Machine configurations
@@ -22,21 +38,119 @@ public class EngineManager {
     // Map to store multiple engines using the machine name as the key
     private final Map<String, EnigmaEngine> engines = new ConcurrentHashMap<>();
 
+    // Descriptor each engine was built from, so tools (e.g. code breakers) can build private machine copies
+    private final Map<String, MachineDescriptor> descriptors = new ConcurrentHashMap<>();
+
     // Service for handling Database operations (Postgres)
     private final DBStorageService dbStorageService;
 
-    public EngineManager(DBStorageService dbStorageService) {
+    // Worker threads used to parse, validate and convert several uploaded files at once
+    private final ExecutorService loaderExecutor;
+
+    // Parsed descriptors keyed by the hash of their XML bytes, so repeated uploads skip parsing
+    private final MachineDescriptorCache descriptorCache = new MachineDescriptorCache();
+
+    // Optional compiled machine catalog (.emc) registered at startup without going through XML
+    private final String catalogPath;
+
+    // Scrambler tables of recently reused codes, shared by every session engine (null when disabled)
+    private final KeystreamCache keystreamCache;
+
+    // Stateless encryptors (thread-local machines + parsed codes) per machine, created on first use
+    private final Map<String, OneShotEncryptor> oneShotEncryptors = new ConcurrentHashMap<>();
+
+    // Validated codes per machine, shared by its session engines and its one-shot encryptor
+    private final Map<String, CodeConfigurationCache> codeCaches = new ConcurrentHashMap<>();
+    private final int codeCacheEntries;
+
+    public EngineManager(DBStorageService dbStorageService,
+                         @Value("${enigma.catalog.path:}") String catalogPath,
+                         @Value("${enigma.keystream-cache.max-bytes:" + KeystreamCache.DEFAULT_MAX_BYTES + "}") long keystreamCacheBytes,
+                         @Value("${enigma.keystream-cache.max-length:" + KeystreamCache.DEFAULT_MAX_LENGTH + "}") int keystreamCacheLength,
+                         @Value("${enigma.code-cache.max-entries:" + CodeConfigurationCache.DEFAULT_MAX_ENTRIES + "}") int codeCacheEntries) {
         this.dbStorageService = dbStorageService;
+        this.catalogPath = catalogPath;
+        this.codeCacheEntries = codeCacheEntries;
+        this.keystreamCache = keystreamCacheBytes > 0 && keystreamCacheLength > 0
+                ? new KeystreamCache(keystreamCacheBytes, keystreamCacheLength)
+                : null;
+        this.loaderExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "enigma-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Registers the machines of the configured compiled catalog, if any
+    @PostConstruct
+    public void loadConfiguredCatalog() throws Exception {
+        if (catalogPath != null && !catalogPath.isBlank()) {
+            loadCatalog(catalogPath);
+        }
+    }
+
+    // Registers every machine of a compiled binary catalog and returns their names
+    public List<String> loadCatalog(String path) throws Exception {
+        List<String> names = new ArrayList<>();
+        for (MachineDescriptor descriptor : new BinaryMachineConfigLoader().loadDescriptors(path)) {
+            names.add(registerEngine(descriptor, null));
+        }
+        return names;
     }
 
     // Loads a machine from an XML input stream
     public String loadEngine(InputStream fileContent, String fileName) throws Exception {
-        // Initialize the loader
-        XmlMachineConfigLoader loader = new XmlMachineConfigLoader();
+        return registerEngine(parseDescriptor(fileContent), fileName);
+    }
+
+    // Parses, validates and converts an XML input stream into a machine descriptor (safe to call concurrently).
+    // Content that was already loaded once is served from the descriptor cache
+    public MachineDescriptor parseDescriptor(InputStream fileContent) throws Exception {
+        byte[] content;
+        try (InputStream in = fileContent) {
+            content = in.readAllBytes();
+        }
+
+        String contentHash = descriptorCache.hash(content);
+        MachineDescriptor cached = descriptorCache.get(contentHash);
+        if (cached != null) {
+            return cached;
+        }
+
+        MachineDescriptor descriptor = new XmlMachineConfigLoader().loadDescriptor(new ByteArrayInputStream(content));
+        return descriptorCache.put(contentHash, descriptor);
+    }
+
+    // Descriptor cache statistics (hits, misses, hit rate and cached entries)
+    public MachineDescriptorCache getDescriptorCache() {
+        return descriptorCache;
+    }
+
+    // Keystream cache statistics (null when the cache is disabled)
+    public KeystreamCache getKeystreamCache() {
+        return keystreamCache;
+    }
 
-        // Load the machine descriptor
-        MachineDescriptor descriptor = loader.loadDescriptor(fileContent);
+    // Starts parsing all the given files in parallel. The futures are returned in the same order as the input,
+    // each one completing with the descriptor or with the error that stopped that file from loading
+    public List<CompletableFuture<MachineDescriptor>> parseDescriptorsAsync(List<? extends InputStreamSource> files) {
+        List<CompletableFuture<MachineDescriptor>> futures = new ArrayList<>(files.size());
+        for (InputStreamSource file : files) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return parseDescriptor(file.getInputStream());
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, loaderExecutor));
+        }
+        return futures;
+    }
 
+    // Registers an already parsed machine: resolves its name, saves it to the DB and creates its engine
+    public String registerEngine(MachineDescriptor descriptor, String fileName) {
         // Get the machine name
         String machineName = descriptor.getName();
 
@@ -50,12 +164,16 @@ public class EngineManager {
             throw new IllegalArgumentException("A machine with the name '" + machineName + "' already exists");
         }
 
-        // Try to save the machine to the DB
+        // Try to save the machine to the DB (the event includes the transaction commit)
+        DatabaseSaveEvent saveEvent = new DatabaseSaveEvent(DatabaseSaveEvent.MACHINE);
+        saveEvent.begin();
         try {
             dbStorageService.saveMachine(descriptor);
         } catch (Exception e) {
             System.out.println("Warning: Failed to save to DB (maybe duplicate?): " + e.getMessage());
         }
+        saveEvent.machine = machineName;
+        saveEvent.commit();
 
         // Create the physical machine instance from the descriptor
         Machine machine = new MachineImpl(descriptor);
@@ -64,12 +182,21 @@ public class EngineManager {
         EnigmaEngine newEngine = new EnigmaEngineImpl(machine);
 
         // Store the engine
+        if (codeCacheEntries > 0) {
+            codeCaches.put(machineName, new CodeConfigurationCache(codeCacheEntries));
+        }
+        descriptors.put(machineName, descriptor);
         engines.put(machineName, newEngine);
 
         System.out.println("Successfully loaded machine: " + machineName);
         return machineName;
     }
 
+    // Returns the descriptor a loaded machine was built from (null if no such machine)
+    public MachineDescriptor getMachineDescriptor(String machineName) {
+        return descriptors.get(machineName);
+    }
+
     // Creates a deep copy of an engine
     public EnigmaEngine createEngineInstance(String machineName) {
         EnigmaEngine originalEngine = engines.get(machineName);
@@ -78,6 +205,8 @@ public class EngineManager {
         }
 
         // Deep Copy of the engine using Serialization
+        EngineCloneEvent event = new EngineCloneEvent();
+        event.begin();
         try {
             ByteArrayOutputStream bos = new ByteArrayOutputStream();
             ObjectOutputStream out = new ObjectOutputStream(bos);
@@ -86,12 +215,34 @@ public class EngineManager {
             ByteArrayInputStream bis = new ByteArrayInputStream(bos.toByteArray());
             ObjectInputStream in = new ObjectInputStream(bis);
 
-            return (EnigmaEngine) in.readObject();
+            EnigmaEngine copy = (EnigmaEngine) in.readObject();
+            copy.setKeystreamCache(keystreamCache);
+            copy.setCodeCache(codeCaches.get(machineName));
+
+            event.machine = machineName;
+            event.serializedSize = bos.size();
+            event.commit();
+            return copy;
         } catch (Exception e) {
             throw new RuntimeException("Failed to clone engine instance", e);
         }
     }
 
+    // Processes text with a machine and a compact code in one call: no session, no engine copy
+    public String processOnce(String machineName, String compactCode, String text) {
+        MachineDescriptor descriptor = descriptors.get(machineName);
+        if (descriptor == null) {
+            throw new IllegalArgumentException("Machine not found: " + machineName);
+        }
+        return oneShotEncryptors.computeIfAbsent(machineName, name -> new OneShotEncryptor(descriptor,
+                codeCaches.getOrDefault(name, new CodeConfigurationCache(0)))).process(compactCode, text);
+    }
+
+    // Parsed-code cache statistics per machine (empty when the cache is disabled)
+    public Map<String, CodeConfigurationCache> getCodeCaches() {
+        return codeCaches;
+    }
+
     // Checks if a machine exists in the repository
     public boolean isMachineExists(String machineName) {
 
@@ -110,6 +261,11 @@ public class EngineManager {
         return engines.keySet();
     }
 
+    @PreDestroy
+    public void shutdown() {
+        loaderExecutor.shutdownNow();
+    }
+
     public String getHealthCheck() {
 
         return "Enigma Server is Up and Running";
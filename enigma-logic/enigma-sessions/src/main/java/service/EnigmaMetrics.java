@@ -0,0 +1,101 @@
+package service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Application metrics, exposed in the Prometheus text format by the /metrics endpoint.
+ * Counters are LongAdders and histograms are LatencyHistograms, so recording never takes a lock;
+ * the per-key maps only synchronize the first time a key is seen.
+ */
+@Service
+public class EnigmaMetrics {
+
+    // Per machine
+    private final Map<String, LongAdder> processedMessages = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> processedCharacters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> processLatency = new ConcurrentHashMap<>();
+
+    // Per handler method, e.g. "ProcessController.processText"
+    private final Map<String, LatencyHistogram> requestLatency = new ConcurrentHashMap<>();
+
+    private final LongAdder sessionsCreated = new LongAdder();
+    private final LongAdder sessionsDeleted = new LongAdder();
+    private final LongAdder loaderFailures = new LongAdder();
+    private final LongAdder databaseWrites = new LongAdder();
+    private final AtomicLong databaseWritesInFlight = new AtomicLong();
+
+    // One processed message: its length and the time the engine spent on it
+    public void recordProcess(String machineName, int characters, long nanos) {
+        String machine = String.valueOf(machineName);
+        processedMessages.computeIfAbsent(machine, key -> new LongAdder()).increment();
+        processedCharacters.computeIfAbsent(machine, key -> new LongAdder()).add(characters);
+        processLatency.computeIfAbsent(machine, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    public void recordRequest(String handler, long nanos) {
+        requestLatency.computeIfAbsent(handler, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    public void sessionCreated() {
+        sessionsCreated.increment();
+    }
+
+    public void sessionDeleted() {
+        sessionsDeleted.increment();
+    }
+
+    public void loaderFailed() {
+        loaderFailures.increment();
+    }
+
+    // Database writes are synchronous, so the writes waiting on the database are the ones in flight
+    public void databaseWriteStarted() {
+        databaseWritesInFlight.incrementAndGet();
+    }
+
+    public void databaseWriteFinished() {
+        databaseWritesInFlight.decrementAndGet();
+        databaseWrites.increment();
+    }
+
+    public Map<String, LongAdder> getProcessedMessages() {
+        return processedMessages;
+    }
+
+    public Map<String, LongAdder> getProcessedCharacters() {
+        return processedCharacters;
+    }
+
+    public Map<String, LatencyHistogram> getProcessLatency() {
+        return processLatency;
+    }
+
+    public Map<String, LatencyHistogram> getRequestLatency() {
+        return requestLatency;
+    }
+
+    public long getSessionsCreated() {
+        return sessionsCreated.sum();
+    }
+
+    public long getSessionsDeleted() {
+        return sessionsDeleted.sum();
+    }
+
+    public long getLoaderFailures() {
+        return loaderFailures.sum();
+    }
+
+    public long getDatabaseWrites() {
+        return databaseWrites.sum();
+    }
+
+    public long getDatabaseWritesInFlight() {
+        return databaseWritesInFlight.get();
+    }
+}
@@ -0,0 +1,120 @@
+package service;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets: every power of two (from 1 microsecond to about
+ * 137 seconds) is split into 8 buckets, so a reported value is within 12.5% of the recorded one.
+ * Slower values are only counted (with the largest one kept), so they show up in the total count but in no bucket.
+ * Every bucket is a LongAdder, so threads recording at the same time do not contend on a shared counter.
+ */
+public class LatencyHistogram {
+
+    private static final int MIN_EXPONENT = 10; // 1024 ns; smaller values land in the first bucket
+    private static final int EXPONENTS = 27;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = EXPONENTS * SUB_BUCKETS;
+    private static final long TOP_NANOS = 1L << (MIN_EXPONENT + EXPONENTS); // First value past the last bucket
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+    private final LongAdder overflowCount = new LongAdder();
+    private final LongAccumulator overflowMaxNanos = new LongAccumulator(Math::max, TOP_NANOS);
+    private final LongAdder totalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        totalNanos.add(Math.max(nanos, 0));
+        if (nanos >= TOP_NANOS) {
+            overflowCount.increment();
+            overflowMaxNanos.accumulate(nanos);
+            return;
+        }
+        long value = Math.max(nanos, 1L << MIN_EXPONENT);
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int index = (exponent - MIN_EXPONENT) * SUB_BUCKETS + (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        counts[index].increment();
+    }
+
+    // A consistent copy of the counts, so the exported buckets, count and quantiles agree with each other
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = overflowCount.sum();
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts[i].sum();
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, totalNanos.sum(), overflowMaxNanos.get());
+    }
+
+    // Largest value that lands in the bucket
+    private static long upperBoundNanos(int index) {
+        int exponent = MIN_EXPONENT + index / SUB_BUCKETS;
+        int subBucket = index % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+        private final long overflowMaxNanos;
+
+        private Snapshot(long[] counts, long count, long totalNanos, long overflowMaxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.overflowMaxNanos = overflowMaxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        // Number of powers of two covered; boundary k is 2^(MIN_EXPONENT + k + 1) nanoseconds
+        public int getPowerBoundaries() {
+            return EXPONENTS;
+        }
+
+        public long powerBoundaryNanos(int boundary) {
+            return 1L << (MIN_EXPONENT + boundary + 1);
+        }
+
+        // Recorded values below powerBoundaryNanos(boundary) (cumulative, as in a Prometheus "le" bucket);
+        // values past the last boundary are only in getCount, i.e. the "+Inf" bucket
+        public long countBelowPowerBoundary(int boundary) {
+            long cumulative = 0;
+            for (int i = 0; i < (boundary + 1) * SUB_BUCKETS; i++) {
+                cumulative += counts[i];
+            }
+            return cumulative;
+        }
+
+        // Upper bound of the bucket holding the given quantile (0 when nothing was recorded);
+        // the largest recorded value when the quantile is past the last bucket
+        public long quantileNanos(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                if (cumulative >= rank) {
+                    return upperBoundNanos(i);
+                }
+            }
+            return overflowMaxNanos;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package service;
+
+import logic.loader.dto.MachineDescriptor;
+import logic.loader.dto.RotorDescriptor;
+import logic.machine.components.RotorImpl;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches parsed machine descriptors by a hash of their XML content.
+ * Uploading the same file again (even under another file name) skips JAXB, validation
+ * and conversion, and every copy shares the same rotor and reflector tables.
+ * Bounded by entry count with least-recently-used eviction.
+ */
+public class MachineDescriptorCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 128;
+
+    private final int maxEntries;
+    private final Map<String, MachineDescriptor> descriptorsByHash;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public MachineDescriptorCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public MachineDescriptorCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.descriptorsByHash = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MachineDescriptor> eldest) {
+                return size() > MachineDescriptorCache.this.maxEntries;
+            }
+        };
+    }
+
+    // Returns a private copy of the cached descriptor for this content hash, or null on a miss
+    public MachineDescriptor get(String contentHash) {
+        MachineDescriptor cached;
+        synchronized (descriptorsByHash) {
+            cached = descriptorsByHash.get(contentHash);
+        }
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        // Callers may rename their copy; the shared rotor and reflector tables stay untouched
+        return cached.withName(cached.getName());
+    }
+
+    // Stores a freshly parsed descriptor and returns the private copy the caller should use
+    public MachineDescriptor put(String contentHash, MachineDescriptor descriptor) {
+        MachineDescriptor shared = withPrecomputedWiring(descriptor);
+        synchronized (descriptorsByHash) {
+            descriptorsByHash.put(contentHash, shared);
+        }
+        return shared.withName(shared.getName());
+    }
+
+    // Computes the rotor wiring once, so every machine built from this descriptor reuses the same tables
+    private MachineDescriptor withPrecomputedWiring(MachineDescriptor descriptor) {
+        List<RotorDescriptor> rotors = new ArrayList<>(descriptor.getRotors().size());
+        for (RotorDescriptor rotor : descriptor.getRotors()) {
+            int[] forward = rotor.getForwardWiring() != null ? rotor.getForwardWiring() : RotorImpl.computeForwardWiring(rotor.getMapping());
+            int[] backward = rotor.getBackwardWiring() != null ? rotor.getBackwardWiring() : RotorImpl.computeBackwardWiring(rotor.getMapping());
+            rotors.add(new RotorDescriptor(rotor.getId(), rotor.getMapping(), rotor.getNotchPosition(), forward, backward));
+        }
+        MachineDescriptor shared = new MachineDescriptor(descriptor.getRotorsCount(), List.copyOf(rotors),
+                descriptor.getReflectors(), descriptor.getAlphabet(), descriptor.getPlugs());
+        shared.setName(descriptor.getName());
+        return shared;
+    }
+
+    // SHA-256 over the raw uploaded bytes. Rewriting the text first would ignore the declared encoding
+    // and whitespace inside values, so two different machines could share an entry
+    public String hash(byte[] xmlContent) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(xmlContent));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        synchronized (descriptorsByHash) {
+            return descriptorsByHash.size();
+        }
+    }
+
+    // Fraction of lookups that were served from the cache (0 when nothing was looked up yet)
+    public double getHitRate() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+}
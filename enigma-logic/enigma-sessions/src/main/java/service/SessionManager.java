@@ -1,10 +1,11 @@
 package service;
 
 import logic.engine.EnigmaEngine;
+import logic.jfr.SessionCreateEvent;
 import org.springframework.stereotype.Service;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages active user sessions.
@@ -13,15 +14,31 @@ import java.util.UUID;
 @Service
 public class SessionManager {
 
-    // Maps a Session ID to a specific Engine Instance
-    private final Map<String, EnigmaEngine> sessionMap = new HashMap<>();
+    // Maps a Session ID to a specific Engine Instance (requests of different sessions run concurrently)
+    private final Map<String, EnigmaEngine> sessionMap = new ConcurrentHashMap<>();
+
+    private final EnigmaMetrics metrics;
+
+    public SessionManager(EnigmaMetrics metrics) {
+        this.metrics = metrics;
+    }
 
     // Creates a new session, stores the engine, and returns a unique ID
     public String createSession(EnigmaEngine engine) {
+        SessionCreateEvent event = new SessionCreateEvent();
+        event.begin();
+
         // Generate a random unique identifier
         String sessionId = "sess_" + UUID.randomUUID().toString().substring(0, 8);
 
         sessionMap.put(sessionId, engine);
+        metrics.sessionCreated();
+
+        if (event.shouldCommit()) {
+            event.sessionId = sessionId;
+            event.machine = engine.getMachineName();
+            event.commit();
+        }
         return sessionId;
     }
 
@@ -32,7 +49,14 @@ public class SessionManager {
 
     // Removes a session from the manager
     public void removeSession(String sessionId) {
-        sessionMap.remove(sessionId);
+        if (sessionMap.remove(sessionId) != null) {
+            metrics.sessionDeleted();
+        }
+    }
+
+    // Number of live sessions
+    public int getSessionCount() {
+        return sessionMap.size();
     }
 
     // Checks if a session ID exists